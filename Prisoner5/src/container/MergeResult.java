@@ -0,0 +1,30 @@
+package container;
+
+public final class MergeResult {
+    private final int added;
+    private final int duplicates;
+    private final int conflicts;
+
+    public MergeResult(int added, int duplicates, int conflicts) {
+        this.added = added;
+        this.duplicates = duplicates;
+        this.conflicts = conflicts;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    @Override
+    public String toString() {
+        return "added=" + added + ", duplicates=" + duplicates + ", conflicts=" + conflicts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,498 @@
+package container;
+
+import java.util.*;
+
+public class MyBPlusTree<K extends Comparable<? super K>, V> {
+    public static final int DEFAULT_ORDER = 32;
+
+    private final int order;
+    private final int minKeys;
+    private Node root;
+    private Leaf first;
+    private Leaf last;
+    private int keyCount;
+    private int size;
+
+    private abstract static class Node {
+        final Object[] keys;
+        int count;
+
+        Node(int capacity) {
+            keys = new Object[capacity];
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children;
+
+        Inner(int capacity) {
+            super(capacity);
+            children = new Node[capacity + 1];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final MyLinkedList<?>[] values;
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int capacity) {
+            super(capacity);
+            values = new MyLinkedList<?>[capacity];
+        }
+    }
+
+    private static final class Split {
+        final Object key;
+        final Node right;
+
+        Split(Object key, Node right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    public MyBPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    public MyBPlusTree(int order) {
+        if (order < 3)
+            throw new IllegalArgumentException("Order must be at least 3: " + order);
+        this.order = order;
+        this.minKeys = order / 2;
+        clear();
+    }
+
+    public void clear() {
+        Leaf leaf = new Leaf(order);
+        root = leaf;
+        first = leaf;
+        last = leaf;
+        keyCount = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int keyCount() {
+        return keyCount;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // --- Изменение ---
+    public boolean put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Leaf leaf = findLeaf(key);
+        int pos = search(leaf, key);
+        if (pos >= 0) {
+            if (!bucket(leaf, pos).add(value))
+                return false;
+            size++;
+            return true;
+        }
+
+        MyLinkedList<V> values = new MyLinkedList<>(true);
+        values.add(value);
+        Split split = insert(root, key, values);
+        if (split != null) {
+            Inner newRoot = new Inner(order);
+            newRoot.keys[0] = split.key;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+        keyCount++;
+        size++;
+        return true;
+    }
+
+    public boolean remove(K key, V value) {
+        Leaf leaf = findLeaf(key);
+        int pos = search(leaf, key);
+        if (pos < 0 || !bucket(leaf, pos).remove(value))
+            return false;
+        size--;
+        if (bucket(leaf, pos).isEmpty()) {
+            delete(root, key);
+            if (root instanceof Inner && root.count == 0)
+                root = ((Inner) root).children[0];
+            keyCount--;
+        }
+        return true;
+    }
+
+    private boolean delete(Node node, K key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int pos = search(leaf, key);
+            System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.count - pos - 1);
+            System.arraycopy(leaf.values, pos + 1, leaf.values, pos, leaf.count - pos - 1);
+            leaf.count--;
+            leaf.keys[leaf.count] = null;
+            leaf.values[leaf.count] = null;
+            return leaf.count < minKeys;
+        }
+
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        if (delete(inner.children[child], key))
+            rebalance(inner, child);
+        return inner.count < minKeys;
+    }
+
+    private void rebalance(Inner parent, int child) {
+        Node left = child > 0 ? parent.children[child - 1] : null;
+        Node right = child < parent.count ? parent.children[child + 1] : null;
+        if (left != null && left.count > minKeys)
+            borrowFromLeft(parent, child);
+        else if (right != null && right.count > minKeys)
+            borrowFromRight(parent, child);
+        else if (left != null)
+            merge(parent, child - 1);
+        else if (right != null)
+            merge(parent, child);
+    }
+
+    private static void borrowFromLeft(Inner parent, int child) {
+        Node node = parent.children[child];
+        Node left = parent.children[child - 1];
+        int last = left.count - 1;
+        System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            Leaf from = (Leaf) left;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+            leaf.keys[0] = from.keys[last];
+            leaf.values[0] = from.values[last];
+            from.values[last] = null;
+            parent.keys[child - 1] = leaf.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner from = (Inner) left;
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.count + 1);
+            inner.keys[0] = parent.keys[child - 1];
+            inner.children[0] = from.children[last + 1];
+            from.children[last + 1] = null;
+            parent.keys[child - 1] = from.keys[last];
+        }
+        left.keys[last] = null;
+        left.count--;
+        node.count++;
+    }
+
+    private static void borrowFromRight(Inner parent, int child) {
+        Node node = parent.children[child];
+        Node right = parent.children[child + 1];
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            Leaf from = (Leaf) right;
+            leaf.keys[leaf.count] = from.keys[0];
+            leaf.values[leaf.count] = from.values[0];
+            System.arraycopy(from.values, 1, from.values, 0, from.count - 1);
+            from.values[from.count - 1] = null;
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 1);
+            parent.keys[child] = from.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner from = (Inner) right;
+            inner.keys[inner.count] = parent.keys[child];
+            inner.children[inner.count + 1] = from.children[0];
+            parent.keys[child] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 1);
+            System.arraycopy(from.children, 1, from.children, 0, from.count);
+            from.children[from.count] = null;
+        }
+        right.keys[right.count - 1] = null;
+        right.count--;
+        node.count++;
+    }
+
+    private void merge(Inner parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            Leaf to = (Leaf) left;
+            Leaf from = (Leaf) right;
+            System.arraycopy(from.keys, 0, to.keys, to.count, from.count);
+            System.arraycopy(from.values, 0, to.values, to.count, from.count);
+            to.count += from.count;
+            to.next = from.next;
+            if (from.next == null)
+                last = to;
+            else
+                from.next.prev = to;
+        } else {
+            Inner to = (Inner) left;
+            Inner from = (Inner) right;
+            to.keys[to.count] = parent.keys[index];
+            System.arraycopy(from.keys, 0, to.keys, to.count + 1, from.count);
+            System.arraycopy(from.children, 0, to.children, to.count + 1, from.count + 1);
+            to.count += from.count + 1;
+        }
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.count - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+
+    private Split insert(Node node, K key, MyLinkedList<V> values) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int pos = -search(leaf, key) - 1;
+            if (leaf.count < order) {
+                insertIntoLeaf(leaf, pos, key, values);
+                return null;
+            }
+            return splitLeaf(leaf, pos, key, values);
+        }
+
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Split split = insert(inner.children[child], key, values);
+        if (split == null)
+            return null;
+        if (inner.count < order) {
+            insertIntoInner(inner, child, split);
+            return null;
+        }
+        return splitInner(inner, child, split);
+    }
+
+    private static void insertIntoLeaf(Leaf leaf, int pos, Object key, MyLinkedList<?> values) {
+        System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.count - pos);
+        System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.count - pos);
+        leaf.keys[pos] = key;
+        leaf.values[pos] = values;
+        leaf.count++;
+    }
+
+    private Split splitLeaf(Leaf leaf, int pos, K key, MyLinkedList<V> values) {
+        Leaf right = new Leaf(order);
+        int half = (order + 1) >>> 1;
+        int moved = leaf.count - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, moved);
+        System.arraycopy(leaf.values, half, right.values, 0, moved);
+        Arrays.fill(leaf.keys, half, leaf.count, null);
+        Arrays.fill(leaf.values, half, leaf.count, null);
+        right.count = moved;
+        leaf.count = half;
+
+        if (pos <= half)
+            insertIntoLeaf(leaf, pos, key, values);
+        else
+            insertIntoLeaf(right, pos - half, key, values);
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next == null)
+            last = right;
+        else
+            leaf.next.prev = right;
+        leaf.next = right;
+        return new Split(right.keys[0], right);
+    }
+
+    private static void insertIntoInner(Inner inner, int child, Split split) {
+        System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.count - child);
+        System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.count - child);
+        inner.keys[child] = split.key;
+        inner.children[child + 1] = split.right;
+        inner.count++;
+    }
+
+    private Split splitInner(Inner inner, int child, Split split) {
+        Object[] keys = Arrays.copyOf(inner.keys, order + 1);
+        Node[] children = Arrays.copyOf(inner.children, order + 2);
+        System.arraycopy(keys, child, keys, child + 1, order - child);
+        System.arraycopy(children, child + 1, children, child + 2, order - child);
+        keys[child] = split.key;
+        children[child + 1] = split.right;
+
+        int mid = (order + 1) >>> 1;
+        Inner right = new Inner(order);
+        right.count = order - mid;
+        System.arraycopy(keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(children, mid + 1, right.children, 0, right.count + 1);
+
+        Arrays.fill(inner.keys, null);
+        Arrays.fill(inner.children, null);
+        System.arraycopy(keys, 0, inner.keys, 0, mid);
+        System.arraycopy(children, 0, inner.children, 0, mid + 1);
+        inner.count = mid;
+        return new Split(keys[mid], right);
+    }
+
+    // --- Поиск ---
+    public MyView<V> get(K key) {
+        Leaf leaf = findLeaf(key);
+        int pos = search(leaf, key);
+        return MyView.of(pos >= 0 ? bucket(leaf, pos) : Collections.<V>emptyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public K firstKey() {
+        for (Leaf leaf = first; leaf != null; leaf = leaf.next) {
+            if (leaf.count > 0)
+                return (K) leaf.keys[0];
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public K lastKey() {
+        for (Leaf leaf = last; leaf != null; leaf = leaf.prev) {
+            if (leaf.count > 0)
+                return (K) leaf.keys[leaf.count - 1];
+        }
+        return null;
+    }
+
+    public MyView<V> range(K from, boolean inclusiveFrom, K to, boolean inclusiveTo) {
+        return MyView.of(() -> new RangeIterator(from, inclusiveFrom, to, inclusiveTo));
+    }
+
+    public MyView<V> range(K from, K to) {
+        return range(from, true, to, true);
+    }
+
+    public MyView<V> ascending() {
+        return range(null, true, null, true);
+    }
+
+    public MyView<V> descending() {
+        return MyView.of(DescendingIterator::new);
+    }
+
+    private Leaf findLeaf(K key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int childIndex(Inner inner, K key) {
+        int lo = 0;
+        int hi = inner.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key.compareTo((K) inner.keys[mid]) < 0)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int search(Node node, K key) {
+        int lo = 0;
+        int hi = node.count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = ((K) node.keys[mid]).compareTo(key);
+            if (cmp < 0)
+                lo = mid + 1;
+            else if (cmp > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MyLinkedList<V> bucket(Leaf leaf, int pos) {
+        return (MyLinkedList<V>) leaf.values[pos];
+    }
+
+    private final class RangeIterator implements Iterator<V> {
+        private final K to;
+        private final boolean inclusiveTo;
+        private Leaf leaf;
+        private int pos;
+        private Iterator<V> values = Collections.emptyIterator();
+
+        RangeIterator(K from, boolean inclusiveFrom, K to, boolean inclusiveTo) {
+            this.to = to;
+            this.inclusiveTo = inclusiveTo;
+            if (from == null) {
+                leaf = first;
+                pos = 0;
+            } else {
+                leaf = findLeaf(from);
+                int found = search(leaf, from);
+                pos = found >= 0 ? (inclusiveFrom ? found : found + 1) : -found - 1;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (!values.hasNext()) {
+                while (leaf != null && pos >= leaf.count) {
+                    leaf = leaf.next;
+                    pos = 0;
+                }
+                if (leaf == null)
+                    return false;
+                K key = (K) leaf.keys[pos];
+                if (to != null) {
+                    int cmp = key.compareTo(to);
+                    if (cmp > 0 || (cmp == 0 && !inclusiveTo)) {
+                        leaf = null;
+                        return false;
+                    }
+                }
+                values = bucket(leaf, pos).iterator();
+                pos++;
+            }
+            return true;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return values.next();
+        }
+    }
+
+    private final class DescendingIterator implements Iterator<V> {
+        private Leaf leaf = last;
+        private int pos = last.count - 1;
+        private Iterator<V> values = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!values.hasNext()) {
+                while (leaf != null && pos < 0) {
+                    leaf = leaf.prev;
+                    pos = leaf == null ? -1 : leaf.count - 1;
+                }
+                if (leaf == null)
+                    return false;
+                values = bucket(leaf, pos).iterator();
+                pos--;
+            }
+            return true;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return values.next();
+        }
+    }
+}
\ No newline at end of file
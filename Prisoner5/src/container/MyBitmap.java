@@ -0,0 +1,457 @@
+package container;
+
+import java.util.*;
+
+public class MyBitmap implements Iterable<Integer> {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_MIN = ARRAY_MAX / 2;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int count;
+
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container copy();
+
+        abstract PrimitiveIterator.OfInt values();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int size;
+
+        ArrayContainer(int capacity) {
+            values = new char[Math.max(capacity, 4)];
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos >= 0)
+                return this;
+            if (size == ARRAY_MAX)
+                return toBitmap().add(value);
+            pos = -pos - 1;
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            values[pos] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos >= 0) {
+                System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer(0);
+            copy.values = Arrays.copyOf(values, Math.max(size, 4));
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt values() {
+            return new PrimitiveIterator.OfInt() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (index >= size)
+                        throw new NoSuchElementException();
+                    return values[index++];
+                }
+            };
+        }
+
+        void append(char value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            values[size++] = value;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++)
+                bitmap.set(values[i]);
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words = new long[BITMAP_WORDS];
+        int cardinality;
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long word = words[value >>> 6];
+            long cleared = word & ~(1L << value);
+            if (cleared != word) {
+                words[value >>> 6] = cleared;
+                cardinality--;
+            }
+            return cardinality <= BITMAP_MIN ? toArray() : this;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, BITMAP_WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt values() {
+            return new PrimitiveIterator.OfInt() {
+                private int wordIndex;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0 && wordIndex < BITMAP_WORDS - 1)
+                        word = words[++wordIndex];
+                    return word != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    int value = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return value;
+                }
+            };
+        }
+
+        void set(char value) {
+            long word = words[value >>> 6];
+            long updated = word | (1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+        }
+
+        Container normalize() {
+            int bits = 0;
+            for (long word : words)
+                bits += Long.bitCount(word);
+            cardinality = bits;
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer(cardinality);
+            for (PrimitiveIterator.OfInt it = values(); it.hasNext();)
+                array.append((char) it.nextInt());
+            return array;
+        }
+    }
+
+    // --- Изменение ---
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int pos = find(key);
+        if (pos < 0) {
+            pos = -pos - 1;
+            insertContainer(pos, key, new ArrayContainer(4));
+        }
+        Container container = containers[pos];
+        int before = container.cardinality();
+        containers[pos] = container.add((char) value);
+        return containers[pos].cardinality() != before;
+    }
+
+    public boolean remove(int value) {
+        if (value < 0)
+            return false;
+        int pos = find((char) (value >>> 16));
+        if (pos < 0)
+            return false;
+        Container container = containers[pos];
+        int before = container.cardinality();
+        container = container.remove((char) value);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, count - pos - 1);
+            System.arraycopy(containers, pos + 1, containers, pos, count - pos - 1);
+            containers[--count] = null;
+        } else {
+            containers[pos] = container;
+        }
+        return container.cardinality() != before;
+    }
+
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        count = 0;
+    }
+
+    // --- Запросы ---
+    public boolean contains(int value) {
+        if (value < 0)
+            return false;
+        int pos = find((char) (value >>> 16));
+        return pos >= 0 && containers[pos].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < count; i++)
+            total += containers[i].cardinality();
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // --- Операции над множествами ---
+    public MyBitmap and(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < count && j < other.count) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public MyBitmap or(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < count || j < other.count) {
+            if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == count || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public MyBitmap andNot(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < other.count && other.keys[j] < keys[i])
+                j++;
+            if (j < other.count && other.keys[j] == keys[i])
+                result.append(keys[i], andNot(containers[i], other.containers[j]));
+            else
+                result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof BitmapContainer && b instanceof BitmapContainer) {
+            BitmapContainer result = new BitmapContainer();
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] = x[k] & y[k];
+            return result.normalize();
+        }
+        if (a instanceof BitmapContainer)
+            return and(b, a);
+        ArrayContainer array = (ArrayContainer) a;
+        ArrayContainer result = new ArrayContainer(Math.min(array.size, b.cardinality()));
+        if (b instanceof BitmapContainer) {
+            for (int k = 0; k < array.size; k++) {
+                if (b.contains(array.values[k]))
+                    result.append(array.values[k]);
+            }
+            return result;
+        }
+        ArrayContainer other = (ArrayContainer) b;
+        int i = 0;
+        int j = 0;
+        while (i < array.size && j < other.size) {
+            if (array.values[i] < other.values[j]) {
+                i++;
+            } else if (array.values[i] > other.values[j]) {
+                j++;
+            } else {
+                result.append(array.values[i]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            ArrayContainer result = new ArrayContainer(x.size + y.size);
+            int i = 0;
+            int j = 0;
+            while (i < x.size || j < y.size) {
+                if (j == y.size || (i < x.size && x.values[i] < y.values[j])) {
+                    result.append(x.values[i++]);
+                } else if (i == x.size || x.values[i] > y.values[j]) {
+                    result.append(y.values[j++]);
+                } else {
+                    result.append(x.values[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+        BitmapContainer result = a instanceof BitmapContainer
+                ? (BitmapContainer) a.copy() : ((ArrayContainer) a).toBitmap();
+        if (b instanceof BitmapContainer) {
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] |= y[k];
+        } else {
+            ArrayContainer y = (ArrayContainer) b;
+            for (int k = 0; k < y.size; k++)
+                result.words[y.values[k] >>> 6] |= 1L << y.values[k];
+        }
+        return result.normalize();
+    }
+
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) a;
+            ArrayContainer result = new ArrayContainer(array.size);
+            for (int k = 0; k < array.size; k++) {
+                if (!b.contains(array.values[k]))
+                    result.append(array.values[k]);
+            }
+            return result;
+        }
+        BitmapContainer result = (BitmapContainer) a.copy();
+        if (b instanceof BitmapContainer) {
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] &= ~y[k];
+        } else {
+            ArrayContainer y = (ArrayContainer) b;
+            for (int k = 0; k < y.size; k++)
+                result.words[y.values[k] >>> 6] &= ~(1L << y.values[k]);
+        }
+        return result.normalize();
+    }
+
+    // --- Работа с контейнерами ---
+    private static void checkValue(int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Negative value: " + value);
+    }
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, count, key);
+    }
+
+    private void insertContainer(int pos, char key, Container container) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            containers = Arrays.copyOf(containers, count * 2);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, count - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, count - pos);
+        keys[pos] = key;
+        containers[pos] = container;
+        count++;
+    }
+
+    private void append(char key, Container container) {
+        if (container.cardinality() > 0)
+            insertContainer(count, key, container);
+    }
+
+    // --- Итератор ---
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private PrimitiveIterator.OfInt current = count > 0 ? containers[0].values() : null;
+
+            @Override
+            public boolean hasNext() {
+                while (current != null && !current.hasNext())
+                    current = ++index < count ? containers[index].values() : null;
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return (keys[index] << 16) | current.nextInt();
+            }
+        };
+    }
+}
\ No newline at end of file
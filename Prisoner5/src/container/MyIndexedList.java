@@ -0,0 +1,264 @@
+package container;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+public class MyIndexedList<T> implements Serializable, Iterable<T> {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_LEVEL = 32;
+    private static final int LEVEL_FACTOR = 4;
+
+    private transient Node<T> head;
+    private transient int level;
+    private transient int size;
+
+    private static class Node<T> {
+        T data;
+        final Node<T>[] next;
+        final int[] span;
+
+        Node(T data, int levels) {
+            this.data = data;
+            this.next = array(levels);
+            this.span = new int[levels];
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Node<T>[] array(int length) {
+            return (Node<T>[]) new Node<?>[length];
+        }
+    }
+
+    public MyIndexedList() {
+        init();
+    }
+
+    private void init() {
+        head = new Node<>(null, MAX_LEVEL);
+        level = 1;
+        size = 0;
+    }
+
+    public void add(T element) {
+        add(size, element);
+    }
+
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        Node<T>[] update = Node.array(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] < index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            update[lvl] = x;
+            rank[lvl] = pos;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int lvl = level; lvl < newLevel; lvl++) {
+                update[lvl] = head;
+                rank[lvl] = -1;
+                head.span[lvl] = size + 1;
+            }
+            level = newLevel;
+        }
+
+        Node<T> node = new Node<>(element, newLevel);
+        for (int lvl = 0; lvl < newLevel; lvl++) {
+            int before = index - rank[lvl];
+            node.next[lvl] = update[lvl].next[lvl];
+            node.span[lvl] = update[lvl].span[lvl] - before + 1;
+            update[lvl].next[lvl] = node;
+            update[lvl].span[lvl] = before;
+        }
+        for (int lvl = newLevel; lvl < level; lvl++)
+            update[lvl].span[lvl]++;
+        size++;
+    }
+
+    public T get(int index) {
+        checkIndex(index);
+        return node(index).data;
+    }
+
+    public T set(int index, T element) {
+        checkIndex(index);
+        Node<T> node = node(index);
+        T old = node.data;
+        node.data = element;
+        return old;
+    }
+
+    public boolean remove(int index) {
+        if (index < 0 || index >= size)
+            return false;
+
+        Node<T>[] update = Node.array(MAX_LEVEL);
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] < index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            update[lvl] = x;
+        }
+
+        Node<T> target = x.next[0];
+        for (int lvl = 0; lvl < level; lvl++) {
+            if (update[lvl].next[lvl] == target) {
+                update[lvl].span[lvl] += target.span[lvl] - 1;
+                update[lvl].next[lvl] = target.next[lvl];
+            } else {
+                update[lvl].span[lvl]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+        size--;
+        return true;
+    }
+
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        return index >= 0 && remove(index);
+    }
+
+    public int indexOf(T element) {
+        int index = 0;
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0]) {
+            if (current.data.equals(element))
+                return index;
+            index++;
+        }
+        return -1;
+    }
+
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    public void clear() {
+        init();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0])
+            array[index++] = current.data;
+        return array;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private Node<T> node(int index) {
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] <= index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            if (pos == index)
+                return x;
+        }
+        return x;
+    }
+
+    private static int randomLevel() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && random.nextInt(LEVEL_FACTOR) == 0)
+            lvl++;
+        return lvl;
+    }
+
+    // --- Сериализация объектов ---
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0])
+            out.writeObject(current.data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        init();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+            add((T) in.readObject());
+    }
+
+    public void saveToFileSerialized(String filename) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+            oos.writeObject(this);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> MyIndexedList<T> loadFromFileSerialized(String filename) {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+            return (MyIndexedList<T>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return new MyIndexedList<>();
+        }
+    }
+
+    // --- Итератор ---
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null)
+                    throw new NoSuchElementException();
+                T data = current.data;
+                current = current.next[0];
+                return data;
+            }
+        };
+    }
+
+    // --- Фильтр ---
+    public MyIndexedList<T> filter(Predicate<T> predicate) {
+        MyIndexedList<T> result = new MyIndexedList<>();
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0]) {
+            if (predicate.test(current.data))
+                result.add(current.data);
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package container;
+
+public class MyIntervalTree<V> {
+    private Node<V> root;
+    private int size;
+
+    private static final class Node<V> {
+        final long start;
+        final long end;
+        final MyLinkedList<V> values = new MyLinkedList<>(true);
+        long maxEnd;
+        int height = 1;
+        Node<V> left;
+        Node<V> right;
+
+        Node(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    // --- Изменение ---
+    public boolean add(long start, long end, V value) {
+        if (end < start)
+            throw new IllegalArgumentException("Interval end " + end + " is before start " + start);
+        int before = size;
+        root = insert(root, start, end, value);
+        return size != before;
+    }
+
+    public boolean remove(long start, long end, V value) {
+        Node<V> node = find(start, end);
+        if (node == null || !node.values.remove(value))
+            return false;
+        size--;
+        if (node.values.isEmpty())
+            root = delete(root, start, end);
+        return true;
+    }
+
+    private Node<V> insert(Node<V> node, long start, long end, V value) {
+        if (node == null) {
+            Node<V> created = new Node<>(start, end);
+            created.values.add(value);
+            size++;
+            return created;
+        }
+        int cmp = compare(start, end, node);
+        if (cmp == 0) {
+            if (node.values.add(value))
+                size++;
+            return node;
+        }
+        if (cmp < 0)
+            node.left = insert(node.left, start, end, value);
+        else
+            node.right = insert(node.right, start, end, value);
+        return balance(node);
+    }
+
+    private Node<V> delete(Node<V> node, long start, long end) {
+        if (node == null)
+            return null;
+        int cmp = compare(start, end, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, end);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, end);
+        } else {
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+            Node<V> successor = node.right;
+            while (successor.left != null)
+                successor = successor.left;
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node<V> deleteMin(Node<V> node) {
+        if (node.left == null)
+            return node.right;
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private Node<V> find(long start, long end) {
+        Node<V> node = root;
+        while (node != null) {
+            int cmp = compare(start, end, node);
+            if (cmp == 0)
+                return node;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static int compare(long start, long end, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(end, node.end);
+    }
+
+    // --- Балансировка ---
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null && node.left.maxEnd > max)
+            max = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd > max)
+            max = node.right.maxEnd;
+        node.maxEnd = max;
+    }
+
+    private Node<V> balance(Node<V> node) {
+        update(node);
+        int diff = height(node.left) - height(node.right);
+        if (diff > 1) {
+            if (height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (diff < -1) {
+            if (height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    // --- Запросы ---
+    public MyLinkedList<V> containing(long point) {
+        return overlapping(point, point);
+    }
+
+    public MyLinkedList<V> overlapping(long from, long to) {
+        MyLinkedList<V> result = new MyLinkedList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private void collect(Node<V> node, long from, long to, MyLinkedList<V> result) {
+        if (node == null || node.maxEnd < from)
+            return;
+        collect(node.left, from, to, result);
+        if (node.start > to)
+            return;
+        if (node.end >= from) {
+            for (V value : node.values)
+                result.add(value);
+        }
+        collect(node.right, from, to, result);
+    }
+}
\ No newline at end of file
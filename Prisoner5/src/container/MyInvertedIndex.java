@@ -0,0 +1,164 @@
+package container;
+
+import java.util.*;
+import java.util.function.Function;
+
+public class MyInvertedIndex<T> {
+    private static final int MAX_POSITION = 0xFFFE;
+
+    private final Map<String, Map<T, int[]>> postings = new HashMap<>();
+    private final Map<T, String[]> forward = new HashMap<>();
+    private final Function<? super T, ? extends Iterable<String>> fields;
+
+    public MyInvertedIndex(Function<? super T, ? extends Iterable<String>> fields) {
+        this.fields = Objects.requireNonNull(fields);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // --- Изменение ---
+    public boolean add(T document) {
+        if (forward.containsKey(document))
+            return false;
+        Map<String, int[]> positions = new LinkedHashMap<>();
+        int field = 0;
+        for (String text : fields.apply(document)) {
+            int position = 0;
+            for (String token : tokenize(text)) {
+                if (position > MAX_POSITION)
+                    break;
+                int[] list = positions.get(token);
+                int encoded = (field << 16) | position++;
+                if (list == null) {
+                    list = new int[] { encoded };
+                } else {
+                    list = Arrays.copyOf(list, list.length + 1);
+                    list[list.length - 1] = encoded;
+                }
+                positions.put(token, list);
+            }
+            field++;
+        }
+        for (Map.Entry<String, int[]> entry : positions.entrySet())
+            postings.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>()).put(document, entry.getValue());
+        forward.put(document, positions.keySet().toArray(new String[0]));
+        return true;
+    }
+
+    public boolean remove(T document) {
+        String[] tokens = forward.remove(document);
+        if (tokens == null)
+            return false;
+        for (String token : tokens) {
+            Map<T, int[]> posting = postings.get(token);
+            posting.remove(document);
+            if (posting.isEmpty())
+                postings.remove(token);
+        }
+        return true;
+    }
+
+    public void clear() {
+        postings.clear();
+        forward.clear();
+    }
+
+    public int size() {
+        return forward.size();
+    }
+
+    public int documentFrequency(String token) {
+        Map<T, int[]> posting = postings.get(token.toLowerCase(Locale.ROOT));
+        return posting != null ? posting.size() : 0;
+    }
+
+    // --- Запросы ---
+    public MyLinkedList<T> all(String query) {
+        MyLinkedList<T> result = new MyLinkedList<>();
+        List<Map<T, int[]>> lists = postingsOf(new LinkedHashSet<>(tokenize(query)));
+        if (lists == null)
+            return result;
+        lists.sort(Comparator.comparingInt(Map::size));
+        Map<T, int[]> shortest = lists.get(0);
+        for (T document : shortest.keySet()) {
+            if (containsAll(lists, document))
+                result.add(document);
+        }
+        return result;
+    }
+
+    public MyLinkedList<T> any(String query) {
+        Set<T> found = new LinkedHashSet<>();
+        for (String token : new LinkedHashSet<>(tokenize(query))) {
+            Map<T, int[]> posting = postings.get(token);
+            if (posting != null)
+                found.addAll(posting.keySet());
+        }
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (T document : found)
+            result.add(document);
+        return result;
+    }
+
+    public MyLinkedList<T> phrase(String query) {
+        List<String> tokens = tokenize(query);
+        MyLinkedList<T> result = new MyLinkedList<>();
+        List<Map<T, int[]>> lists = postingsOf(tokens);
+        if (lists == null)
+            return result;
+        List<Map<T, int[]>> bySize = new ArrayList<>(lists);
+        bySize.sort(Comparator.comparingInt(Map::size));
+        for (T document : bySize.get(0).keySet()) {
+            if (containsAll(bySize, document) && hasPhrase(lists, document))
+                result.add(document);
+        }
+        return result;
+    }
+
+    private List<Map<T, int[]>> postingsOf(Collection<String> tokens) {
+        if (tokens.isEmpty())
+            return null;
+        List<Map<T, int[]>> lists = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Map<T, int[]> posting = postings.get(token);
+            if (posting == null)
+                return null;
+            lists.add(posting);
+        }
+        return lists;
+    }
+
+    private boolean containsAll(List<Map<T, int[]>> lists, T document) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).containsKey(document))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean hasPhrase(List<Map<T, int[]>> lists, T document) {
+        for (int start : lists.get(0).get(document)) {
+            int i = 1;
+            while (i < lists.size() && Arrays.binarySearch(lists.get(i).get(document), start + i) >= 0)
+                i++;
+            if (i == lists.size())
+                return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -1,56 +1,112 @@
 package container;
 
 import java.io.*;
-import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class MyLinkedList<T> implements Serializable, Iterable<T> {
     private static final long serialVersionUID = 1L; // ДОБАВЛЕНО
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("head", Node.class),
+            new ObjectStreamField("size", int.class),
+            new ObjectStreamField("hashIndexed", boolean.class)
+    };
 
     private Node<T> head;
+    private transient Node<T> tail;
     private int size;
+    private transient int modCount;
+    private boolean hashIndexed;
+    private transient Map<T, Node<T>> index;
 
     private static class Node<T> implements Serializable {
         private static final long serialVersionUID = 1L; // ДОБАВЛЕНО
 
         T data;
         Node<T> next;
+        transient Node<T> prev;
 
         Node(T data) {
             this.data = data;
         }
     }
 
-    public void add(T element) {
-        Node<T> newNode = new Node<>(element);
-        if (head == null) {
-            head = newNode;
-        } else {
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
-        }
-        size++;
+    public MyLinkedList() {
+        this(false);
     }
 
-    public boolean remove(T element) {
-        if (head == null)
+    public MyLinkedList(boolean hashIndexed) {
+        this.hashIndexed = hashIndexed;
+        if (hashIndexed)
+            index = new HashMap<>();
+    }
+
+    public boolean isHashIndexed() {
+        return hashIndexed;
+    }
+
+    public boolean add(T element) {
+        if (index != null && index.containsKey(element))
+            return false;
+        linkLast(element);
+        return true;
+    }
+
+    public boolean addFirst(T element) {
+        if (index != null && index.containsKey(element))
             return false;
+        if (head == null)
+            linkLast(element);
+        else
+            linkBefore(element, head);
+        return true;
+    }
+
+    public boolean addLast(T element) {
+        return add(element);
+    }
 
-        if (head.data.equals(element)) {
-            head = head.next;
-            size--;
+    public T getFirst() {
+        if (head == null)
+            throw new NoSuchElementException("List is empty");
+        return head.data;
+    }
+
+    public T getLast() {
+        if (tail == null)
+            throw new NoSuchElementException("List is empty");
+        return tail.data;
+    }
+
+    public T removeFirst() {
+        if (head == null)
+            throw new NoSuchElementException("List is empty");
+        return unlink(head);
+    }
+
+    public T removeLast() {
+        if (tail == null)
+            throw new NoSuchElementException("List is empty");
+        return unlink(tail);
+    }
+
+    public boolean remove(T element) {
+        if (index != null) {
+            Node<T> node = index.get(element);
+            if (node == null)
+                return false;
+            unlink(node);
             return true;
         }
-
         Node<T> current = head;
-        while (current.next != null) {
-            if (current.next.data.equals(element)) {
-                current.next = current.next.next;
-                size--;
+        while (current != null) {
+            if (current.data.equals(element)) {
+                unlink(current);
                 return true;
             }
             current = current.next;
@@ -62,28 +118,22 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         if (index < 0 || index >= size)
             return false;
 
-        if (index == 0) {
-            head = head.next;
-            size--;
-            return true;
-        }
-
-        Node<T> current = head;
-        for (int i = 0; i < index - 1; i++) {
-            current = current.next;
-        }
-
-        current.next = current.next.next;
-        size--;
+        unlink(node(index));
         return true;
     }
 
     public void clear() {
         head = null;
+        tail = null;
         size = 0;
+        modCount++;
+        if (index != null)
+            index.clear();
     }
 
     public boolean contains(T element) {
+        if (index != null)
+            return index.containsKey(element);
         Node<T> current = head;
         while (current != null) {
             if (current.data.equals(element))
@@ -97,10 +147,7 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
 
-        Node<T> current = head;
-        for (int i = 0; i < index; i++)
-            current = current.next;
-        return current.data;
+        return node(index).data;
     }
 
     public int size() {
@@ -122,9 +169,123 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         return array;
     }
 
+    public boolean removeIf(Predicate<? super T> predicate) {
+        boolean removed = false;
+        Node<T> current = head;
+        while (current != null) {
+            Node<T> next = current.next;
+            if (predicate.test(current.data)) {
+                unlink(current);
+                removed = true;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    public boolean retainAll(Collection<?> keep) {
+        return removeIf(element -> !keep.contains(element));
+    }
+
+    // --- Слияние ---
+    public <K> MergeResult mergeDistinct(Iterable<? extends T> items, Function<? super T, ? extends K> keyFn) {
+        return mergeDistinct(items, keyFn, Objects::equals);
+    }
+
+    public <K> MergeResult mergeDistinct(Iterable<? extends T> items, Function<? super T, ? extends K> keyFn,
+            BiPredicate<? super T, ? super T> sameRecord) {
+        Map<K, T> known = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        for (Node<T> current = head; current != null; current = current.next)
+            known.putIfAbsent(keyFn.apply(current.data), current.data);
+
+        int added = 0;
+        int duplicates = 0;
+        int conflicts = 0;
+        for (T item : items) {
+            T existing = known.putIfAbsent(keyFn.apply(item), item);
+            if (existing == null) {
+                if (add(item))
+                    added++;
+                else
+                    duplicates++;
+            } else if (sameRecord.test(existing, item)) {
+                duplicates++;
+            } else {
+                conflicts++;
+            }
+        }
+        return new MergeResult(added, duplicates, conflicts);
+    }
+
+    // --- Работа с узлами ---
+    private void linkLast(T element) {
+        Node<T> newNode = new Node<>(element);
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+            newNode.prev = tail;
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+        if (index != null)
+            index.put(element, newNode);
+    }
+
+    private void linkBefore(T element, Node<T> succ) {
+        Node<T> newNode = new Node<>(element);
+        Node<T> pred = succ.prev;
+        newNode.next = succ;
+        newNode.prev = pred;
+        succ.prev = newNode;
+        if (pred == null)
+            head = newNode;
+        else
+            pred.next = newNode;
+        size++;
+        modCount++;
+        if (index != null)
+            index.put(element, newNode);
+    }
+
+    private T unlink(Node<T> node) {
+        Node<T> pred = node.prev;
+        Node<T> succ = node.next;
+        if (pred == null)
+            head = succ;
+        else
+            pred.next = succ;
+        if (succ == null)
+            tail = pred;
+        else
+            succ.prev = pred;
+        node.prev = null;
+        node.next = null;
+        size--;
+        modCount++;
+        if (index != null)
+            index.remove(node.data);
+        return node.data;
+    }
+
+    private Node<T> node(int index) {
+        if (index < (size >> 1)) {
+            Node<T> current = head;
+            for (int i = 0; i < index; i++)
+                current = current.next;
+            return current;
+        }
+        Node<T> current = tail;
+        for (int i = size - 1; i > index; i--)
+            current = current.prev;
+        return current;
+    }
+
     // --- Сериализация объектов ---
     public void saveToFileSerialized(String filename) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filename)))) {
             oos.writeObject(this);
         } catch (IOException e) {
             e.printStackTrace();
@@ -133,7 +294,8 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
     @SuppressWarnings("unchecked")
     public static <T> MyLinkedList<T> loadFromFileSerialized(String filename) {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(filename)))) {
             return (MyLinkedList<T>) ois.readObject();
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
@@ -141,6 +303,35 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         }
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("head", null);
+        fields.put("size", size);
+        fields.put("hashIndexed", hashIndexed);
+        out.writeFields();
+        for (Node<T> current = head; current != null; current = current.next)
+            out.writeObject(current.data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        hashIndexed = fields.get("hashIndexed", false);
+        if (hashIndexed)
+            index = new HashMap<>();
+        Node<T> chain = (Node<T>) fields.get("head", null);
+        if (chain != null) {
+            for (Node<T> node = chain; node != null; node = node.next)
+                linkLast(node.data);
+            return;
+        }
+        int count = fields.get("size", 0);
+        if (count < 0)
+            throw new InvalidObjectException("Negative size: " + count);
+        for (int i = 0; i < count; i++)
+            linkLast((T) in.readObject());
+    }
+
     // --- Итератор ---
     @Override
     public Iterator<T> iterator() {
@@ -149,6 +340,8 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
     private class MyIterator implements Iterator<T> {
         private Node<T> current = head;
+        private Node<T> lastReturned;
+        private int expectedModCount = modCount;
 
         @Override
         public boolean hasNext() {
@@ -157,22 +350,249 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
         @Override
         public T next() {
-            T data = current.data;
+            checkForComodification(expectedModCount);
+            if (current == null)
+                throw new NoSuchElementException();
+            lastReturned = current;
             current = current.next;
-            return data;
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
         }
     }
 
-    // --- Фильтр ---
-    public MyLinkedList<T> filter(Predicate<T> predicate) {
-        MyLinkedList<T> result = new MyLinkedList<>();
-        Node<T> current = head;
-        while (current != null) {
-            if (predicate.test(current.data))
-                result.add(current.data);
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    public ListIterator<T> listIterator() {
+        return new MyListIterator(0);
+    }
+
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return new MyListIterator(index);
+    }
+
+    public Iterator<T> descendingIterator() {
+        return new Iterator<T>() {
+            private final ListIterator<T> it = new MyListIterator(size);
+
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public T next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    private class MyListIterator implements ListIterator<T> {
+        private Node<T> next;
+        private Node<T> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        MyListIterator(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            next = (next == null) ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            Node<T> lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned)
+                next = lastNext;
+            else
+                nextIndex--;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(T element) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            if (index != null && !Objects.equals(lastReturned.data, element)) {
+                if (index.containsKey(element))
+                    throw new IllegalArgumentException("Duplicate element: " + element);
+                index.remove(lastReturned.data);
+                index.put(element, lastReturned);
+            }
+            lastReturned.data = element;
+        }
+
+        @Override
+        public void add(T element) {
+            checkForComodification(expectedModCount);
+            if (index != null && index.containsKey(element))
+                throw new IllegalArgumentException("Duplicate element: " + element);
+            lastReturned = null;
+            if (next == null)
+                linkLast(element);
+            else
+                linkBefore(element, next);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+    }
+
+    // --- Потоки ---
+    @Override
+    public Spliterator<T> spliterator() {
+        return new MySpliterator(head, size, modCount);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private final class MySpliterator implements Spliterator<T> {
+        private static final int MIN_SPLIT = 1 << 10;
+
+        private Node<T> current;
+        private int remaining;
+        private final int expectedModCount;
+
+        MySpliterator(Node<T> start, int remaining, int expectedModCount) {
+            this.current = start;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining <= 0)
+                return false;
+            T data = current.data;
             current = current.next;
+            remaining--;
+            action.accept(data);
+            checkForComodification(expectedModCount);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Node<T> node = current;
+            for (int i = remaining; i > 0; i--) {
+                action.accept(node.data);
+                node = node.next;
+            }
+            current = node;
+            remaining = 0;
+            checkForComodification(expectedModCount);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining < MIN_SPLIT)
+                return null;
+            int half = remaining >>> 1;
+            Node<T> start = current;
+            Node<T> node = current;
+            for (int i = 0; i < half; i++)
+                node = node.next;
+            current = node;
+            remaining -= half;
+            return new MySpliterator(start, half, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
-        return result;
+    }
+
+    // --- Фильтр ---
+    public MyView<T> filter(Predicate<? super T> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    public <R> MyView<R> map(Function<? super T, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    public MyView<T> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    public MyView<T> skip(long n) {
+        return MyView.of(this).skip(n);
     }
 
     // --- Сохранение в текстовый файл ---
@@ -192,62 +612,12 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
     // --- Загрузка Prisoner из твоего текстового формата ---
     public static MyLinkedList<prisoners.Prisoner> loadPrisonersFromText(String filename) {
         MyLinkedList<prisoners.Prisoner> list = new MyLinkedList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            String name = null;
-            LocalDate birth = null;
-            int height = 0;
-            String eyes = null;
-            List<String> features = new ArrayList<>();
-            LocalDate dateIn = null;
-            LocalDate dateOut = null;
-
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) {
-                    if (name != null) {
-                        list.add(new prisoners.Prisoner(name, birth, height, eyes, features, dateIn, dateOut));
-                    }
-                    name = null;
-                    birth = null;
-                    height = 0;
-                    eyes = null;
-                    features = new ArrayList<>();
-                    dateIn = null;
-                    dateOut = null;
-                    continue;
-                }
-
-                if (line.startsWith("Name:")) {
-                    name = line.substring(5).trim();
-                } else if (line.startsWith("Birth:")) {
-                    birth = LocalDate.parse(line.substring(6).trim());
-                } else if (line.startsWith("Height:")) {
-                    height = Integer.parseInt(line.substring(7).replace("cm", "").trim());
-                } else if (line.startsWith("Eyes:")) {
-                    eyes = line.substring(5).trim();
-                } else if (line.startsWith("Features:")) {
-                    String feat = line.substring(9).trim();
-                    if (feat.startsWith("[") && feat.endsWith("]"))
-                        feat = feat.substring(1, feat.length() - 1);
-                    features = feat.isEmpty() ? new ArrayList<>() : Arrays.asList(feat.split(",\\s*"));
-                } else if (line.startsWith("Imprisoned:")) {
-                    dateIn = LocalDate.parse(line.substring(11).trim());
-                } else if (line.startsWith("Released:")) {
-                    String val = line.substring(9).trim();
-                    dateOut = val.equals("N/A") ? null : LocalDate.parse(val);
-                }
-            }
-
-            // Последний объект, если файл не оканчивается пустой строкой
-            if (name != null) {
-                list.add(new prisoners.Prisoner(name, birth, height, eyes, features, dateIn, dateOut));
-            }
-
-        } catch (IOException e) {
+        try (prisoners.PrisonerTextReader reader = prisoners.PrisonerTextReader.open(filename)) {
+            while (reader.hasNext())
+                list.add(reader.next());
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
         }
-
         return list;
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package container;
+
+import java.util.*;
+
+public class MyTrie<V> {
+    private Node<V> root = new Node<>();
+    private int size;
+
+    private static final class Node<V> {
+        final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        MyLinkedList<V> values;
+        int count;
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = new Node<>();
+        size = 0;
+    }
+
+    // --- Изменение ---
+    public boolean put(String key, V value) {
+        String normalized = normalize(key);
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length(); i++)
+            node = node.children.computeIfAbsent(normalized.charAt(i), c -> new Node<>());
+        if (node.values == null)
+            node.values = new MyLinkedList<>(true);
+        if (!node.values.add(value))
+            return false;
+        node = root;
+        root.count++;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.children.get(normalized.charAt(i));
+            node.count++;
+        }
+        size++;
+        return true;
+    }
+
+    public boolean remove(String key, V value) {
+        String normalized = normalize(key);
+        List<Node<V>> path = new ArrayList<>(normalized.length() + 1);
+        Node<V> node = root;
+        path.add(node);
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.children.get(normalized.charAt(i));
+            path.add(node);
+        }
+        if (node == null || node.values == null || !node.values.remove(value))
+            return false;
+        size--;
+        for (Node<V> current : path)
+            current.count--;
+        if (node.values.isEmpty())
+            node.values = null;
+        for (int i = normalized.length(); i > 0; i--) {
+            Node<V> current = path.get(i);
+            if (current.values != null || !current.children.isEmpty())
+                break;
+            path.get(i - 1).children.remove(normalized.charAt(i - 1));
+        }
+        return true;
+    }
+
+    // --- Запросы ---
+    public MyLinkedList<V> get(String key) {
+        MyLinkedList<V> result = new MyLinkedList<>();
+        Node<V> node = find(normalize(key));
+        if (node != null && node.values != null) {
+            for (V value : node.values)
+                result.add(value);
+        }
+        return result;
+    }
+
+    public MyLinkedList<V> prefix(String prefix, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Negative limit: " + limit);
+        MyLinkedList<V> result = new MyLinkedList<>();
+        Node<V> node = find(normalize(prefix));
+        if (node != null)
+            collect(node, limit, result);
+        return result;
+    }
+
+    public int count(String prefix) {
+        Node<V> node = find(normalize(prefix));
+        return node != null ? node.count : 0;
+    }
+
+    private Node<V> find(String normalized) {
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++)
+            node = node.children.get(normalized.charAt(i));
+        return node;
+    }
+
+    private void collect(Node<V> start, int limit, MyLinkedList<V> result) {
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node<V> node = stack.pop();
+            if (node.values != null) {
+                for (V value : node.values) {
+                    if (result.size() == limit)
+                        return;
+                    result.add(value);
+                }
+            }
+            for (Node<V> child : node.children.descendingMap().values())
+                stack.push(child);
+        }
+    }
+}
\ No newline at end of file
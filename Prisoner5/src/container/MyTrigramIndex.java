@@ -0,0 +1,162 @@
+package container;
+
+import java.util.*;
+
+public class MyTrigramIndex<T> {
+    private static final char PAD = '\u0000';
+
+    private final Map<Long, MyLinkedList<Entry<T>>> postings = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new LinkedHashMap<>();
+    private final Map<Integer, MyLinkedList<Entry<T>>> byLength = new HashMap<>();
+
+    private static final class Entry<T> {
+        final T value;
+        final String key;
+        final long[] grams;
+
+        Entry(T value, String key) {
+            this.value = value;
+            this.key = key;
+            this.grams = trigrams(key);
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] trigrams(String key) {
+        String padded = "" + PAD + PAD + key + PAD;
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++)
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (long gram : grams)
+            result[i++] = gram;
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        postings.clear();
+        entries.clear();
+        byLength.clear();
+    }
+
+    // --- Изменение ---
+    public boolean add(String key, T value) {
+        if (entries.containsKey(value))
+            return false;
+        Entry<T> entry = new Entry<>(value, normalize(key));
+        entries.put(value, entry);
+        for (long gram : entry.grams)
+            postings.computeIfAbsent(gram, g -> new MyLinkedList<>(true)).add(entry);
+        byLength.computeIfAbsent(entry.key.length(), l -> new MyLinkedList<>(true)).add(entry);
+        return true;
+    }
+
+    public boolean remove(T value) {
+        Entry<T> entry = entries.remove(value);
+        if (entry == null)
+            return false;
+        for (long gram : entry.grams) {
+            MyLinkedList<Entry<T>> posting = postings.get(gram);
+            posting.remove(entry);
+            if (posting.isEmpty())
+                postings.remove(gram);
+        }
+        MyLinkedList<Entry<T>> sameLength = byLength.get(entry.key.length());
+        sameLength.remove(entry);
+        if (sameLength.isEmpty())
+            byLength.remove(entry.key.length());
+        return true;
+    }
+
+    // --- Поиск ---
+    public MyLinkedList<T> search(String query, int maxDistance) {
+        if (maxDistance < 0)
+            throw new IllegalArgumentException("Negative distance: " + maxDistance);
+        String normalized = normalize(query);
+        long[] grams = trigrams(normalized);
+        int probes = 3 * maxDistance + 1;
+
+        Set<Entry<T>> candidates = new HashSet<>();
+        if (grams.length < probes) {
+            int length = normalized.length();
+            for (int l = Math.max(0, length - maxDistance); l <= length + maxDistance; l++) {
+                MyLinkedList<Entry<T>> sameLength = byLength.get(l);
+                if (sameLength != null) {
+                    for (Entry<T> entry : sameLength)
+                        candidates.add(entry);
+                }
+            }
+        } else {
+            List<MyLinkedList<Entry<T>>> lists = new ArrayList<>();
+            for (long gram : grams) {
+                MyLinkedList<Entry<T>> posting = postings.get(gram);
+                lists.add(posting != null ? posting : new MyLinkedList<>());
+            }
+            lists.sort(Comparator.comparingInt(MyLinkedList::size));
+            for (MyLinkedList<Entry<T>> posting : lists.subList(0, probes)) {
+                for (Entry<T> entry : posting)
+                    candidates.add(entry);
+            }
+        }
+
+        List<Entry<T>> matches = new ArrayList<>();
+        Map<Entry<T>, Integer> distances = new HashMap<>();
+        for (Entry<T> entry : candidates) {
+            if (Math.abs(entry.key.length() - normalized.length()) > maxDistance)
+                continue;
+            int distance = boundedDistance(normalized, entry.key, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(entry);
+                distances.put(entry, distance);
+            }
+        }
+        matches.sort(Comparator.<Entry<T>>comparingInt(distances::get).thenComparing(entry -> entry.key));
+
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (Entry<T> entry : matches)
+            result.add(entry.value);
+        return result;
+    }
+
+    public static int boundedDistance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit)
+            return limit + 1;
+        int over = limit + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++)
+            previous[j] = j <= limit ? j : over;
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(m, i + limit);
+            current[0] = i <= limit ? i : over;
+            if (from > 1)
+                current[from - 1] = over;
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m)
+                current[to + 1] = over;
+            if (rowMin > limit)
+                return over;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+}
\ No newline at end of file
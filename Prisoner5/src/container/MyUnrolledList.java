@@ -0,0 +1,291 @@
+package container;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Predicate;
+
+public class MyUnrolledList<T> implements Serializable, Iterable<T> {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+    private transient Node head;
+    private transient Node tail;
+    private transient int size;
+
+    private static final class Node {
+        final Object[] items;
+        int count;
+        Node prev;
+        Node next;
+
+        Node(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    public MyUnrolledList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public MyUnrolledList(int nodeCapacity) {
+        if (nodeCapacity < 4)
+            throw new IllegalArgumentException("Node capacity must be at least 4: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    public void add(T element) {
+        if (tail == null || tail.count == nodeCapacity)
+            linkNodeAfter(tail);
+        tail.items[tail.count++] = element;
+        size++;
+    }
+
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (index == size) {
+            add(element);
+            return;
+        }
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+
+        if (node.count == nodeCapacity) {
+            Node right = split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = right;
+            }
+        }
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = element;
+        node.count++;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+        return (T) node.items[offset];
+    }
+
+    public boolean remove(int index) {
+        if (index < 0 || index >= size)
+            return false;
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+        removeAt(node, offset);
+        return true;
+    }
+
+    public boolean remove(T element) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.items[i].equals(element)) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(T element) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.items[i].equals(element))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Node node = head; node != null; node = node.next) {
+            System.arraycopy(node.items, 0, array, index, node.count);
+            index += node.count;
+        }
+        return array;
+    }
+
+    // --- Работа с узлами ---
+    private Node linkNodeAfter(Node pred) {
+        Node node = new Node(nodeCapacity);
+        if (pred == null) {
+            head = node;
+            tail = node;
+            return node;
+        }
+        node.prev = pred;
+        node.next = pred.next;
+        if (pred.next == null)
+            tail = node;
+        else
+            pred.next.prev = node;
+        pred.next = node;
+        return node;
+    }
+
+    private void unlinkNode(Node node) {
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+    }
+
+    private Node split(Node node) {
+        Node right = linkNodeAfter(node);
+        int half = node.count >>> 1;
+        int moved = node.count - half;
+        System.arraycopy(node.items, half, right.items, 0, moved);
+        Arrays.fill(node.items, half, node.count, null);
+        right.count = moved;
+        node.count = half;
+        return right;
+    }
+
+    private void removeAt(Node node, int offset) {
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+        node.items[--node.count] = null;
+        size--;
+
+        if (node.count == 0) {
+            unlinkNode(node);
+            return;
+        }
+        int minFill = nodeCapacity >>> 1;
+        Node next = node.next;
+        if (node.count >= minFill || next == null)
+            return;
+
+        if (node.count + next.count <= nodeCapacity) {
+            System.arraycopy(next.items, 0, node.items, node.count, next.count);
+            node.count += next.count;
+            unlinkNode(next);
+        } else {
+            int borrow = minFill - node.count;
+            System.arraycopy(next.items, 0, node.items, node.count, borrow);
+            node.count += borrow;
+            System.arraycopy(next.items, borrow, next.items, 0, next.count - borrow);
+            Arrays.fill(next.items, next.count - borrow, next.count, null);
+            next.count -= borrow;
+        }
+    }
+
+    // --- Сериализация объектов ---
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++)
+                out.writeObject(node.items[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+            add((T) in.readObject());
+    }
+
+    public void saveToFileSerialized(String filename) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+            oos.writeObject(this);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> MyUnrolledList<T> loadFromFileSerialized(String filename) {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+            return (MyUnrolledList<T>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return new MyUnrolledList<>();
+        }
+    }
+
+    // --- Итератор ---
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node node = head;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (node == null)
+                    throw new NoSuchElementException();
+                T data = (T) node.items[offset++];
+                if (offset == node.count) {
+                    node = node.next;
+                    offset = 0;
+                }
+                return data;
+            }
+        };
+    }
+
+    // --- Фильтр ---
+    @SuppressWarnings("unchecked")
+    public MyUnrolledList<T> filter(Predicate<T> predicate) {
+        MyUnrolledList<T> result = new MyUnrolledList<>(nodeCapacity);
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                T data = (T) node.items[i];
+                if (predicate.test(data))
+                    result.add(data);
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
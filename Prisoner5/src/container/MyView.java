@@ -0,0 +1,141 @@
+package container;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class MyView<T> implements Iterable<T> {
+    private static final long NO_LIMIT = -1;
+
+    private final Iterable<T> source;
+    private final Predicate<? super T> predicate;
+    private final long skip;
+    private final long limit;
+
+    private MyView(Iterable<T> source, Predicate<? super T> predicate, long skip, long limit) {
+        this.source = source;
+        this.predicate = predicate;
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    public static <T> MyView<T> of(Iterable<T> source) {
+        return new MyView<>(Objects.requireNonNull(source), null, 0, NO_LIMIT);
+    }
+
+    private boolean isFilterOnly() {
+        return skip == 0 && limit == NO_LIMIT;
+    }
+
+    public MyView<T> filter(Predicate<? super T> condition) {
+        Objects.requireNonNull(condition);
+        if (!isFilterOnly())
+            return new MyView<>(this, condition, 0, NO_LIMIT);
+        if (predicate == null)
+            return new MyView<>(source, condition, 0, NO_LIMIT);
+        Predicate<? super T> first = predicate;
+        Predicate<T> fused = element -> first.test(element) && condition.test(element);
+        return new MyView<>(source, fused, 0, NO_LIMIT);
+    }
+
+    public <R> MyView<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        Iterable<R> mapped = () -> new Iterator<R>() {
+            private final Iterator<T> it = MyView.this.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public R next() {
+                return mapper.apply(it.next());
+            }
+        };
+        return new MyView<>(mapped, null, 0, NO_LIMIT);
+    }
+
+    public MyView<T> skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Negative skip: " + n);
+        if (limit != NO_LIMIT)
+            return new MyView<>(this, null, n, NO_LIMIT);
+        return new MyView<>(source, predicate, skip + n, NO_LIMIT);
+    }
+
+    public MyView<T> limit(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Negative limit: " + n);
+        long newLimit = (limit == NO_LIMIT) ? n : Math.min(limit, n);
+        return new MyView<>(source, predicate, skip, newLimit);
+    }
+
+    // --- Терминальные операции ---
+    public long count() {
+        long count = 0;
+        for (Iterator<T> it = iterator(); it.hasNext(); it.next())
+            count++;
+        return count;
+    }
+
+    public Optional<T> findFirst() {
+        Iterator<T> it = iterator();
+        return it.hasNext() ? Optional.ofNullable(it.next()) : Optional.empty();
+    }
+
+    public boolean anyMatch(Predicate<? super T> condition) {
+        return filter(condition).iterator().hasNext();
+    }
+
+    public MyLinkedList<T> toList() {
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (T element : this)
+            result.add(element);
+        return result;
+    }
+
+    // --- Итератор ---
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final Iterator<T> it = source.iterator();
+            private long toSkip = skip;
+            private long emitted;
+            private T nextElement;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                if (ready)
+                    return true;
+                if (limit != NO_LIMIT && emitted >= limit)
+                    return false;
+                while (it.hasNext()) {
+                    T element = it.next();
+                    if (predicate != null && !predicate.test(element))
+                        continue;
+                    if (toSkip > 0) {
+                        toSkip--;
+                        continue;
+                    }
+                    nextElement = element;
+                    ready = true;
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                ready = false;
+                emitted++;
+                T element = nextElement;
+                nextElement = null;
+                return element;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package prisoners;
+
+import container.MyBitmap;
+import java.util.*;
+import java.util.function.Function;
+
+class BitmapIndex<K> implements PrisonerIndex {
+    private final Map<K, MyBitmap> bitmaps = new HashMap<>();
+    private final Function<Prisoner, ? extends Iterable<? extends K>> keys;
+    private final OrdinalTable ordinals;
+
+    BitmapIndex(Function<Prisoner, ? extends Iterable<? extends K>> keys, OrdinalTable ordinals) {
+        this.keys = keys;
+        this.ordinals = ordinals;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        int ordinal = ordinals.ordinalOf(prisoner);
+        for (K key : keys.apply(prisoner))
+            bitmaps.computeIfAbsent(key, k -> new MyBitmap()).add(ordinal);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        int ordinal = ordinals.ordinalOf(prisoner);
+        for (K key : keys.apply(prisoner)) {
+            MyBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty())
+                bitmaps.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        bitmaps.clear();
+    }
+
+    MyBitmap get(K key) {
+        MyBitmap bitmap = bitmaps.get(key);
+        return bitmap != null ? bitmap : new MyBitmap();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package prisoners;
+
+import container.MyIntervalTree;
+import container.MyView;
+import java.time.LocalDate;
+
+class CustodyIndex implements PrisonerIndex {
+    private final MyIntervalTree<Prisoner> tree = new MyIntervalTree<>();
+
+    @Override
+    public void add(Prisoner prisoner) {
+        if (isIndexed(prisoner))
+            tree.add(start(prisoner), end(prisoner), prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        if (isIndexed(prisoner))
+            tree.remove(start(prisoner), end(prisoner), prisoner);
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+    }
+
+    MyView<Prisoner> on(LocalDate date) {
+        return MyView.of(tree.containing(date.toEpochDay()));
+    }
+
+    MyView<Prisoner> overlapping(LocalDate from, LocalDate to) {
+        return MyView.of(tree.overlapping(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    private static boolean isIndexed(Prisoner prisoner) {
+        return prisoner.getDayIn() != Prisoner.NULL_DAY && start(prisoner) <= end(prisoner);
+    }
+
+    private static long start(Prisoner prisoner) {
+        return prisoner.getDayIn();
+    }
+
+    private static long end(Prisoner prisoner) {
+        return prisoner.isReleased() ? prisoner.getDayOut() : Long.MAX_VALUE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package prisoners;
+
+import container.MyTrigramIndex;
+import container.MyView;
+import java.util.function.Function;
+
+class FuzzyIndex implements PrisonerIndex {
+    private final MyTrigramIndex<Prisoner> index = new MyTrigramIndex<>();
+    private final Function<Prisoner, String> key;
+
+    FuzzyIndex(Function<Prisoner, String> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            index.add(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        index.remove(prisoner);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    MyView<Prisoner> similar(String query, int maxDistance) {
+        return MyView.of(index.search(query, maxDistance));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package prisoners;
+
+import container.MyLinkedList;
+import container.MyView;
+import java.util.*;
+import java.util.function.Function;
+
+class HashIndex<K> implements PrisonerIndex {
+    private final Map<K, MyLinkedList<Prisoner>> buckets = new HashMap<>();
+    private final Function<Prisoner, ? extends Iterable<? extends K>> keys;
+
+    HashIndex(Function<Prisoner, ? extends Iterable<? extends K>> keys) {
+        this.keys = keys;
+    }
+
+    static <K> HashIndex<K> single(Function<Prisoner, ? extends K> key) {
+        return new HashIndex<K>(prisoner -> Collections.singletonList(key.apply(prisoner)));
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        for (K key : keys.apply(prisoner)) {
+            if (key != null)
+                buckets.computeIfAbsent(key, k -> new MyLinkedList<>(true)).add(prisoner);
+        }
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        for (K key : keys.apply(prisoner)) {
+            if (key == null)
+                continue;
+            MyLinkedList<Prisoner> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(prisoner) && bucket.isEmpty())
+                buckets.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    MyView<Prisoner> get(K key) {
+        MyLinkedList<Prisoner> bucket = buckets.get(key);
+        return MyView.of(bucket != null ? bucket : Collections.<Prisoner>emptyList());
+    }
+
+    int count(K key) {
+        MyLinkedList<Prisoner> bucket = buckets.get(key);
+        return bucket != null ? bucket.size() : 0;
+    }
+}
\ No newline at end of file
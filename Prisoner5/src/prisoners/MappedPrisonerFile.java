@@ -0,0 +1,180 @@
+package prisoners;
+
+import container.MyView;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class MappedPrisonerFile implements Iterable<Prisoner>, Closeable {
+    private final FileChannel channel;
+    private final long fileSize;
+    private final PrisonerFile.Index index;
+    private final AtomicReferenceArray<ByteBuffer> blocks;
+    private final Queue<ByteBuffer> mappings = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    private MappedPrisonerFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        if (fileSize < PrisonerFile.HEADER_SIZE + PrisonerFile.TRAILER_SIZE)
+            throw new IOException("Not a prisoner file");
+        this.index = PrisonerFile.Index.read(readAt(0, PrisonerFile.HEADER_SIZE),
+                readAt(fileSize - PrisonerFile.TRAILER_SIZE, PrisonerFile.TRAILER_SIZE), this::mapSection);
+        this.blocks = new AtomicReferenceArray<>(index.blockCount());
+    }
+
+    public static MappedPrisonerFile open(String filename) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        try {
+            return new MappedPrisonerFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Truncated prisoner file");
+        }
+        return buffer;
+    }
+
+    private ByteBuffer mapSection(long offset, String name) throws IOException {
+        if (closed)
+            throw new IOException("Prisoner file is closed");
+        if (offset < PrisonerFile.HEADER_SIZE || offset > fileSize - PrisonerFile.SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        int length = readAt(offset, Integer.BYTES).getInt(0);
+        if (length < 0 || length > fileSize - offset - PrisonerFile.SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, PrisonerFile.SECTION_HEADER + length);
+        mappings.add(mapped);
+        return PrisonerFile.section(mapped, 0, name);
+    }
+
+    private ByteBuffer blockData(int block) throws IOException {
+        if (closed)
+            throw new IOException("Prisoner file is closed");
+        ByteBuffer data = blocks.get(block);
+        if (data == null) {
+            data = mapSection(index.blockOffsets[block], "block " + block);
+            blocks.compareAndSet(block, null, data);
+        }
+        return data;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (int block = 0; block < blocks.length(); block++)
+            blocks.set(block, null);
+        for (ByteBuffer mapped; (mapped = mappings.poll()) != null;)
+            unmap(mapped);
+        channel.close();
+    }
+
+    private static void unmap(ByteBuffer mapped) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), mapped);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return;
+        }
+    }
+
+    // --- Доступ к записям ---
+    public int size() {
+        return index.size;
+    }
+
+    public boolean isEmpty() {
+        return index.size == 0;
+    }
+
+    public Prisoner get(int record) {
+        Objects.checkIndex(record, index.size);
+        int block = index.blockOf(record);
+        try {
+            return PrisonerFile.decodeRecord(blockData(block), record - index.firstRecords[block], index.dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public PrisonerRecord record(int record) {
+        Objects.checkIndex(record, index.size);
+        int block = index.blockOf(record);
+        try {
+            ByteBuffer data = blockData(block);
+            return new PrisonerRecord(data, PrisonerFile.recordOffset(data, record - index.firstRecords[block]),
+                    index.dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --- Обход ---
+    @Override
+    public Iterator<Prisoner> iterator() {
+        return new Iterator<Prisoner>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < index.size;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return get(position++);
+            }
+        };
+    }
+
+    public MyView<PrisonerRecord> records() {
+        return MyView.of(() -> IntStream.range(0, index.size).mapToObj(this::record).iterator());
+    }
+
+    public MyView<Prisoner> scan(Predicate<? super PrisonerRecord> predicate) {
+        return records().filter(predicate).map(PrisonerRecord::toPrisoner);
+    }
+
+    public Stream<Prisoner> stream() {
+        return IntStream.range(0, index.size).mapToObj(this::get);
+    }
+
+    public MyView<Prisoner> filter(Predicate<? super Prisoner> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    public <R> MyView<R> map(Function<? super Prisoner, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    public MyView<Prisoner> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    public MyView<Prisoner> skip(long n) {
+        return MyView.of(this).skip(n);
+    }
+}
\ No newline at end of file
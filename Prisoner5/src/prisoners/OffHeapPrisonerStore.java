@@ -0,0 +1,369 @@
+package prisoners;
+
+import container.MyView;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class OffHeapPrisonerStore implements Iterable<Prisoner> {
+    private static final int NULL_REF = -1;
+    private static final int MISSING_REF = -2;
+    private static final int NAME = 0;
+    private static final int BIRTH_DAY = 4;
+    private static final int HEIGHT = 8;
+    private static final int EYE_COLOR = 12;
+    private static final int DAY_IN = 16;
+    private static final int DAY_OUT = 20;
+    private static final int FEATURE_START = 24;
+    private static final int FEATURE_COUNT = 28;
+    private static final int RECORD_SIZE = 32;
+    private static final int INITIAL_BYTES = 4096;
+    private static final int INITIAL_SLOTS = 64;
+
+    private ByteBuffer records = allocate(INITIAL_BYTES);
+    private ByteBuffer strings = allocate(INITIAL_BYTES);
+    private ByteBuffer features = allocate(INITIAL_BYTES);
+    private int size;
+    private int stringsUsed;
+    private int featuresUsed;
+    private ByteBuffer dictionary = emptySlots(INITIAL_SLOTS);
+    private int slots = INITIAL_SLOTS;
+    private int pooledCount;
+
+    public static OffHeapPrisonerStore of(Iterable<Prisoner> prisoners) {
+        OffHeapPrisonerStore store = new OffHeapPrisonerStore();
+        for (Prisoner prisoner : prisoners)
+            store.add(prisoner);
+        return store;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer emptySlots(int slots) {
+        ByteBuffer buffer = allocate(slots * Integer.BYTES);
+        for (int slot = 0; slot < slots; slot++)
+            buffer.putInt(slot * Integer.BYTES, NULL_REF);
+        return buffer;
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, long used, int extra) {
+        long required = used + extra;
+        if (required <= buffer.capacity())
+            return buffer;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("Off-heap area is full");
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+        ByteBuffer grown = allocate(capacity);
+        grown.put(0, buffer, 0, (int) used);
+        return grown;
+    }
+
+    // --- Изменение ---
+    public void add(Prisoner prisoner) {
+        int count = prisoner.featureCount();
+        features = ensure(features, featuresUsed, count * Integer.BYTES);
+        int featureStart = featuresUsed;
+        for (int i = 0; i < count; i++) {
+            features.putInt(featuresUsed, pooledRef(prisoner.featureAt(i)));
+            featuresUsed += Integer.BYTES;
+        }
+
+        int nameRef = writeString(prisoner.getFullName());
+        int eyeRef = pooledRef(prisoner.getEyeColor());
+        records = ensure(records, (long) size * RECORD_SIZE, RECORD_SIZE);
+        int base = size * RECORD_SIZE;
+        records.putInt(base + NAME, nameRef);
+        records.putInt(base + BIRTH_DAY, prisoner.getBirthDay());
+        records.putInt(base + HEIGHT, prisoner.getHeight());
+        records.putInt(base + EYE_COLOR, eyeRef);
+        records.putInt(base + DAY_IN, prisoner.getDayIn());
+        records.putInt(base + DAY_OUT, prisoner.getDayOut());
+        records.putInt(base + FEATURE_START, featureStart);
+        records.putInt(base + FEATURE_COUNT, count);
+        size++;
+    }
+
+    private int pooledRef(String value) {
+        if (value == null)
+            return NULL_REF;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int slot = findSlot(bytes);
+        int ref = dictionary.getInt(slot * Integer.BYTES);
+        if (ref == NULL_REF) {
+            ref = writeString(bytes);
+            dictionary.putInt(slot * Integer.BYTES, ref);
+            if (++pooledCount * 2 > slots)
+                rehash();
+        }
+        return ref;
+    }
+
+    private int findPooled(String value) {
+        if (value == null)
+            return NULL_REF;
+        int ref = dictionary.getInt(findSlot(value.getBytes(StandardCharsets.UTF_8)) * Integer.BYTES);
+        return ref == NULL_REF ? MISSING_REF : ref;
+    }
+
+    private int findSlot(byte[] bytes) {
+        int mask = slots - 1;
+        int slot = spread(Arrays.hashCode(bytes)) & mask;
+        while (true) {
+            int ref = dictionary.getInt(slot * Integer.BYTES);
+            if (ref == NULL_REF || stringEquals(ref, bytes))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash() {
+        ByteBuffer old = dictionary;
+        int oldSlots = slots;
+        slots *= 2;
+        dictionary = emptySlots(slots);
+        int mask = slots - 1;
+        for (int i = 0; i < oldSlots; i++) {
+            int ref = old.getInt(i * Integer.BYTES);
+            if (ref == NULL_REF)
+                continue;
+            int slot = spread(stringHash(ref)) & mask;
+            while (dictionary.getInt(slot * Integer.BYTES) != NULL_REF)
+                slot = (slot + 1) & mask;
+            dictionary.putInt(slot * Integer.BYTES, ref);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int stringHash(int ref) {
+        int length = strings.getInt(ref);
+        int hash = 1;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + strings.get(ref + Integer.BYTES + i);
+        return hash;
+    }
+
+    private boolean stringEquals(int ref, byte[] bytes) {
+        if (strings.getInt(ref) != bytes.length)
+            return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(ref + Integer.BYTES + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    private int writeString(String value) {
+        return value == null ? NULL_REF : writeString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int writeString(byte[] bytes) {
+        strings = ensure(strings, stringsUsed, Integer.BYTES + bytes.length);
+        int ref = stringsUsed;
+        strings.putInt(ref, bytes.length);
+        strings.put(ref + Integer.BYTES, bytes);
+        stringsUsed += Integer.BYTES + bytes.length;
+        return ref;
+    }
+
+    public void clear() {
+        size = 0;
+        stringsUsed = 0;
+        featuresUsed = 0;
+        for (int slot = 0; slot < slots; slot++)
+            dictionary.putInt(slot * Integer.BYTES, NULL_REF);
+        pooledCount = 0;
+    }
+
+    // --- Доступ к записям ---
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long offHeapBytes() {
+        return (long) size * RECORD_SIZE + stringsUsed + featuresUsed + (long) slots * Integer.BYTES;
+    }
+
+    private int base(int index) {
+        return Objects.checkIndex(index, size) * RECORD_SIZE;
+    }
+
+    private String readString(int ref) {
+        if (ref == NULL_REF)
+            return null;
+        byte[] bytes = new byte[strings.getInt(ref)];
+        strings.get(ref + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public String nameAt(int index) {
+        return readString(records.getInt(base(index) + NAME));
+    }
+
+    public int heightAt(int index) {
+        return records.getInt(base(index) + HEIGHT);
+    }
+
+    public int birthDayAt(int index) {
+        return records.getInt(base(index) + BIRTH_DAY);
+    }
+
+    public int dayInAt(int index) {
+        return records.getInt(base(index) + DAY_IN);
+    }
+
+    public int dayOutAt(int index) {
+        return records.getInt(base(index) + DAY_OUT);
+    }
+
+    public Prisoner get(int index) {
+        int base = base(index);
+        int start = records.getInt(base + FEATURE_START);
+        int count = records.getInt(base + FEATURE_COUNT);
+        List<String> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            list.add(readString(features.getInt(start + i * Integer.BYTES)));
+        return new Prisoner(readString(records.getInt(base + NAME)),
+                Prisoner.toDate(records.getInt(base + BIRTH_DAY)),
+                records.getInt(base + HEIGHT),
+                readString(records.getInt(base + EYE_COLOR)),
+                list,
+                Prisoner.toDate(records.getInt(base + DAY_IN)),
+                Prisoner.toDate(records.getInt(base + DAY_OUT)));
+    }
+
+    // --- Обход ---
+    @Override
+    public Iterator<Prisoner> iterator() {
+        int end = size;
+        return new Iterator<Prisoner>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    public MyView<Row> rows() {
+        int end = size;
+        return MyView.of(() -> IntStream.range(0, end).mapToObj(Row::new).iterator());
+    }
+
+    public MyView<Prisoner> scan(Predicate<? super Row> predicate) {
+        return rows().filter(predicate).map(Row::toPrisoner);
+    }
+
+    public Stream<Prisoner> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    public MyView<Prisoner> filter(Predicate<? super Prisoner> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    public <R> MyView<R> map(Function<? super Prisoner, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    public MyView<Prisoner> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    public MyView<Prisoner> skip(long n) {
+        return MyView.of(this).skip(n);
+    }
+
+    public final class Row {
+        private final int index;
+        private final int base;
+
+        private Row(int index) {
+            this.index = index;
+            this.base = base(index);
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public String getFullName() {
+            return readString(records.getInt(base + NAME));
+        }
+
+        public int getBirthDay() {
+            return records.getInt(base + BIRTH_DAY);
+        }
+
+        public int getHeight() {
+            return records.getInt(base + HEIGHT);
+        }
+
+        public String getEyeColor() {
+            return readString(records.getInt(base + EYE_COLOR));
+        }
+
+        public boolean hasEyeColor(String eyeColor) {
+            return records.getInt(base + EYE_COLOR) == findPooled(eyeColor);
+        }
+
+        public int getDayIn() {
+            return records.getInt(base + DAY_IN);
+        }
+
+        public int getDayOut() {
+            return records.getInt(base + DAY_OUT);
+        }
+
+        public boolean isReleased() {
+            return getDayOut() != Prisoner.NULL_DAY;
+        }
+
+        public int featureCount() {
+            return records.getInt(base + FEATURE_COUNT);
+        }
+
+        public String featureAt(int feature) {
+            Objects.checkIndex(feature, featureCount());
+            return readString(features.getInt(records.getInt(base + FEATURE_START) + feature * Integer.BYTES));
+        }
+
+        public boolean hasFeature(String feature) {
+            int ref = findPooled(feature);
+            if (ref == MISSING_REF)
+                return false;
+            int start = records.getInt(base + FEATURE_START);
+            int count = featureCount();
+            for (int i = 0; i < count; i++) {
+                if (features.getInt(start + i * Integer.BYTES) == ref)
+                    return true;
+            }
+            return false;
+        }
+
+        public Prisoner toPrisoner() {
+            return get(index);
+        }
+    }
+}
\ No newline at end of file
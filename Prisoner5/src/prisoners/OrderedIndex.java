@@ -0,0 +1,45 @@
+package prisoners;
+
+import container.MyBPlusTree;
+import container.MyView;
+import java.util.function.Function;
+
+class OrderedIndex<K extends Comparable<? super K>> implements PrisonerIndex {
+    private final MyBPlusTree<K, Prisoner> tree = new MyBPlusTree<>();
+    private final Function<Prisoner, K> key;
+
+    OrderedIndex(Function<Prisoner, K> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        K value = key.apply(prisoner);
+        if (value != null)
+            tree.put(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        K value = key.apply(prisoner);
+        if (value != null)
+            tree.remove(value, prisoner);
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+    }
+
+    MyView<Prisoner> range(K from, K to) {
+        return tree.range(from, to);
+    }
+
+    MyView<Prisoner> ordered(boolean descending) {
+        return descending ? tree.descending() : tree.ascending();
+    }
+
+    int size() {
+        return tree.size();
+    }
+}
\ No newline at end of file
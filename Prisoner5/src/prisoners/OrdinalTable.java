@@ -0,0 +1,58 @@
+package prisoners;
+
+import container.MyBitmap;
+import container.MyView;
+import java.util.*;
+
+class OrdinalTable {
+    private final Map<Prisoner, Integer> ordinals = new HashMap<>();
+    private final List<Prisoner> prisoners = new ArrayList<>();
+    private final Deque<Integer> free = new ArrayDeque<>();
+    private final MyBitmap live = new MyBitmap();
+
+    int assign(Prisoner prisoner) {
+        Integer existing = ordinals.get(prisoner);
+        if (existing != null)
+            return existing;
+        int ordinal;
+        if (free.isEmpty()) {
+            ordinal = prisoners.size();
+            prisoners.add(prisoner);
+        } else {
+            ordinal = free.pop();
+            prisoners.set(ordinal, prisoner);
+        }
+        ordinals.put(prisoner, ordinal);
+        live.add(ordinal);
+        return ordinal;
+    }
+
+    void release(Prisoner prisoner) {
+        Integer ordinal = ordinals.remove(prisoner);
+        if (ordinal == null)
+            return;
+        prisoners.set(ordinal, null);
+        free.push(ordinal);
+        live.remove(ordinal);
+    }
+
+    int ordinalOf(Prisoner prisoner) {
+        Integer ordinal = ordinals.get(prisoner);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    MyBitmap live() {
+        return live;
+    }
+
+    MyView<Prisoner> select(MyBitmap selection) {
+        return MyView.of(selection).map(prisoners::get);
+    }
+
+    void clear() {
+        ordinals.clear();
+        prisoners.clear();
+        free.clear();
+        live.clear();
+    }
+}
\ No newline at end of file
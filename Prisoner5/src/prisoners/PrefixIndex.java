@@ -0,0 +1,41 @@
+package prisoners;
+
+import container.MyTrie;
+import container.MyView;
+import java.util.function.Function;
+
+class PrefixIndex implements PrisonerIndex {
+    private final MyTrie<Prisoner> trie = new MyTrie<>();
+    private final Function<Prisoner, String> key;
+
+    PrefixIndex(Function<Prisoner, String> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            trie.put(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            trie.remove(value, prisoner);
+    }
+
+    @Override
+    public void clear() {
+        trie.clear();
+    }
+
+    MyView<Prisoner> startingWith(String prefix, int limit) {
+        return MyView.of(trie.prefix(prefix, limit));
+    }
+
+    int count(String prefix) {
+        return trie.count(prefix);
+    }
+}
\ No newline at end of file
@@ -1,29 +1,62 @@
 package prisoners;
 
-import java.io.Serializable;
+import java.io.*;
 import java.time.LocalDate;
 import java.util.*;
 
 public class Prisoner implements Serializable {
     private static final long serialVersionUID = 1L; // ДОБАВЛЕНО
 
+    public static final int NULL_DAY = Integer.MIN_VALUE;
+    private static final String[] NO_FEATURES = new String[0];
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("fullName", String.class),
+            new ObjectStreamField("birthDate", LocalDate.class),
+            new ObjectStreamField("height", int.class),
+            new ObjectStreamField("eyeColor", String.class),
+            new ObjectStreamField("features", List.class),
+            new ObjectStreamField("dateIn", LocalDate.class),
+            new ObjectStreamField("dateOut", LocalDate.class)
+    };
+
     private String fullName;
-    private LocalDate birthDate;
+    private int birthDay;
     private int height;
     private String eyeColor;
-    private List<String> features;
-    private LocalDate dateIn;
-    private LocalDate dateOut;
+    private String[] features;
+    private int dayIn;
+    private int dayOut;
 
     public Prisoner(String fullName, LocalDate birthDate, int height, String eyeColor,
             List<String> features, LocalDate dateIn, LocalDate dateOut) {
+        init(fullName, birthDate, height, eyeColor, features, dateIn, dateOut);
+    }
+
+    private void init(String fullName, LocalDate birthDate, int height, String eyeColor,
+            Collection<String> features, LocalDate dateIn, LocalDate dateOut) {
         this.fullName = fullName;
-        this.birthDate = birthDate;
+        this.birthDay = toDay(birthDate);
         this.height = height;
-        this.eyeColor = eyeColor;
-        this.features = new ArrayList<>(features);
-        this.dateIn = dateIn;
-        this.dateOut = dateOut;
+        this.eyeColor = eyeColor == null ? null : eyeColor.intern();
+        this.features = NO_FEATURES;
+        if (features != null && !features.isEmpty()) {
+            String[] pooled = features.toArray(new String[0]);
+            for (int i = 0; i < pooled.length; i++) {
+                if (pooled[i] != null)
+                    pooled[i] = pooled[i].intern();
+            }
+            this.features = pooled;
+        }
+        this.dayIn = toDay(dateIn);
+        this.dayOut = toDay(dateOut);
+    }
+
+    static int toDay(LocalDate date) {
+        return date == null ? NULL_DAY : (int) date.toEpochDay();
+    }
+
+    static LocalDate toDate(int day) {
+        return day == NULL_DAY ? null : LocalDate.ofEpochDay(day);
     }
 
     public String getFullName() {
@@ -31,7 +64,11 @@ public class Prisoner implements Serializable {
     }
 
     public LocalDate getBirthDate() {
-        return birthDate;
+        return toDate(birthDay);
+    }
+
+    public int getBirthDay() {
+        return birthDay;
     }
 
     public int getHeight() {
@@ -43,27 +80,65 @@ public class Prisoner implements Serializable {
     }
 
     public List<String> getFeatures() {
-        return new ArrayList<>(features);
+        return new ArrayList<>(Arrays.asList(features));
+    }
+
+    public int featureCount() {
+        return features.length;
+    }
+
+    public String featureAt(int index) {
+        Objects.checkIndex(index, features.length);
+        return features[index];
+    }
+
+    public boolean hasFeature(String feature) {
+        for (String own : features) {
+            if (Objects.equals(own, feature))
+                return true;
+        }
+        return false;
     }
 
     public LocalDate getDateIn() {
-        return dateIn;
+        return toDate(dayIn);
+    }
+
+    public int getDayIn() {
+        return dayIn;
     }
 
     public LocalDate getDateOut() {
-        return dateOut;
+        return toDate(dayOut);
+    }
+
+    public int getDayOut() {
+        return dayOut;
+    }
+
+    public boolean isReleased() {
+        return dayOut != NULL_DAY;
     }
 
     @Override
     public String toString() {
         String result = "  Name: " + fullName + "\n" +
-                "  Birth: " + birthDate + "\n" +
+                "  Birth: " + getBirthDate() + "\n" +
                 "  Height: " + height + "cm\n" +
                 "  Eyes: " + eyeColor + "\n" +
-                "  Features: " + features + "\n" +
-                "  Imprisoned: " + dateIn + "\n" +
+                "  Features: " + Arrays.toString(features) + "\n" +
+                "  Imprisoned: " + getDateIn() + "\n" +
                 "  Released: ";
-        return result + (dateOut != null ? dateOut : "N/A") + "\n";
+        return result + (isReleased() ? getDateOut() : "N/A") + "\n";
+    }
+
+    public boolean hasSameData(Prisoner other) {
+        return equals(other) &&
+                height == other.height &&
+                Objects.equals(eyeColor, other.eyeColor) &&
+                Arrays.equals(features, other.features) &&
+                dayIn == other.dayIn &&
+                dayOut == other.dayOut;
     }
 
     @Override
@@ -74,11 +149,36 @@ public class Prisoner implements Serializable {
             return false;
         Prisoner prisoner = (Prisoner) o;
         return Objects.equals(fullName, prisoner.fullName) &&
-                Objects.equals(birthDate, prisoner.birthDate);
+                birthDay == prisoner.birthDay;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fullName, birthDate);
+        return 31 * Objects.hashCode(fullName) + birthDay;
+    }
+
+    // --- Сериализация объектов ---
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("fullName", fullName);
+        fields.put("birthDate", getBirthDate());
+        fields.put("height", height);
+        fields.put("eyeColor", eyeColor);
+        fields.put("features", getFeatures());
+        fields.put("dateIn", getDateIn());
+        fields.put("dateOut", getDateOut());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        init((String) fields.get("fullName", null),
+                (LocalDate) fields.get("birthDate", null),
+                fields.get("height", 0),
+                (String) fields.get("eyeColor", null),
+                (List<String>) fields.get("features", null),
+                (LocalDate) fields.get("dateIn", null),
+                (LocalDate) fields.get("dateOut", null));
     }
 }
\ No newline at end of file
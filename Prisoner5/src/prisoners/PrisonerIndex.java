@@ -0,0 +1,9 @@
+package prisoners;
+
+interface PrisonerIndex {
+    void add(Prisoner prisoner);
+
+    void remove(Prisoner prisoner);
+
+    void clear();
+}
\ No newline at end of file
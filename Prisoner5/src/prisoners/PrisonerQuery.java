@@ -0,0 +1,398 @@
+package prisoners;
+
+import container.MyInvertedIndex;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+public final class PrisonerQuery {
+    static final long NO_LIMIT = -1;
+
+    public enum Field {
+        NAME("name"),
+        EYES("eyes"),
+        HEIGHT("height"),
+        BORN("born"),
+        DATE_IN("dateIn"),
+        DATE_OUT("dateOut"),
+        FEATURE("feature");
+
+        private final String label;
+
+        Field(String label) {
+            this.label = label;
+        }
+
+        Comparable<?> valueOf(Prisoner prisoner) {
+            switch (this) {
+                case NAME:
+                    return prisoner.getFullName();
+                case EYES:
+                    return prisoner.getEyeColor();
+                case HEIGHT:
+                    return prisoner.getHeight();
+                case BORN:
+                    return prisoner.getBirthDate();
+                case DATE_IN:
+                    return prisoner.getDateIn();
+                case DATE_OUT:
+                    return prisoner.getDateOut();
+                default:
+                    return null;
+            }
+        }
+
+        boolean isDate() {
+            return this == BORN || this == DATE_IN || this == DATE_OUT;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Op {
+        EQ("="),
+        NE("!="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">="),
+        STARTS("STARTS"),
+        CONTAINS("CONTAINS"),
+        IS_NULL("IS NULL"),
+        NOT_NULL("IS NOT NULL");
+
+        private final String symbol;
+
+        Op(String symbol) {
+            this.symbol = symbol;
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    static final class Condition {
+        final Field field;
+        final Op op;
+        final Object value;
+
+        Condition(Field field, Op op, Object value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        boolean test(Prisoner prisoner) {
+            if (field == Field.FEATURE)
+                return testFeature(prisoner);
+            Comparable actual = field.valueOf(prisoner);
+            switch (op) {
+                case IS_NULL:
+                    return actual == null;
+                case NOT_NULL:
+                    return actual != null;
+                default:
+                    break;
+            }
+            if (actual == null)
+                return false;
+            if (field == Field.EYES)
+                return ((String) actual).equalsIgnoreCase((String) value) == (op == Op.EQ);
+            if (op == Op.STARTS)
+                return ((String) actual).toLowerCase(Locale.ROOT).startsWith(((String) value).toLowerCase(Locale.ROOT));
+            int cmp = actual.compareTo(value);
+            switch (op) {
+                case EQ:
+                    return cmp == 0;
+                case NE:
+                    return cmp != 0;
+                case LT:
+                    return cmp < 0;
+                case LE:
+                    return cmp <= 0;
+                case GT:
+                    return cmp > 0;
+                default:
+                    return cmp >= 0;
+            }
+        }
+
+        private boolean testFeature(Prisoner prisoner) {
+            if (op == Op.EQ)
+                return prisoner.hasFeature((String) value);
+            if (op == Op.NE)
+                return !prisoner.hasFeature((String) value);
+            Set<String> words = new HashSet<>();
+            for (int i = 0; i < prisoner.featureCount(); i++)
+                words.addAll(MyInvertedIndex.tokenize(prisoner.featureAt(i)));
+            return words.containsAll(MyInvertedIndex.tokenize((String) value));
+        }
+
+        boolean excludesNull() {
+            return op != Op.IS_NULL;
+        }
+
+        @Override
+        public String toString() {
+            if (op == Op.IS_NULL || op == Op.NOT_NULL)
+                return field + " " + op;
+            String text = value instanceof Integer ? value.toString() : "'" + value + "'";
+            return field + " " + op + " " + text;
+        }
+    }
+
+    private final List<Condition> conditions;
+    private final Field orderBy;
+    private final boolean descending;
+    private final long limit;
+
+    private PrisonerQuery(List<Condition> conditions, Field orderBy, boolean descending, long limit) {
+        this.conditions = Collections.unmodifiableList(conditions);
+        this.orderBy = orderBy;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    List<Condition> getConditions() {
+        return conditions;
+    }
+
+    Field getOrderBy() {
+        return orderBy;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Condition condition : conditions) {
+            if (sb.length() > 0)
+                sb.append(" AND ");
+            sb.append(condition);
+        }
+        if (orderBy != null)
+            sb.append(sb.length() > 0 ? " " : "").append("ORDER BY ").append(orderBy).append(descending ? " DESC" : "");
+        if (limit != NO_LIMIT)
+            sb.append(sb.length() > 0 ? " " : "").append("LIMIT ").append(limit);
+        return sb.toString();
+    }
+
+    // --- Разбор ---
+    public static PrisonerQuery parse(String text) {
+        return new Parser(text).parse();
+    }
+
+    private static final class Parser {
+        private final List<String> tokens = new ArrayList<>();
+        private int pos;
+
+        Parser(String text) {
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'') {
+                    int end = text.indexOf('\'', i + 1);
+                    if (end < 0)
+                        throw new IllegalArgumentException("Unterminated string at position " + i);
+                    tokens.add(text.substring(i, end));
+                    i = end + 1;
+                } else if ("=!<>".indexOf(c) >= 0) {
+                    int end = i + 1;
+                    if (end < text.length() && text.charAt(end) == '=')
+                        end++;
+                    else if (c == '<' && end < text.length() && text.charAt(end) == '>')
+                        end++;
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                } else {
+                    int end = i;
+                    while (end < text.length() && !Character.isWhitespace(text.charAt(end))
+                            && "=!<>'".indexOf(text.charAt(end)) < 0)
+                        end++;
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                }
+            }
+        }
+
+        PrisonerQuery parse() {
+            List<Condition> conditions = new ArrayList<>();
+            if (hasMore() && !isKeyword("ORDER") && !isKeyword("LIMIT")) {
+                conditions.add(condition());
+                while (acceptKeyword("AND"))
+                    conditions.add(condition());
+            }
+            Field orderBy = null;
+            boolean descending = false;
+            if (acceptKeyword("ORDER")) {
+                expectKeyword("BY");
+                orderBy = field();
+                if (orderBy == Field.FEATURE)
+                    throw new IllegalArgumentException("Cannot order by " + orderBy);
+                if (acceptKeyword("DESC"))
+                    descending = true;
+                else
+                    acceptKeyword("ASC");
+            }
+            long limit = NO_LIMIT;
+            if (acceptKeyword("LIMIT")) {
+                String number = next("limit");
+                try {
+                    limit = Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid limit: " + number);
+                }
+                if (limit < 0)
+                    throw new IllegalArgumentException("Negative limit: " + limit);
+            }
+            if (hasMore())
+                throw new IllegalArgumentException("Unexpected '" + tokens.get(pos) + "'");
+            return new PrisonerQuery(conditions, orderBy, descending, limit);
+        }
+
+        private Condition condition() {
+            Field field = field();
+            if (acceptKeyword("IS")) {
+                boolean not = acceptKeyword("NOT");
+                expectKeyword("NULL");
+                if (field != Field.BORN && field != Field.DATE_IN && field != Field.DATE_OUT)
+                    throw new IllegalArgumentException(field + " cannot be NULL");
+                return new Condition(field, not ? Op.NOT_NULL : Op.IS_NULL, null);
+            }
+            Op op = op();
+            boolean allowed;
+            switch (op) {
+                case STARTS:
+                    allowed = field == Field.NAME;
+                    break;
+                case CONTAINS:
+                    allowed = field == Field.FEATURE;
+                    break;
+                case EQ:
+                case NE:
+                    allowed = true;
+                    break;
+                default:
+                    allowed = field == Field.HEIGHT || field.isDate();
+            }
+            if (!allowed)
+                throw new IllegalArgumentException("Operator " + op + " is not supported for " + field);
+            return new Condition(field, op, value(field));
+        }
+
+        private Field field() {
+            String name = next("field name");
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "name":
+                case "fullname":
+                    return Field.NAME;
+                case "eyes":
+                case "eyecolor":
+                    return Field.EYES;
+                case "height":
+                    return Field.HEIGHT;
+                case "born":
+                case "birthdate":
+                    return Field.BORN;
+                case "datein":
+                case "imprisoned":
+                    return Field.DATE_IN;
+                case "dateout":
+                case "released":
+                    return Field.DATE_OUT;
+                case "feature":
+                case "features":
+                    return Field.FEATURE;
+                default:
+                    throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+
+        private Op op() {
+            String symbol = next("operator");
+            switch (symbol.toUpperCase(Locale.ROOT)) {
+                case "=":
+                case "==":
+                    return Op.EQ;
+                case "!=":
+                case "<>":
+                    return Op.NE;
+                case "<":
+                    return Op.LT;
+                case "<=":
+                    return Op.LE;
+                case ">":
+                    return Op.GT;
+                case ">=":
+                    return Op.GE;
+                case "STARTS":
+                    return Op.STARTS;
+                case "CONTAINS":
+                    return Op.CONTAINS;
+                default:
+                    throw new IllegalArgumentException("Unknown operator: " + symbol);
+            }
+        }
+
+        private Object value(Field field) {
+            String token = next("value");
+            String raw = token.startsWith("'") ? token.substring(1) : token;
+            if (field == Field.HEIGHT) {
+                try {
+                    return Integer.parseInt(raw);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid height: " + raw);
+                }
+            }
+            if (field.isDate()) {
+                try {
+                    return LocalDate.parse(raw);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid date: " + raw);
+                }
+            }
+            return raw;
+        }
+
+        private boolean hasMore() {
+            return pos < tokens.size();
+        }
+
+        private boolean isKeyword(String keyword) {
+            return hasMore() && tokens.get(pos).equalsIgnoreCase(keyword);
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            if (!isKeyword(keyword))
+                return false;
+            pos++;
+            return true;
+        }
+
+        private void expectKeyword(String keyword) {
+            if (!acceptKeyword(keyword))
+                throw new IllegalArgumentException("Expected " + keyword);
+        }
+
+        private String next(String expected) {
+            if (!hasMore())
+                throw new IllegalArgumentException("Expected " + expected + " at end of query");
+            return tokens.get(pos++);
+        }
+    }
+}
\ No newline at end of file
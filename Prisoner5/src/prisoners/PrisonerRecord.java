@@ -0,0 +1,163 @@
+package prisoners;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+
+public final class PrisonerRecord {
+    private static final int NAME = 0;
+    private static final int BIRTH_DAY = 1;
+    private static final int HEIGHT = 2;
+    private static final int EYE_COLOR = 3;
+    private static final int DAY_IN = 4;
+    private static final int DAY_OUT = 5;
+    private static final int FEATURES = 6;
+
+    private final ByteBuffer block;
+    private final String[] dictionary;
+    private final int[] offsets = new int[FEATURES + 1];
+    private int known = 1;
+    private int decoded;
+
+    private String fullName;
+    private int birthDay;
+    private int height;
+    private String eyeColor;
+    private int dayIn;
+    private int dayOut;
+    private String[] features;
+
+    PrisonerRecord(ByteBuffer block, int offset, String[] dictionary) {
+        this.block = block;
+        this.dictionary = dictionary;
+        this.offsets[NAME] = offset;
+    }
+
+    private PrisonerFile.Decoder seek(int field) throws IOException {
+        PrisonerFile.Decoder in = new PrisonerFile.Decoder(block);
+        in.position(offsets[known - 1]);
+        while (known <= field) {
+            if (known - 1 == NAME)
+                in.skipString();
+            else
+                in.skipVarint();
+            offsets[known++] = in.position();
+        }
+        in.position(offsets[field]);
+        return in;
+    }
+
+    private void load(int field) {
+        if ((decoded & (1 << field)) != 0)
+            return;
+        try {
+            PrisonerFile.Decoder in = seek(field);
+            switch (field) {
+                case NAME:
+                    fullName = in.readString();
+                    break;
+                case BIRTH_DAY:
+                    birthDay = in.readDay();
+                    break;
+                case HEIGHT:
+                    height = PrisonerFile.unzigzag(in.readVarint());
+                    break;
+                case EYE_COLOR:
+                    eyeColor = PrisonerFile.lookup(dictionary, in.readVarint());
+                    break;
+                case DAY_IN:
+                    dayIn = in.readDay();
+                    break;
+                case DAY_OUT:
+                    dayOut = in.readDay();
+                    break;
+                default:
+                    features = new String[(int) in.readVarint()];
+                    for (int i = 0; i < features.length; i++)
+                        features[i] = PrisonerFile.lookup(dictionary, in.readVarint());
+                    break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoded |= 1 << field;
+    }
+
+    public String getFullName() {
+        load(NAME);
+        return fullName;
+    }
+
+    public int getBirthDay() {
+        load(BIRTH_DAY);
+        return birthDay;
+    }
+
+    public LocalDate getBirthDate() {
+        return Prisoner.toDate(getBirthDay());
+    }
+
+    public int getHeight() {
+        load(HEIGHT);
+        return height;
+    }
+
+    public String getEyeColor() {
+        load(EYE_COLOR);
+        return eyeColor;
+    }
+
+    public int getDayIn() {
+        load(DAY_IN);
+        return dayIn;
+    }
+
+    public LocalDate getDateIn() {
+        return Prisoner.toDate(getDayIn());
+    }
+
+    public int getDayOut() {
+        load(DAY_OUT);
+        return dayOut;
+    }
+
+    public LocalDate getDateOut() {
+        return Prisoner.toDate(getDayOut());
+    }
+
+    public boolean isReleased() {
+        return getDayOut() != Prisoner.NULL_DAY;
+    }
+
+    public int featureCount() {
+        load(FEATURES);
+        return features.length;
+    }
+
+    public String featureAt(int index) {
+        load(FEATURES);
+        Objects.checkIndex(index, features.length);
+        return features[index];
+    }
+
+    public boolean hasFeature(String feature) {
+        load(FEATURES);
+        for (String own : features) {
+            if (Objects.equals(own, feature))
+                return true;
+        }
+        return false;
+    }
+
+    public List<String> getFeatures() {
+        load(FEATURES);
+        return new ArrayList<>(Arrays.asList(features));
+    }
+
+    public Prisoner toPrisoner() {
+        return new Prisoner(getFullName(), getBirthDate(), getHeight(), getEyeColor(), getFeatures(),
+                getDateIn(), getDateOut());
+    }
+}
\ No newline at end of file
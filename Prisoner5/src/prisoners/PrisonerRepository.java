@@ -0,0 +1,353 @@
+package prisoners;
+
+import container.MergeResult;
+import container.MyBitmap;
+import container.MyInvertedIndex;
+import container.MyLinkedList;
+import container.MyTrigramIndex;
+import container.MyView;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+public class PrisonerRepository implements Iterable<Prisoner> {
+    private final MyLinkedList<Prisoner> prisoners = new MyLinkedList<>(true);
+    private final List<PrisonerIndex> indexes = new ArrayList<>();
+
+    private final HashIndex<String> byName = register(HashIndex.single(Prisoner::getFullName));
+    private final HashIndex<String> byEyeColor = register(HashIndex.single(p -> normalize(p.getEyeColor())));
+    private final HashIndex<Integer> byBirthYear = register(HashIndex.single(PrisonerRepository::birthYear));
+    private final HashIndex<Integer> byBirthDay = register(HashIndex.single(Prisoner::getBirthDay));
+    private final HashIndex<Integer> byHeight = register(HashIndex.single(Prisoner::getHeight));
+    private final HashIndex<String> byFeature = register(new HashIndex<String>(Prisoner::getFeatures));
+    private final HashIndex<Boolean> byReleased = register(HashIndex.single(Prisoner::isReleased));
+
+    private final OrderedIndex<Integer> heightOrder = register(new OrderedIndex<>(Prisoner::getHeight));
+    private final OrderedIndex<LocalDate> birthDateOrder = register(new OrderedIndex<>(Prisoner::getBirthDate));
+    private final OrderedIndex<LocalDate> dateInOrder = register(new OrderedIndex<>(Prisoner::getDateIn));
+    private final OrderedIndex<LocalDate> dateOutOrder = register(new OrderedIndex<>(Prisoner::getDateOut));
+
+    private final CustodyIndex custody = register(new CustodyIndex());
+
+    private final TextIndex featureText = register(new TextIndex(Prisoner::getFeatures));
+    private final PrefixIndex namePrefix = register(new PrefixIndex(Prisoner::getFullName));
+    private final FuzzyIndex nameFuzzy = register(new FuzzyIndex(Prisoner::getFullName));
+
+    private final OrdinalTable ordinals = new OrdinalTable();
+    private final BitmapIndex<String> eyeColorBits = register(new BitmapIndex<String>(
+            p -> Collections.singletonList(normalize(p.getEyeColor())), ordinals));
+    private final BitmapIndex<Boolean> releasedBits = register(new BitmapIndex<Boolean>(
+            p -> p.isReleased() ? Collections.singletonList(true) : Collections.<Boolean>emptyList(), ordinals));
+    private final BitmapIndex<String> featureBits = register(new BitmapIndex<String>(
+            PrisonerRepository::featureWords, ordinals));
+
+    private PrisonerTable table;
+
+    private <I extends PrisonerIndex> I register(I index) {
+        indexes.add(index);
+        return index;
+    }
+
+    private void indexAdd(Prisoner prisoner) {
+        table = null;
+        ordinals.assign(prisoner);
+        for (PrisonerIndex index : indexes)
+            index.add(prisoner);
+    }
+
+    private void indexRemove(Prisoner prisoner) {
+        table = null;
+        for (PrisonerIndex index : indexes)
+            index.remove(prisoner);
+        ordinals.release(prisoner);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Integer birthYear(Prisoner prisoner) {
+        LocalDate birthDate = prisoner.getBirthDate();
+        return birthDate != null ? birthDate.getYear() : null;
+    }
+
+    private static Set<String> featureWords(Prisoner prisoner) {
+        Set<String> words = new LinkedHashSet<>();
+        for (int i = 0; i < prisoner.featureCount(); i++)
+            words.addAll(MyInvertedIndex.tokenize(prisoner.featureAt(i)));
+        return words;
+    }
+
+    // --- Изменение данных ---
+    public boolean add(Prisoner prisoner) {
+        if (!prisoners.add(prisoner))
+            return false;
+        indexAdd(prisoner);
+        return true;
+    }
+
+    public boolean remove(Prisoner prisoner) {
+        if (!prisoners.remove(prisoner))
+            return false;
+        indexRemove(prisoner);
+        return true;
+    }
+
+    public Prisoner removeAt(int position) {
+        if (position < 0 || position >= prisoners.size())
+            return null;
+        ListIterator<Prisoner> it = prisoners.listIterator(position);
+        Prisoner prisoner = it.next();
+        it.remove();
+        indexRemove(prisoner);
+        return prisoner;
+    }
+
+    public void clear() {
+        prisoners.clear();
+        for (PrisonerIndex index : indexes)
+            index.clear();
+        ordinals.clear();
+        table = null;
+    }
+
+    public MergeResult mergeDistinct(Iterable<Prisoner> loaded) {
+        // Prisoner.equals уже сравнивает имя и дату рождения
+        MergeResult result = prisoners.mergeDistinct(loaded, Function.identity(), Prisoner::hasSameData);
+        ListIterator<Prisoner> it = prisoners.listIterator(prisoners.size() - result.getAdded());
+        while (it.hasNext()) {
+            Prisoner prisoner = it.next();
+            indexAdd(prisoner);
+        }
+        return result;
+    }
+
+    // --- Чтение данных ---
+    public int size() {
+        return prisoners.size();
+    }
+
+    public boolean isEmpty() {
+        return prisoners.isEmpty();
+    }
+
+    public boolean contains(Prisoner prisoner) {
+        return prisoners.contains(prisoner);
+    }
+
+    @Override
+    public Iterator<Prisoner> iterator() {
+        Iterator<Prisoner> it = prisoners.iterator();
+        return new Iterator<Prisoner>() {
+            private Prisoner last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Prisoner next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                indexRemove(last);
+                last = null;
+            }
+        };
+    }
+
+    // --- Поиск по индексам ---
+    public MyView<Prisoner> findByName(String fullName) {
+        return byName.get(fullName);
+    }
+
+    public MyView<Prisoner> findByNamePrefix(String prefix, int limit) {
+        return namePrefix.startingWith(prefix, limit);
+    }
+
+    public MyView<Prisoner> findBySimilarName(String fullName, int maxDistance) {
+        return nameFuzzy.similar(fullName, maxDistance);
+    }
+
+    public MyView<Prisoner> findPossibleDuplicates(Prisoner prisoner, int maxDistance) {
+        MyLinkedList<Prisoner> result = new MyLinkedList<>();
+        String name = normalize(prisoner.getFullName());
+        if (name == null)
+            return MyView.of(result);
+        List<Prisoner> matches = new ArrayList<>();
+        Map<Prisoner, Integer> distances = new HashMap<>();
+        for (Prisoner candidate : byBirthDay.get(prisoner.getBirthDay())) {
+            String other = normalize(candidate.getFullName());
+            if (other == null || candidate.equals(prisoner))
+                continue;
+            int distance = MyTrigramIndex.boundedDistance(name, other, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(candidate);
+                distances.put(candidate, distance);
+            }
+        }
+        matches.sort(Comparator.<Prisoner>comparingInt(distances::get)
+                .thenComparing(p -> normalize(p.getFullName())));
+        for (Prisoner match : matches)
+            result.add(match);
+        return MyView.of(result);
+    }
+
+    public MyView<Prisoner> findByEyeColor(String eyeColor) {
+        return byEyeColor.get(normalize(eyeColor));
+    }
+
+    public MyView<Prisoner> findByBirthYear(int year) {
+        return byBirthYear.get(year);
+    }
+
+    public MyView<Prisoner> findByHeight(int height) {
+        return byHeight.get(height);
+    }
+
+    public MyView<Prisoner> findByFeature(String feature) {
+        return byFeature.get(feature);
+    }
+
+    public MyView<Prisoner> findByStatus(boolean released) {
+        return byReleased.get(released);
+    }
+
+    public MyView<Prisoner> findByFeatureWords(String words) {
+        return featureText.all(words);
+    }
+
+    public MyView<Prisoner> findByAnyFeatureWord(String words) {
+        return featureText.any(words);
+    }
+
+    public MyView<Prisoner> findByFeaturePhrase(String phrase) {
+        return featureText.phrase(phrase);
+    }
+
+    // --- Поиск по битовым индексам ---
+    public MyView<Prisoner> findByAttributes(Collection<String> eyeColors, Boolean released,
+            Collection<String> featureWords) {
+        return ordinals.select(matchAttributes(eyeColors, released, featureWords));
+    }
+
+    public int countByAttributes(Collection<String> eyeColors, Boolean released, Collection<String> featureWords) {
+        return matchAttributes(eyeColors, released, featureWords).cardinality();
+    }
+
+    private MyBitmap matchAttributes(Collection<String> eyeColors, Boolean released, Collection<String> featureWords) {
+        MyBitmap result = ordinals.live();
+        if (!eyeColors.isEmpty()) {
+            MyBitmap anyColor = new MyBitmap();
+            for (String eyeColor : eyeColors)
+                anyColor = anyColor.or(eyeColorBits.get(normalize(eyeColor)));
+            result = result.and(anyColor);
+        }
+        if (released != null) {
+            MyBitmap releasedSet = releasedBits.get(true);
+            result = released ? result.and(releasedSet) : result.andNot(releasedSet);
+        }
+        for (String word : featureWords) {
+            for (String token : MyInvertedIndex.tokenize(word))
+                result = result.and(featureBits.get(token));
+        }
+        return result;
+    }
+
+    // --- Поиск по упорядоченным индексам ---
+    public MyView<Prisoner> findByHeightRange(int min, int max) {
+        return heightOrder.range(min, max);
+    }
+
+    public MyView<Prisoner> findByBirthDateRange(LocalDate from, LocalDate to) {
+        return birthDateOrder.range(from, to);
+    }
+
+    public MyView<Prisoner> findByDateInRange(LocalDate from, LocalDate to) {
+        return dateInOrder.range(from, to);
+    }
+
+    public MyView<Prisoner> findByDateOutRange(LocalDate from, LocalDate to) {
+        return dateOutOrder.range(from, to);
+    }
+
+    public MyView<Prisoner> sortedByHeight(boolean descending) {
+        return heightOrder.ordered(descending);
+    }
+
+    public MyView<Prisoner> sortedByBirthDate(boolean descending) {
+        return birthDateOrder.ordered(descending);
+    }
+
+    public MyView<Prisoner> sortedByDateIn(boolean descending) {
+        return dateInOrder.ordered(descending);
+    }
+
+    public MyView<Prisoner> sortedByDateOut(boolean descending) {
+        return dateOutOrder.ordered(descending);
+    }
+
+    // --- Поиск по срокам заключения ---
+    public MyView<Prisoner> findInCustodyOn(LocalDate date) {
+        return custody.on(date);
+    }
+
+    public MyView<Prisoner> findInCustodyDuring(LocalDate from, LocalDate to) {
+        return custody.overlapping(from, to);
+    }
+
+    // --- Запросы ---
+    public QueryResult query(String query) {
+        return query(PrisonerQuery.parse(query));
+    }
+
+    public QueryResult query(PrisonerQuery query) {
+        return new QueryPlanner(this).execute(query);
+    }
+
+    // --- Оценки для планировщика ---
+    int countByName(String fullName) {
+        return byName.count(fullName);
+    }
+
+    int countByNamePrefix(String prefix) {
+        return namePrefix.count(prefix);
+    }
+
+    int countByEyeColor(String eyeColor) {
+        return byEyeColor.count(normalize(eyeColor));
+    }
+
+    int countByHeight(int height) {
+        return byHeight.count(height);
+    }
+
+    int countByFeature(String feature) {
+        return byFeature.count(feature);
+    }
+
+    public PrisonerTable toTable() {
+        if (table == null)
+            table = PrisonerTable.of(prisoners);
+        return table;
+    }
+
+    // --- Работа с файлами ---
+    public void saveToFileSerialized(String filename) {
+        prisoners.saveToFileSerialized(filename);
+    }
+
+    public void saveToFileBinary(String filename) throws IOException {
+        PrisonerFile.write(filename, prisoners);
+    }
+
+    public void saveToFileText(String filename) {
+        prisoners.saveToFileText(filename);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package prisoners;
+
+import container.MyLinkedList;
+import java.time.LocalDate;
+import java.util.*;
+
+public class PrisonerTable implements Iterable<Prisoner> {
+    public static final int NULL_DAY = Prisoner.NULL_DAY;
+    private static final int BYTE_CODES = 256;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] birthDays = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+    private byte[] eyeCodes = new byte[INITIAL_CAPACITY];
+    private int[] wideEyeCodes;
+    private int[] dateIns = new int[INITIAL_CAPACITY];
+    private int[] dateOuts = new int[INITIAL_CAPACITY];
+    private int[] featureOffsets = new int[INITIAL_CAPACITY + 1];
+    private int[] featureCodes = new int[INITIAL_CAPACITY];
+
+    private final List<String> eyeDictionary = new ArrayList<>();
+    private final Map<String, Integer> eyeLookup = new HashMap<>();
+    private final List<String> featureDictionary = new ArrayList<>();
+    private final Map<String, Integer> featureLookup = new HashMap<>();
+
+    public static PrisonerTable of(Iterable<Prisoner> prisoners) {
+        PrisonerTable table = new PrisonerTable();
+        for (Prisoner prisoner : prisoners)
+            table.add(prisoner);
+        return table;
+    }
+
+    public void add(Prisoner prisoner) {
+        if (size == heights.length)
+            grow();
+        Integer eyeCode = eyeLookup.get(prisoner.getEyeColor());
+        if (eyeCode == null) {
+            eyeCode = eyeDictionary.size();
+            eyeDictionary.add(prisoner.getEyeColor());
+            eyeLookup.put(prisoner.getEyeColor(), eyeCode);
+            if (eyeCode == BYTE_CODES)
+                widenEyeCodes();
+        }
+
+        names[size] = prisoner.getFullName();
+        birthDays[size] = prisoner.getBirthDay();
+        heights[size] = prisoner.getHeight();
+        if (wideEyeCodes != null)
+            wideEyeCodes[size] = eyeCode;
+        else
+            eyeCodes[size] = (byte) eyeCode.intValue();
+        dateIns[size] = prisoner.getDayIn();
+        dateOuts[size] = prisoner.getDayOut();
+
+        int offset = featureOffsets[size];
+        int featureCount = prisoner.featureCount();
+        if (offset + featureCount > featureCodes.length)
+            featureCodes = Arrays.copyOf(featureCodes, Math.max(featureCodes.length * 2, offset + featureCount));
+        for (int i = 0; i < featureCount; i++) {
+            String feature = prisoner.featureAt(i);
+            Integer code = featureLookup.get(feature);
+            if (code == null) {
+                code = featureDictionary.size();
+                featureDictionary.add(feature);
+                featureLookup.put(feature, code);
+            }
+            featureCodes[offset++] = code;
+        }
+        featureOffsets[++size] = offset;
+    }
+
+    private void grow() {
+        int capacity = heights.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        if (wideEyeCodes != null)
+            wideEyeCodes = Arrays.copyOf(wideEyeCodes, capacity);
+        else
+            eyeCodes = Arrays.copyOf(eyeCodes, capacity);
+        dateIns = Arrays.copyOf(dateIns, capacity);
+        dateOuts = Arrays.copyOf(dateOuts, capacity);
+        featureOffsets = Arrays.copyOf(featureOffsets, capacity + 1);
+    }
+
+    private void widenEyeCodes() {
+        wideEyeCodes = new int[heights.length];
+        for (int row = 0; row < size; row++)
+            wideEyeCodes[row] = eyeCodes[row] & 0xFF;
+        eyeCodes = null;
+    }
+
+    private int eyeCode(int row) {
+        return wideEyeCodes != null ? wideEyeCodes[row] : eyeCodes[row] & 0xFF;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Prisoner get(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        List<String> features = new ArrayList<>(featureOffsets[row + 1] - featureOffsets[row]);
+        for (int i = featureOffsets[row]; i < featureOffsets[row + 1]; i++)
+            features.add(featureDictionary.get(featureCodes[i]));
+        return new Prisoner(names[row], Prisoner.toDate(birthDays[row]), heights[row], eyeDictionary.get(eyeCode(row)),
+                features, Prisoner.toDate(dateIns[row]), Prisoner.toDate(dateOuts[row]));
+    }
+
+    @Override
+    public Iterator<Prisoner> iterator() {
+        return new Iterator<Prisoner>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < size;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (row >= size)
+                    throw new NoSuchElementException();
+                return get(row++);
+            }
+        };
+    }
+
+    public Scan scan() {
+        return new Scan();
+    }
+
+    public final class Scan {
+        private final long[] mask;
+
+        private Scan() {
+            mask = ScanKernels.all(size);
+        }
+
+        public Scan heightBetween(int min, int max) {
+            ScanKernels.andBetween(heights, size, min, max, mask);
+            return this;
+        }
+
+        public Scan heightEquals(int height) {
+            ScanKernels.andEquals(heights, size, height, true, mask);
+            return this;
+        }
+
+        public Scan eyeColor(String eyeColor) {
+            long[] accepted = new long[eyeDictionary.size()];
+            for (int code = 0; code < eyeDictionary.size(); code++) {
+                String color = eyeDictionary.get(code);
+                boolean match = color == null ? eyeColor == null : color.equalsIgnoreCase(eyeColor);
+                accepted[code] = match ? 1 : 0;
+            }
+            if (wideEyeCodes != null)
+                ScanKernels.andLookup(wideEyeCodes, size, accepted, mask);
+            else
+                ScanKernels.andLookup(eyeCodes, size, accepted, mask);
+            return this;
+        }
+
+        public Scan bornBetween(LocalDate from, LocalDate to) {
+            return dayBetween(birthDays, from, to);
+        }
+
+        public Scan imprisonedBetween(LocalDate from, LocalDate to) {
+            return dayBetween(dateIns, from, to);
+        }
+
+        public Scan releasedBetween(LocalDate from, LocalDate to) {
+            return dayBetween(dateOuts, from, to);
+        }
+
+        private Scan dayBetween(int[] column, LocalDate from, LocalDate to) {
+            int min = from == null ? NULL_DAY + 1 : Prisoner.toDay(from);
+            int max = to == null ? Integer.MAX_VALUE : Prisoner.toDay(to);
+            ScanKernels.andBetween(column, size, min, max, mask);
+            return this;
+        }
+
+        public Scan inCustodyOn(LocalDate date) {
+            int day = Prisoner.toDay(date);
+            ScanKernels.andBetween(dateIns, size, NULL_DAY + 1, day, mask);
+            ScanKernels.andAtLeastOr(dateOuts, size, day, NULL_DAY, mask);
+            return this;
+        }
+
+        public Scan released(boolean released) {
+            ScanKernels.andEquals(dateOuts, size, NULL_DAY, !released, mask);
+            return this;
+        }
+
+        public Scan hasFeature(String feature) {
+            Integer code = featureLookup.get(feature);
+            if (code == null) {
+                Arrays.fill(mask, 0);
+                return this;
+            }
+            int wanted = code;
+            for (int w = 0; w < mask.length; w++) {
+                for (long word = mask[w]; word != 0; word &= word - 1) {
+                    int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                    boolean found = false;
+                    for (int k = featureOffsets[row]; k < featureOffsets[row + 1] && !found; k++)
+                        found = featureCodes[k] == wanted;
+                    if (!found)
+                        mask[w] &= ~(1L << row);
+                }
+            }
+            return this;
+        }
+
+        // --- Терминальные операции ---
+        public int count() {
+            return ScanKernels.count(mask);
+        }
+
+        public int[] rows() {
+            return ScanKernels.rows(mask);
+        }
+
+        public double averageHeight() {
+            int count = 0;
+            long sum = 0;
+            for (int w = 0; w < mask.length; w++) {
+                for (long word = mask[w]; word != 0; word &= word - 1) {
+                    sum += heights[(w << 6) + Long.numberOfTrailingZeros(word)];
+                    count++;
+                }
+            }
+            return count == 0 ? Double.NaN : (double) sum / count;
+        }
+
+        public Map<String, Integer> countByEyeColor() {
+            int[] counts = new int[eyeDictionary.size()];
+            for (int row : rows())
+                counts[eyeCode(row)]++;
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0)
+                    result.put(eyeDictionary.get(code), counts[code]);
+            }
+            return result;
+        }
+
+        public Map<String, Integer> countByFeature() {
+            int[] counts = new int[featureDictionary.size()];
+            for (int row : rows()) {
+                for (int k = featureOffsets[row]; k < featureOffsets[row + 1]; k++)
+                    counts[featureCodes[k]]++;
+            }
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0)
+                    result.put(featureDictionary.get(code), counts[code]);
+            }
+            return result;
+        }
+
+        public MyLinkedList<Prisoner> toList() {
+            MyLinkedList<Prisoner> result = new MyLinkedList<>();
+            for (int row : rows())
+                result.add(get(row));
+            return result;
+        }
+    }
+}
\ No newline at end of file
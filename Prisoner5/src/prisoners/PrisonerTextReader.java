@@ -0,0 +1,121 @@
+package prisoners;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class PrisonerTextReader implements Iterator<Prisoner>, Closeable {
+    private final BufferedReader reader;
+    private Prisoner next;
+    private boolean finished;
+
+    public PrisonerTextReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    public static PrisonerTextReader open(String filename) throws IOException {
+        return new PrisonerTextReader(new FileReader(filename));
+    }
+
+    public static void forEach(String filename, Consumer<? super Prisoner> action) throws IOException {
+        try (PrisonerTextReader reader = open(filename)) {
+            while (reader.hasNext())
+                action.accept(reader.next());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Prisoner next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Prisoner prisoner = next;
+        next = null;
+        return prisoner;
+    }
+
+    public Stream<Prisoner> stream() {
+        Spliterator<Prisoner> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        next = null;
+        reader.close();
+    }
+
+    private Prisoner readRecord() throws IOException {
+        String line;
+        String name = null;
+        LocalDate birth = null;
+        int height = 0;
+        String eyes = null;
+        List<String> features = new ArrayList<>();
+        LocalDate dateIn = null;
+        LocalDate dateOut = null;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                if (name != null)
+                    return new Prisoner(name, birth, height, eyes, features, dateIn, dateOut);
+                birth = null;
+                height = 0;
+                eyes = null;
+                features = new ArrayList<>();
+                dateIn = null;
+                dateOut = null;
+                continue;
+            }
+
+            if (line.startsWith("Name:")) {
+                name = line.substring(5).trim();
+            } else if (line.startsWith("Birth:")) {
+                birth = LocalDate.parse(line.substring(6).trim());
+            } else if (line.startsWith("Height:")) {
+                height = Integer.parseInt(line.substring(7).replace("cm", "").trim());
+            } else if (line.startsWith("Eyes:")) {
+                eyes = line.substring(5).trim();
+            } else if (line.startsWith("Features:")) {
+                String feat = line.substring(9).trim();
+                if (feat.startsWith("[") && feat.endsWith("]"))
+                    feat = feat.substring(1, feat.length() - 1);
+                features = feat.isEmpty() ? new ArrayList<>() : Arrays.asList(feat.split(",\\s*"));
+            } else if (line.startsWith("Imprisoned:")) {
+                dateIn = LocalDate.parse(line.substring(11).trim());
+            } else if (line.startsWith("Released:")) {
+                String val = line.substring(9).trim();
+                dateOut = val.equals("N/A") ? null : LocalDate.parse(val);
+            }
+        }
+
+        // Последний объект, если файл не оканчивается пустой строкой
+        return name != null ? new Prisoner(name, birth, height, eyes, features, dateIn, dateOut) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package prisoners;
+
+import container.MyLinkedList;
+
+public final class QueryResult {
+    private final MyLinkedList<Prisoner> rows;
+    private final int rowsExamined;
+    private final String plan;
+
+    QueryResult(MyLinkedList<Prisoner> rows, int rowsExamined, String plan) {
+        this.rows = rows;
+        this.rowsExamined = rowsExamined;
+        this.plan = plan;
+    }
+
+    public MyLinkedList<Prisoner> getRows() {
+        return rows;
+    }
+
+    public int getRowsExamined() {
+        return rowsExamined;
+    }
+
+    public String explain() {
+        return plan;
+    }
+}
\ No newline at end of file
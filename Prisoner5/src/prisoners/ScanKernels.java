@@ -0,0 +1,113 @@
+package prisoners;
+
+import java.util.*;
+
+final class ScanKernels {
+    private ScanKernels() {
+    }
+
+    static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    static long[] all(int size) {
+        long[] mask = new long[words(size)];
+        Arrays.fill(mask, -1L);
+        if ((size & 63) != 0)
+            mask[mask.length - 1] = (1L << size) - 1;
+        return mask;
+    }
+
+    static void andBetween(int[] column, int size, int min, int max, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long outside = (v - min) | (max - v);
+                bits |= (~outside >>> 63) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    static void andAtLeastOr(int[] column, int size, int min, int orValue, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long below = (v - min) >>> 63;
+                long differs = ((v - orValue) | (orValue - v)) >>> 63;
+                bits |= (1 - (below & differs)) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    static void andEquals(int[] column, int size, int value, boolean equal, long[] mask) {
+        long flip = equal ? 0 : 1;
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long differs = ((v - value) | (value - v)) >>> 63;
+                bits |= ((differs ^ 1) ^ flip) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    static void andLookup(byte[] codes, int size, long[] accepted, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++)
+                bits |= accepted[codes[base + i] & 0xFF] << i;
+            mask[w] &= bits;
+        }
+    }
+
+    static void andLookup(int[] codes, int size, long[] accepted, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++)
+                bits |= accepted[codes[base + i]] << i;
+            mask[w] &= bits;
+        }
+    }
+
+    static int count(long[] mask) {
+        int count = 0;
+        for (long word : mask)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    static int[] rows(long[] mask) {
+        int[] rows = new int[count(mask)];
+        int n = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long word = mask[w]; word != 0; word &= word - 1)
+                rows[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package prisoners;
+
+import container.MyInvertedIndex;
+import container.MyView;
+import java.util.function.Function;
+
+class TextIndex implements PrisonerIndex {
+    private final MyInvertedIndex<Prisoner> index;
+
+    TextIndex(Function<Prisoner, ? extends Iterable<String>> fields) {
+        this.index = new MyInvertedIndex<>(fields);
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        index.add(prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        index.remove(prisoner);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    MyView<Prisoner> all(String query) {
+        return MyView.of(index.all(query));
+    }
+
+    MyView<Prisoner> any(String query) {
+        return MyView.of(index.any(query));
+    }
+
+    MyView<Prisoner> phrase(String query) {
+        return MyView.of(index.phrase(query));
+    }
+}
\ No newline at end of file
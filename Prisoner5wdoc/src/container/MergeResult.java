@@ -0,0 +1,66 @@
+package container;
+
+/**
+ * Итог слияния коллекции записей в список без дубликатов.
+ * 
+ * @version 1.0
+ */
+public final class MergeResult {
+    /** Количество добавленных записей */
+    private final int added;
+    /** Количество записей, полностью совпавших с уже имеющимися */
+    private final int duplicates;
+    /** Количество записей с существующим ключом, но другими данными */
+    private final int conflicts;
+
+    /**
+     * Создает итог слияния.
+     * 
+     * @param added      количество добавленных записей
+     * @param duplicates количество дубликатов
+     * @param conflicts  количество конфликтующих записей
+     */
+    public MergeResult(int added, int duplicates, int conflicts) {
+        this.added = added;
+        this.duplicates = duplicates;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Возвращает количество добавленных записей.
+     * 
+     * @return количество добавленных записей
+     */
+    public int getAdded() {
+        return added;
+    }
+
+    /**
+     * Возвращает количество записей, полностью совпавших с уже имеющимися.
+     * 
+     * @return количество дубликатов
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Возвращает количество записей, ключ которых уже есть в списке,
+     * но данные отличаются. Такие записи не добавляются.
+     * 
+     * @return количество конфликтующих записей
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Возвращает строковое представление итога слияния.
+     * 
+     * @return строковое представление
+     */
+    @Override
+    public String toString() {
+        return "added=" + added + ", duplicates=" + duplicates + ", conflicts=" + conflicts;
+    }
+}
\ No newline at end of file
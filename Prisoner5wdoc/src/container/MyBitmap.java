@@ -0,0 +1,665 @@
+package container;
+
+import java.util.*;
+
+/**
+ * Сжатое битовое множество неотрицательных целых чисел в стиле Roaring.
+ * Старшие 16 бит числа выбирают контейнер, младшие 16 бит хранятся в нем.
+ * Разреженный контейнер (до {@value #ARRAY_MAX} значений) - отсортированный
+ * массив {@code char[]}, плотный - битовая карта из {@value #BITMAP_WORDS}
+ * слов {@code long}. Вид контейнера меняется автоматически: разреженный
+ * становится плотным, когда значений больше {@value #ARRAY_MAX}, а плотный
+ * при удалениях становится разреженным только при {@value #BITMAP_MIN}
+ * значениях, чтобы чередование вставок и удалений у порога не пересоздавало
+ * контейнер на каждом вызове. Поэтому памяти требуется не больше 4 байт на
+ * значение и не больше 8 КБ на контейнер.
+ * Операции {@link #and}, {@link #or} и {@link #andNot} не изменяют
+ * аргументы и возвращают новое множество; пересечение плотных контейнеров
+ * выполняется пословно, разреженного с плотным - проверкой битов.
+ * 
+ * @version 1.0
+ */
+public class MyBitmap implements Iterable<Integer> {
+    /** Наибольшее количество значений в разреженном контейнере */
+    private static final int ARRAY_MAX = 4096;
+    /** Количество значений, при котором плотный контейнер при удалении становится разреженным */
+    private static final int BITMAP_MIN = ARRAY_MAX / 2;
+    /** Количество слов в плотном контейнере (65536 бит) */
+    private static final int BITMAP_WORDS = 1024;
+
+    /** Старшие 16 бит по возрастанию */
+    private char[] keys = new char[4];
+    /** Контейнеры в порядке ключей */
+    private Container[] containers = new Container[4];
+    /** Количество непустых контейнеров */
+    private int count;
+
+    /**
+     * Контейнер младших 16 бит значений с одинаковыми старшими битами.
+     */
+    private abstract static class Container {
+        /**
+         * Возвращает количество значений.
+         * 
+         * @return количество значений
+         */
+        abstract int cardinality();
+
+        /**
+         * Проверяет наличие значения.
+         * 
+         * @param value младшие 16 бит
+         * @return {@code true} если значение есть
+         */
+        abstract boolean contains(char value);
+
+        /**
+         * Добавляет значение.
+         * 
+         * @param value младшие 16 бит
+         * @return этот или новый (преобразованный) контейнер
+         */
+        abstract Container add(char value);
+
+        /**
+         * Удаляет значение.
+         * 
+         * @param value младшие 16 бит
+         * @return этот или новый (преобразованный) контейнер
+         */
+        abstract Container remove(char value);
+
+        /**
+         * Возвращает независимую копию.
+         * 
+         * @return копия контейнера
+         */
+        abstract Container copy();
+
+        /**
+         * Возвращает итератор значений по возрастанию.
+         * 
+         * @return итератор младших 16 бит
+         */
+        abstract PrimitiveIterator.OfInt values();
+    }
+
+    /**
+     * Разреженный контейнер: отсортированный массив значений.
+     */
+    private static final class ArrayContainer extends Container {
+        /** Значения по возрастанию, заняты ячейки с 0 по {@code size - 1} */
+        char[] values;
+        /** Количество значений */
+        int size;
+
+        /**
+         * Создает пустой контейнер указанной емкости.
+         * 
+         * @param capacity начальная емкость
+         */
+        ArrayContainer(int capacity) {
+            values = new char[Math.max(capacity, 4)];
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos >= 0)
+                return this;
+            if (size == ARRAY_MAX)
+                return toBitmap().add(value);
+            pos = -pos - 1;
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            values[pos] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos >= 0) {
+                System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer(0);
+            copy.values = Arrays.copyOf(values, Math.max(size, 4));
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt values() {
+            return new PrimitiveIterator.OfInt() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (index >= size)
+                        throw new NoSuchElementException();
+                    return values[index++];
+                }
+            };
+        }
+
+        /**
+         * Добавляет значение, заведомо большее всех имеющихся.
+         * 
+         * @param value младшие 16 бит
+         */
+        void append(char value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            values[size++] = value;
+        }
+
+        /**
+         * Преобразует контейнер в плотный.
+         * 
+         * @return плотный контейнер с теми же значениями
+         */
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++)
+                bitmap.set(values[i]);
+            return bitmap;
+        }
+    }
+
+    /**
+     * Плотный контейнер: битовая карта на 65536 значений.
+     */
+    private static final class BitmapContainer extends Container {
+        /** Биты значений */
+        final long[] words = new long[BITMAP_WORDS];
+        /** Количество установленных битов */
+        int cardinality;
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long word = words[value >>> 6];
+            long cleared = word & ~(1L << value);
+            if (cleared != word) {
+                words[value >>> 6] = cleared;
+                cardinality--;
+            }
+            return cardinality <= BITMAP_MIN ? toArray() : this;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, BITMAP_WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt values() {
+            return new PrimitiveIterator.OfInt() {
+                private int wordIndex;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0 && wordIndex < BITMAP_WORDS - 1)
+                        word = words[++wordIndex];
+                    return word != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    int value = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return value;
+                }
+            };
+        }
+
+        /**
+         * Устанавливает бит значения.
+         * 
+         * @param value младшие 16 бит
+         */
+        void set(char value) {
+            long word = words[value >>> 6];
+            long updated = word | (1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+        }
+
+        /**
+         * Пересчитывает количество битов после пословной операции и
+         * преобразует контейнер в разреженный, если значений мало.
+         * 
+         * @return этот или разреженный контейнер
+         */
+        Container normalize() {
+            int bits = 0;
+            for (long word : words)
+                bits += Long.bitCount(word);
+            cardinality = bits;
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        /**
+         * Преобразует контейнер в разреженный.
+         * 
+         * @return разреженный контейнер с теми же значениями
+         */
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer(cardinality);
+            for (PrimitiveIterator.OfInt it = values(); it.hasNext();)
+                array.append((char) it.nextInt());
+            return array;
+        }
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет значение.
+     * 
+     * @param value неотрицательное число
+     * @return {@code true} если значения еще не было
+     * @throws IllegalArgumentException если значение отрицательно
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int pos = find(key);
+        if (pos < 0) {
+            pos = -pos - 1;
+            insertContainer(pos, key, new ArrayContainer(4));
+        }
+        Container container = containers[pos];
+        int before = container.cardinality();
+        containers[pos] = container.add((char) value);
+        return containers[pos].cardinality() != before;
+    }
+
+    /**
+     * Удаляет значение.
+     * 
+     * @param value число
+     * @return {@code true} если значение было
+     */
+    public boolean remove(int value) {
+        if (value < 0)
+            return false;
+        int pos = find((char) (value >>> 16));
+        if (pos < 0)
+            return false;
+        Container container = containers[pos];
+        int before = container.cardinality();
+        container = container.remove((char) value);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, count - pos - 1);
+            System.arraycopy(containers, pos + 1, containers, pos, count - pos - 1);
+            containers[--count] = null;
+        } else {
+            containers[pos] = container;
+        }
+        return container.cardinality() != before;
+    }
+
+    /**
+     * Удаляет все значения.
+     */
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        count = 0;
+    }
+
+    // --- Запросы ---
+
+    /**
+     * Проверяет наличие значения.
+     * 
+     * @param value число
+     * @return {@code true} если значение есть
+     */
+    public boolean contains(int value) {
+        if (value < 0)
+            return false;
+        int pos = find((char) (value >>> 16));
+        return pos >= 0 && containers[pos].contains((char) value);
+    }
+
+    /**
+     * Возвращает количество значений за время, пропорциональное количеству
+     * контейнеров.
+     * 
+     * @return количество значений
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < count; i++)
+            total += containers[i].cardinality();
+        return total;
+    }
+
+    /**
+     * Проверяет, пусто ли множество.
+     * 
+     * @return {@code true} если значений нет
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // --- Операции над множествами ---
+
+    /**
+     * Возвращает пересечение множеств (И).
+     * 
+     * @param other второе множество
+     * @return новое множество
+     */
+    public MyBitmap and(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < count && j < other.count) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает объединение множеств (ИЛИ).
+     * 
+     * @param other второе множество
+     * @return новое множество
+     */
+    public MyBitmap or(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < count || j < other.count) {
+            if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == count || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает разность множеств (И НЕ): значения этого множества,
+     * которых нет во втором.
+     * 
+     * @param other вычитаемое множество
+     * @return новое множество
+     */
+    public MyBitmap andNot(MyBitmap other) {
+        MyBitmap result = new MyBitmap();
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < other.count && other.keys[j] < keys[i])
+                j++;
+            if (j < other.count && other.keys[j] == keys[i])
+                result.append(keys[i], andNot(containers[i], other.containers[j]));
+            else
+                result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Пересекает два контейнера.
+     * 
+     * @param a первый контейнер
+     * @param b второй контейнер
+     * @return новый контейнер
+     */
+    private static Container and(Container a, Container b) {
+        if (a instanceof BitmapContainer && b instanceof BitmapContainer) {
+            BitmapContainer result = new BitmapContainer();
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] = x[k] & y[k];
+            return result.normalize();
+        }
+        if (a instanceof BitmapContainer)
+            return and(b, a);
+        ArrayContainer array = (ArrayContainer) a;
+        ArrayContainer result = new ArrayContainer(Math.min(array.size, b.cardinality()));
+        if (b instanceof BitmapContainer) {
+            for (int k = 0; k < array.size; k++) {
+                if (b.contains(array.values[k]))
+                    result.append(array.values[k]);
+            }
+            return result;
+        }
+        ArrayContainer other = (ArrayContainer) b;
+        int i = 0;
+        int j = 0;
+        while (i < array.size && j < other.size) {
+            if (array.values[i] < other.values[j]) {
+                i++;
+            } else if (array.values[i] > other.values[j]) {
+                j++;
+            } else {
+                result.append(array.values[i]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Объединяет два контейнера.
+     * 
+     * @param a первый контейнер
+     * @param b второй контейнер
+     * @return новый контейнер
+     */
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            ArrayContainer result = new ArrayContainer(x.size + y.size);
+            int i = 0;
+            int j = 0;
+            while (i < x.size || j < y.size) {
+                if (j == y.size || (i < x.size && x.values[i] < y.values[j])) {
+                    result.append(x.values[i++]);
+                } else if (i == x.size || x.values[i] > y.values[j]) {
+                    result.append(y.values[j++]);
+                } else {
+                    result.append(x.values[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+        BitmapContainer result = a instanceof BitmapContainer
+                ? (BitmapContainer) a.copy() : ((ArrayContainer) a).toBitmap();
+        if (b instanceof BitmapContainer) {
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] |= y[k];
+        } else {
+            ArrayContainer y = (ArrayContainer) b;
+            for (int k = 0; k < y.size; k++)
+                result.words[y.values[k] >>> 6] |= 1L << y.values[k];
+        }
+        return result.normalize();
+    }
+
+    /**
+     * Вычитает второй контейнер из первого.
+     * 
+     * @param a уменьшаемый контейнер
+     * @param b вычитаемый контейнер
+     * @return новый контейнер
+     */
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) a;
+            ArrayContainer result = new ArrayContainer(array.size);
+            for (int k = 0; k < array.size; k++) {
+                if (!b.contains(array.values[k]))
+                    result.append(array.values[k]);
+            }
+            return result;
+        }
+        BitmapContainer result = (BitmapContainer) a.copy();
+        if (b instanceof BitmapContainer) {
+            long[] y = ((BitmapContainer) b).words;
+            for (int k = 0; k < BITMAP_WORDS; k++)
+                result.words[k] &= ~y[k];
+        } else {
+            ArrayContainer y = (ArrayContainer) b;
+            for (int k = 0; k < y.size; k++)
+                result.words[y.values[k] >>> 6] &= ~(1L << y.values[k]);
+        }
+        return result.normalize();
+    }
+
+    // --- Работа с контейнерами ---
+
+    /**
+     * Проверяет, что значение можно хранить.
+     * 
+     * @param value число
+     * @throws IllegalArgumentException если значение отрицательно
+     */
+    private static void checkValue(int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Negative value: " + value);
+    }
+
+    /**
+     * Ищет контейнер по старшим битам.
+     * 
+     * @param key старшие 16 бит
+     * @return позиция контейнера или {@code -(точка вставки) - 1}
+     */
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, count, key);
+    }
+
+    /**
+     * Вставляет контейнер в указанную позицию.
+     * 
+     * @param pos       позиция
+     * @param key       старшие 16 бит
+     * @param container контейнер
+     */
+    private void insertContainer(int pos, char key, Container container) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            containers = Arrays.copyOf(containers, count * 2);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, count - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, count - pos);
+        keys[pos] = key;
+        containers[pos] = container;
+        count++;
+    }
+
+    /**
+     * Добавляет непустой контейнер с ключом, большим всех имеющихся.
+     * 
+     * @param key       старшие 16 бит
+     * @param container контейнер
+     */
+    private void append(char key, Container container) {
+        if (container.cardinality() > 0)
+            insertContainer(count, key, container);
+    }
+
+    // --- Итератор ---
+
+    /**
+     * Возвращает итератор значений по возрастанию.
+     * 
+     * @return итератор значений
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private PrimitiveIterator.OfInt current = count > 0 ? containers[0].values() : null;
+
+            @Override
+            public boolean hasNext() {
+                while (current != null && !current.hasNext())
+                    current = ++index < count ? containers[index].values() : null;
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return (keys[index] << 16) | current.nextInt();
+            }
+        };
+    }
+}
\ No newline at end of file
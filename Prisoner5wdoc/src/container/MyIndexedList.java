@@ -0,0 +1,433 @@
+package container;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Индексируемый список на основе списка с пропусками (skip list), в котором
+ * каждая ссылка хранит длину пропускаемого участка.
+ * Доступ по индексу, вставка и удаление по индексу выполняются в среднем
+ * за O(log n), обход итератором - за O(n).
+ * 
+ * @param <T> тип элементов в списке
+ * @version 1.0
+ */
+public class MyIndexedList<T> implements Serializable, Iterable<T> {
+    /** Версия для сериализации */
+    private static final long serialVersionUID = 1L;
+
+    /** Максимальное количество уровней */
+    private static final int MAX_LEVEL = 32;
+    /** Узел переходит на следующий уровень с вероятностью 1/LEVEL_FACTOR */
+    private static final int LEVEL_FACTOR = 4;
+
+    /** Заглавный узел без данных, имеет все уровни */
+    private transient Node<T> head;
+    /** Текущее количество используемых уровней */
+    private transient int level;
+    /** Количество элементов в списке */
+    private transient int size;
+
+    /**
+     * Внутренний класс для представления узла списка с пропусками.
+     * 
+     * @param <T> тип данных в узле
+     */
+    private static class Node<T> {
+        /** Данные узла */
+        T data;
+        /** Ссылки на следующие узлы по уровням */
+        final Node<T>[] next;
+        /** Количество шагов нижнего уровня до следующего узла по уровням */
+        final int[] span;
+
+        /**
+         * Создает узел с указанными данными и количеством уровней.
+         * 
+         * @param data   данные узла
+         * @param levels количество уровней узла
+         */
+        Node(T data, int levels) {
+            this.data = data;
+            this.next = array(levels);
+            this.span = new int[levels];
+        }
+
+        /**
+         * Создает массив ссылок на узлы.
+         * 
+         * @param <T>    тип данных в узлах
+         * @param length длина массива
+         * @return массив из {@code null}
+         */
+        @SuppressWarnings("unchecked")
+        static <T> Node<T>[] array(int length) {
+            return (Node<T>[]) new Node<?>[length];
+        }
+    }
+
+    /**
+     * Создает пустой список.
+     */
+    public MyIndexedList() {
+        init();
+    }
+
+    /**
+     * Сбрасывает внутреннюю структуру в пустое состояние.
+     */
+    private void init() {
+        head = new Node<>(null, MAX_LEVEL);
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     * 
+     * @param element элемент для добавления
+     */
+    public void add(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Вставляет элемент в указанную позицию за O(log n).
+     * 
+     * @param index   позиция вставки (от 0 до {@code size()} включительно)
+     * @param element элемент для вставки
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        Node<T>[] update = Node.array(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] < index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            update[lvl] = x;
+            rank[lvl] = pos;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int lvl = level; lvl < newLevel; lvl++) {
+                update[lvl] = head;
+                rank[lvl] = -1;
+                head.span[lvl] = size + 1;
+            }
+            level = newLevel;
+        }
+
+        Node<T> node = new Node<>(element, newLevel);
+        for (int lvl = 0; lvl < newLevel; lvl++) {
+            int before = index - rank[lvl];
+            node.next[lvl] = update[lvl].next[lvl];
+            node.span[lvl] = update[lvl].span[lvl] - before + 1;
+            update[lvl].next[lvl] = node;
+            update[lvl].span[lvl] = before;
+        }
+        for (int lvl = newLevel; lvl < level; lvl++)
+            update[lvl].span[lvl]++;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу за O(log n).
+     * 
+     * @param index индекс элемента (отсчет с 0)
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    public T get(int index) {
+        checkIndex(index);
+        return node(index).data;
+    }
+
+    /**
+     * Заменяет элемент по указанному индексу.
+     * 
+     * @param index   индекс элемента (отсчет с 0)
+     * @param element новый элемент
+     * @return предыдущий элемент
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    public T set(int index, T element) {
+        checkIndex(index);
+        Node<T> node = node(index);
+        T old = node.data;
+        node.data = element;
+        return old;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу за O(log n).
+     * 
+     * @param index индекс элемента для удаления (отсчет с 0)
+     * @return {@code true} если элемент был удален, иначе {@code false}
+     */
+    public boolean remove(int index) {
+        if (index < 0 || index >= size)
+            return false;
+
+        Node<T>[] update = Node.array(MAX_LEVEL);
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] < index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            update[lvl] = x;
+        }
+
+        Node<T> target = x.next[0];
+        for (int lvl = 0; lvl < level; lvl++) {
+            if (update[lvl].next[lvl] == target) {
+                update[lvl].span[lvl] += target.span[lvl] - 1;
+                update[lvl].next[lvl] = target.next[lvl];
+            } else {
+                update[lvl].span[lvl]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+        size--;
+        return true;
+    }
+
+    /**
+     * Удаляет первое вхождение указанного элемента из списка.
+     * Поиск элемента линейный, само удаление - за O(log n).
+     * 
+     * @param element элемент для удаления
+     * @return {@code true} если элемент был найден и удален, иначе {@code false}
+     */
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        return index >= 0 && remove(index);
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента.
+     * 
+     * @param element элемент для поиска
+     * @return индекс элемента или -1, если элемент не найден
+     */
+    public int indexOf(T element) {
+        int index = 0;
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0]) {
+            if (current.data.equals(element))
+                return index;
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, содержит ли список указанный элемент.
+     * 
+     * @param element элемент для поиска
+     * @return {@code true} если элемент найден, иначе {@code false}
+     */
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Удаляет все элементы из списка.
+     */
+    public void clear() {
+        init();
+    }
+
+    /**
+     * Возвращает количество элементов в списке.
+     * 
+     * @return размер списка
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     * 
+     * @return {@code true} если список пуст, иначе {@code false}
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка.
+     * 
+     * @return массив элементов
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0])
+            array[index++] = current.data;
+        return array;
+    }
+
+    /**
+     * Проверяет, что индекс указывает на существующий элемент.
+     * 
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Находит узел по индексу, спускаясь по уровням.
+     * 
+     * @param index проверенный индекс узла
+     * @return узел по указанному индексу
+     */
+    private Node<T> node(int index) {
+        Node<T> x = head;
+        int pos = -1;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (x.next[lvl] != null && pos + x.span[lvl] <= index) {
+                pos += x.span[lvl];
+                x = x.next[lvl];
+            }
+            if (pos == index)
+                return x;
+        }
+        return x;
+    }
+
+    /**
+     * Выбирает случайное количество уровней для нового узла.
+     * 
+     * @return количество уровней от 1 до {@link #MAX_LEVEL}
+     */
+    private static int randomLevel() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && random.nextInt(LEVEL_FACTOR) == 0)
+            lvl++;
+        return lvl;
+    }
+
+    // --- Сериализация объектов ---
+
+    /**
+     * Записывает размер списка и элементы плоским потоком,
+     * без рекурсивного обхода узлов.
+     * 
+     * @param out поток для записи объекта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0])
+            out.writeObject(current.data);
+    }
+
+    /**
+     * Восстанавливает список из потока, записанного {@link #writeObject}.
+     * 
+     * @param in поток для чтения объекта
+     * @throws IOException            при ошибке ввода-вывода
+     * @throws ClassNotFoundException если класс элемента не найден
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        init();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+            add((T) in.readObject());
+    }
+
+    /**
+     * Сохраняет список в бинарный файл через сериализацию.
+     * 
+     * @param filename имя файла для сохранения
+     */
+    public void saveToFileSerialized(String filename) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+            oos.writeObject(this);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Загружает список из бинарного файла через десериализацию.
+     * 
+     * @param <T>      тип элементов в списке
+     * @param filename имя файла для загрузки
+     * @return загруженный список или пустой список при ошибке
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MyIndexedList<T> loadFromFileSerialized(String filename) {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+            return (MyIndexedList<T>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return new MyIndexedList<>();
+        }
+    }
+
+    // --- Итератор ---
+
+    /**
+     * Возвращает итератор для обхода элементов списка.
+     * 
+     * @return итератор списка
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null)
+                    throw new NoSuchElementException();
+                T data = current.data;
+                current = current.next[0];
+                return data;
+            }
+        };
+    }
+
+    // --- Фильтр ---
+
+    /**
+     * Фильтрует список по указанному предикату.
+     * 
+     * @param predicate условие фильтрации
+     * @return новый список с элементами, удовлетворяющими условию
+     */
+    public MyIndexedList<T> filter(Predicate<T> predicate) {
+        MyIndexedList<T> result = new MyIndexedList<>();
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0]) {
+            if (predicate.test(current.data))
+                result.add(current.data);
+        }
+        return result;
+    }
+}
\ No newline at end of file
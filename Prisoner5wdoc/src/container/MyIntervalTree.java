@@ -0,0 +1,353 @@
+package container;
+
+/**
+ * Дерево интервалов: сбалансированное (AVL) дерево поиска по началу
+ * интервала, в каждом узле которого хранится наибольший конец интервала
+ * в поддереве. Это позволяет отсекать поддеревья, которые не могут
+ * пересекаться с запросом, и находить все интервалы, содержащие точку
+ * или пересекающие отрезок, за O(log n + k).
+ * Интервалы замкнутые: {@code [start, end]}. Открытый конец задается
+ * значением {@link Long#MAX_VALUE}. Значения с одинаковыми границами
+ * хранятся в одном узле.
+ * 
+ * @param <V> тип значения
+ * @version 1.0
+ */
+public class MyIntervalTree<V> {
+    /** Корень дерева */
+    private Node<V> root;
+    /** Общее количество значений */
+    private int size;
+
+    /**
+     * Узел дерева: интервал и все значения с этими границами.
+     * 
+     * @param <V> тип значения
+     */
+    private static final class Node<V> {
+        /** Начало интервала */
+        final long start;
+        /** Конец интервала */
+        final long end;
+        /** Значения с этими границами */
+        final MyLinkedList<V> values = new MyLinkedList<>(true);
+        /** Наибольший конец интервала в поддереве */
+        long maxEnd;
+        /** Высота поддерева */
+        int height = 1;
+        /** Левый потомок */
+        Node<V> left;
+        /** Правый потомок */
+        Node<V> right;
+
+        /**
+         * Создает узел для интервала.
+         * 
+         * @param start начало интервала
+         * @param end   конец интервала
+         */
+        Node(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Возвращает общее количество значений.
+     * 
+     * @return количество значений
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пусто ли дерево.
+     * 
+     * @return {@code true} если значений нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все интервалы.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет значение для интервала за O(log n).
+     * 
+     * @param start начало интервала
+     * @param end   конец интервала ({@link Long#MAX_VALUE} для открытого)
+     * @param value значение
+     * @return {@code true} если значение добавлено; {@code false} если такое
+     *         значение для этого интервала уже есть
+     * @throws IllegalArgumentException если конец меньше начала
+     */
+    public boolean add(long start, long end, V value) {
+        if (end < start)
+            throw new IllegalArgumentException("Interval end " + end + " is before start " + start);
+        int before = size;
+        root = insert(root, start, end, value);
+        return size != before;
+    }
+
+    /**
+     * Удаляет значение для интервала за O(log n).
+     * 
+     * @param start начало интервала
+     * @param end   конец интервала
+     * @param value значение
+     * @return {@code true} если значение было найдено и удалено
+     */
+    public boolean remove(long start, long end, V value) {
+        Node<V> node = find(start, end);
+        if (node == null || !node.values.remove(value))
+            return false;
+        size--;
+        if (node.values.isEmpty())
+            root = delete(root, start, end);
+        return true;
+    }
+
+    /**
+     * Рекурсивно вставляет значение, балансируя дерево.
+     * 
+     * @param node  корень поддерева
+     * @param start начало интервала
+     * @param end   конец интервала
+     * @param value значение
+     * @return новый корень поддерева
+     */
+    private Node<V> insert(Node<V> node, long start, long end, V value) {
+        if (node == null) {
+            Node<V> created = new Node<>(start, end);
+            created.values.add(value);
+            size++;
+            return created;
+        }
+        int cmp = compare(start, end, node);
+        if (cmp == 0) {
+            if (node.values.add(value))
+                size++;
+            return node;
+        }
+        if (cmp < 0)
+            node.left = insert(node.left, start, end, value);
+        else
+            node.right = insert(node.right, start, end, value);
+        return balance(node);
+    }
+
+    /**
+     * Рекурсивно удаляет узел с указанными границами.
+     * 
+     * @param node  корень поддерева
+     * @param start начало интервала
+     * @param end   конец интервала
+     * @return новый корень поддерева
+     */
+    private Node<V> delete(Node<V> node, long start, long end) {
+        if (node == null)
+            return null;
+        int cmp = compare(start, end, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, end);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, end);
+        } else {
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+            Node<V> successor = node.right;
+            while (successor.left != null)
+                successor = successor.left;
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    /**
+     * Удаляет самый левый узел поддерева.
+     * 
+     * @param node корень поддерева
+     * @return новый корень поддерева
+     */
+    private Node<V> deleteMin(Node<V> node) {
+        if (node.left == null)
+            return node.right;
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Находит узел с указанными границами.
+     * 
+     * @param start начало интервала
+     * @param end   конец интервала
+     * @return узел или {@code null}
+     */
+    private Node<V> find(long start, long end) {
+        Node<V> node = root;
+        while (node != null) {
+            int cmp = compare(start, end, node);
+            if (cmp == 0)
+                return node;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Сравнивает интервал с интервалом узла: сначала по началу, затем
+     * по концу.
+     * 
+     * @param start начало интервала
+     * @param end   конец интервала
+     * @param node  узел
+     * @return отрицательное число, ноль или положительное число
+     */
+    private static int compare(long start, long end, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(end, node.end);
+    }
+
+    // --- Балансировка ---
+
+    /**
+     * Возвращает высоту поддерева.
+     * 
+     * @param node корень поддерева или {@code null}
+     * @return высота
+     */
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Пересчитывает высоту и наибольший конец узла по потомкам.
+     * 
+     * @param node узел
+     */
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null && node.left.maxEnd > max)
+            max = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd > max)
+            max = node.right.maxEnd;
+        node.maxEnd = max;
+    }
+
+    /**
+     * Восстанавливает баланс узла поворотами.
+     * 
+     * @param node узел
+     * @return новый корень поддерева
+     */
+    private Node<V> balance(Node<V> node) {
+        update(node);
+        int diff = height(node.left) - height(node.right);
+        if (diff > 1) {
+            if (height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (diff < -1) {
+            if (height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Правый поворот вокруг узла.
+     * 
+     * @param node узел
+     * @return новый корень поддерева
+     */
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Левый поворот вокруг узла.
+     * 
+     * @param node узел
+     * @return новый корень поддерева
+     */
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    // --- Запросы ---
+
+    /**
+     * Находит значения всех интервалов, содержащих точку.
+     * 
+     * @param point точка
+     * @return список найденных значений
+     */
+    public MyLinkedList<V> containing(long point) {
+        return overlapping(point, point);
+    }
+
+    /**
+     * Находит значения всех интервалов, пересекающих отрезок
+     * {@code [from, to]}.
+     * 
+     * @param from начало отрезка
+     * @param to   конец отрезка
+     * @return список найденных значений
+     */
+    public MyLinkedList<V> overlapping(long from, long to) {
+        MyLinkedList<V> result = new MyLinkedList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    /**
+     * Рекурсивно собирает значения интервалов, пересекающих отрезок.
+     * Поддерево пропускается, если его наибольший конец меньше
+     * {@code from}; правое поддерево пропускается, если начало узла
+     * больше {@code to}.
+     * 
+     * @param node   корень поддерева
+     * @param from   начало отрезка
+     * @param to     конец отрезка
+     * @param result список для результатов
+     */
+    private void collect(Node<V> node, long from, long to, MyLinkedList<V> result) {
+        if (node == null || node.maxEnd < from)
+            return;
+        collect(node.left, from, to, result);
+        if (node.start > to)
+            return;
+        if (node.end >= from) {
+            for (V value : node.values)
+                result.add(value);
+        }
+        collect(node.right, from, to, result);
+    }
+}
\ No newline at end of file
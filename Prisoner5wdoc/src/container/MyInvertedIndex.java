@@ -0,0 +1,266 @@
+package container;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Полнотекстовый инвертированный индекс: слово - список документов,
+ * в которых оно встречается, с позициями вхождений.
+ * Каждый документ состоит из нескольких текстовых полей. Текст разбивается
+ * на слова по всем символам, кроме букв и цифр, и приводится к нижнему
+ * регистру. Позиция хранится как {@code (номер поля << 16) | номер слова},
+ * поэтому фраза не может начинаться в одном поле и заканчиваться в другом.
+ * Индекс обновляется при каждом добавлении и удалении документа; прямое
+ * отображение документ - слова позволяет удалять документ без повторного
+ * разбора текста.
+ * 
+ * @param <T> тип документа
+ * @version 1.0
+ */
+public class MyInvertedIndex<T> {
+    /** Наибольший номер слова внутри поля, который попадает в индекс */
+    private static final int MAX_POSITION = 0xFFFE;
+
+    /** Слово - документы с позициями слова в порядке добавления документов */
+    private final Map<String, Map<T, int[]>> postings = new HashMap<>();
+    /** Документ - различные слова документа */
+    private final Map<T, String[]> forward = new HashMap<>();
+    /** Функция получения текстовых полей документа */
+    private final Function<? super T, ? extends Iterable<String>> fields;
+
+    /**
+     * Создает пустой индекс.
+     * 
+     * @param fields функция получения текстовых полей документа
+     */
+    public MyInvertedIndex(Function<? super T, ? extends Iterable<String>> fields) {
+        this.fields = Objects.requireNonNull(fields);
+    }
+
+    /**
+     * Разбивает текст на слова в нижнем регистре.
+     * Разделителями считаются все символы, кроме букв и цифр.
+     * 
+     * @param text исходный текст
+     * @return слова в порядке следования
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет документ в индекс.
+     * 
+     * @param document документ
+     * @return {@code true} если документ добавлен; {@code false} если он уже
+     *         есть в индексе
+     */
+    public boolean add(T document) {
+        if (forward.containsKey(document))
+            return false;
+        Map<String, int[]> positions = new LinkedHashMap<>();
+        int field = 0;
+        for (String text : fields.apply(document)) {
+            int position = 0;
+            for (String token : tokenize(text)) {
+                if (position > MAX_POSITION)
+                    break;
+                int[] list = positions.get(token);
+                int encoded = (field << 16) | position++;
+                if (list == null) {
+                    list = new int[] { encoded };
+                } else {
+                    list = Arrays.copyOf(list, list.length + 1);
+                    list[list.length - 1] = encoded;
+                }
+                positions.put(token, list);
+            }
+            field++;
+        }
+        for (Map.Entry<String, int[]> entry : positions.entrySet())
+            postings.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>()).put(document, entry.getValue());
+        forward.put(document, positions.keySet().toArray(new String[0]));
+        return true;
+    }
+
+    /**
+     * Удаляет документ из индекса. Затрагиваются только списки слов
+     * этого документа.
+     * 
+     * @param document документ
+     * @return {@code true} если документ был в индексе
+     */
+    public boolean remove(T document) {
+        String[] tokens = forward.remove(document);
+        if (tokens == null)
+            return false;
+        for (String token : tokens) {
+            Map<T, int[]> posting = postings.get(token);
+            posting.remove(document);
+            if (posting.isEmpty())
+                postings.remove(token);
+        }
+        return true;
+    }
+
+    /**
+     * Удаляет все документы.
+     */
+    public void clear() {
+        postings.clear();
+        forward.clear();
+    }
+
+    /**
+     * Возвращает количество документов в индексе.
+     * 
+     * @return количество документов
+     */
+    public int size() {
+        return forward.size();
+    }
+
+    /**
+     * Возвращает количество документов, содержащих слово.
+     * 
+     * @param token слово (без учета регистра)
+     * @return количество документов
+     */
+    public int documentFrequency(String token) {
+        Map<T, int[]> posting = postings.get(token.toLowerCase(Locale.ROOT));
+        return posting != null ? posting.size() : 0;
+    }
+
+    // --- Запросы ---
+
+    /**
+     * Находит документы, содержащие все слова запроса (И).
+     * Обходится самый короткий список, остальные проверяются по хэшу.
+     * 
+     * @param query слова запроса
+     * @return найденные документы
+     */
+    public MyLinkedList<T> all(String query) {
+        MyLinkedList<T> result = new MyLinkedList<>();
+        List<Map<T, int[]>> lists = postingsOf(new LinkedHashSet<>(tokenize(query)));
+        if (lists == null)
+            return result;
+        lists.sort(Comparator.comparingInt(Map::size));
+        Map<T, int[]> shortest = lists.get(0);
+        for (T document : shortest.keySet()) {
+            if (containsAll(lists, document))
+                result.add(document);
+        }
+        return result;
+    }
+
+    /**
+     * Находит документы, содержащие хотя бы одно слово запроса (ИЛИ).
+     * 
+     * @param query слова запроса
+     * @return найденные документы без повторов
+     */
+    public MyLinkedList<T> any(String query) {
+        Set<T> found = new LinkedHashSet<>();
+        for (String token : new LinkedHashSet<>(tokenize(query))) {
+            Map<T, int[]> posting = postings.get(token);
+            if (posting != null)
+                found.addAll(posting.keySet());
+        }
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (T document : found)
+            result.add(document);
+        return result;
+    }
+
+    /**
+     * Находит документы, в одном поле которых слова запроса идут подряд
+     * в указанном порядке.
+     * 
+     * @param query фраза
+     * @return найденные документы
+     */
+    public MyLinkedList<T> phrase(String query) {
+        List<String> tokens = tokenize(query);
+        MyLinkedList<T> result = new MyLinkedList<>();
+        List<Map<T, int[]>> lists = postingsOf(tokens);
+        if (lists == null)
+            return result;
+        List<Map<T, int[]>> bySize = new ArrayList<>(lists);
+        bySize.sort(Comparator.comparingInt(Map::size));
+        for (T document : bySize.get(0).keySet()) {
+            if (containsAll(bySize, document) && hasPhrase(lists, document))
+                result.add(document);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает списки документов для слов запроса.
+     * 
+     * @param tokens слова запроса
+     * @return списки в порядке слов или {@code null}, если запрос пуст или
+     *         какое-то слово не встречается ни в одном документе
+     */
+    private List<Map<T, int[]>> postingsOf(Collection<String> tokens) {
+        if (tokens.isEmpty())
+            return null;
+        List<Map<T, int[]>> lists = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Map<T, int[]> posting = postings.get(token);
+            if (posting == null)
+                return null;
+            lists.add(posting);
+        }
+        return lists;
+    }
+
+    /**
+     * Проверяет, что документ есть во всех списках.
+     * 
+     * @param lists    списки документов
+     * @param document документ
+     * @return {@code true} если документ есть во всех списках
+     */
+    private boolean containsAll(List<Map<T, int[]>> lists, T document) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).containsKey(document))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, что слова идут в документе подряд: для некоторой позиции
+     * {@code p} первого слова {@code i}-е слово стоит в позиции {@code p + i}.
+     * 
+     * @param lists    списки документов в порядке слов фразы
+     * @param document документ, содержащий все слова
+     * @return {@code true} если фраза найдена
+     */
+    private boolean hasPhrase(List<Map<T, int[]>> lists, T document) {
+        for (int start : lists.get(0).get(document)) {
+            int i = 1;
+            while (i < lists.size() && Arrays.binarySearch(lists.get(i).get(document), start + i) >= 0)
+                i++;
+            if (i == lists.size())
+                return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -1,26 +1,49 @@
 package container;
 
 import java.io.*;
-import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Односвязный список, реализующий интерфейсы {@link Iterable} и
- * {@link Serializable}.
+ * Двусвязный список с ссылкой на хвост, реализующий интерфейсы
+ * {@link Iterable} и {@link Serializable}.
  * Поддерживает стандартные операции со списками, фильтрацию и сериализацию.
+ * Добавление и удаление с обоих концов выполняются за O(1).
+ * В режиме хэш-индекса (см. {@link #MyLinkedList(boolean)}) список хранит
+ * рядом с узлами хэш-таблицу, как {@link LinkedHashSet}: проверка наличия и
+ * удаление по значению выполняются за O(1), дубликаты не добавляются,
+ * а порядок обхода остается порядком вставки.
  * 
  * @param <T> тип элементов в списке
- * @version 1.0
+ * @version 1.1
  */
 public class MyLinkedList<T> implements Serializable, Iterable<T> {
     /** Версия для сериализации */
     private static final long serialVersionUID = 1L; // ДОБАВЛЕНО
+    /** Поля сериализованной формы: голова (пишется пустой), размер, флаг индекса */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("head", Node.class),
+            new ObjectStreamField("size", int.class),
+            new ObjectStreamField("hashIndexed", boolean.class)
+    };
 
     /** Голова списка */
     private Node<T> head;
+    /** Хвост списка (восстанавливается при десериализации) */
+    private transient Node<T> tail;
     /** Количество элементов в списке */
     private int size;
+    /** Счетчик структурных изменений для отказоустойчивых итераторов */
+    private transient int modCount;
+    /** Включен ли режим хэш-индекса */
+    private boolean hashIndexed;
+    /** Хэш-индекс элемент - узел или {@code null}, если режим выключен */
+    private transient Map<T, Node<T>> index;
 
     /**
      * Внутренний класс для представления узла списка.
@@ -35,6 +58,8 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         T data;
         /** Ссылка на следующий узел */
         Node<T> next;
+        /** Ссылка на предыдущий узел (восстанавливается при десериализации) */
+        transient Node<T> prev;
 
         /**
          * Создает новый узел с указанными данными.
@@ -46,46 +71,144 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         }
     }
 
+    /**
+     * Создает пустой список без хэш-индекса.
+     */
+    public MyLinkedList() {
+        this(false);
+    }
+
+    /**
+     * Создает пустой список.
+     * 
+     * @param hashIndexed {@code true} для списка с хэш-индексом, в котором
+     *                    {@code contains} и {@code remove(T)} работают за O(1),
+     *                    а элементы, равные уже имеющимся, не добавляются
+     */
+    public MyLinkedList(boolean hashIndexed) {
+        this.hashIndexed = hashIndexed;
+        if (hashIndexed)
+            index = new HashMap<>();
+    }
+
+    /**
+     * Проверяет, включен ли режим хэш-индекса.
+     * 
+     * @return {@code true} если список ведет хэш-индекс
+     */
+    public boolean isHashIndexed() {
+        return hashIndexed;
+    }
+
     /**
      * Добавляет элемент в конец списка.
      * 
      * @param element элемент для добавления
+     * @return {@code true} если элемент добавлен; {@code false} если список
+     *         с хэш-индексом уже содержит равный элемент
      */
-    public void add(T element) {
-        Node<T> newNode = new Node<>(element);
-        if (head == null) {
-            head = newNode;
-        } else {
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
-        }
-        size++;
+    public boolean add(T element) {
+        if (index != null && index.containsKey(element))
+            return false;
+        linkLast(element);
+        return true;
+    }
+
+    /**
+     * Добавляет элемент в начало списка.
+     * 
+     * @param element элемент для добавления
+     * @return {@code true} если элемент добавлен; {@code false} если список
+     *         с хэш-индексом уже содержит равный элемент
+     */
+    public boolean addFirst(T element) {
+        if (index != null && index.containsKey(element))
+            return false;
+        if (head == null)
+            linkLast(element);
+        else
+            linkBefore(element, head);
+        return true;
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Синоним {@link #add(Object)}.
+     * 
+     * @param element элемент для добавления
+     * @return {@code true} если элемент добавлен; {@code false} если список
+     *         с хэш-индексом уже содержит равный элемент
+     */
+    public boolean addLast(T element) {
+        return add(element);
+    }
+
+    /**
+     * Возвращает первый элемент списка.
+     * 
+     * @return первый элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public T getFirst() {
+        if (head == null)
+            throw new NoSuchElementException("List is empty");
+        return head.data;
+    }
+
+    /**
+     * Возвращает последний элемент списка.
+     * 
+     * @return последний элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public T getLast() {
+        if (tail == null)
+            throw new NoSuchElementException("List is empty");
+        return tail.data;
+    }
+
+    /**
+     * Удаляет и возвращает первый элемент списка.
+     * 
+     * @return удаленный элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public T removeFirst() {
+        if (head == null)
+            throw new NoSuchElementException("List is empty");
+        return unlink(head);
+    }
+
+    /**
+     * Удаляет и возвращает последний элемент списка.
+     * 
+     * @return удаленный элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public T removeLast() {
+        if (tail == null)
+            throw new NoSuchElementException("List is empty");
+        return unlink(tail);
     }
 
     /**
      * Удаляет первое вхождение указанного элемента из списка.
+     * В режиме хэш-индекса выполняется за O(1).
      * 
      * @param element элемент для удаления
      * @return {@code true} если элемент был найден и удален, иначе {@code false}
      */
     public boolean remove(T element) {
-        if (head == null)
-            return false;
-
-        if (head.data.equals(element)) {
-            head = head.next;
-            size--;
+        if (index != null) {
+            Node<T> node = index.get(element);
+            if (node == null)
+                return false;
+            unlink(node);
             return true;
         }
-
         Node<T> current = head;
-        while (current.next != null) {
-            if (current.next.data.equals(element)) {
-                current.next = current.next.next;
-                size--;
+        while (current != null) {
+            if (current.data.equals(element)) {
+                unlink(current);
                 return true;
             }
             current = current.next;
@@ -95,6 +218,7 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
     /**
      * Удаляет элемент по указанному индексу.
+     * Обход начинается с ближайшего к индексу конца списка.
      * 
      * @param index индекс элемента для удаления (отсчет с 0)
      * @return {@code true} если элемент был удален, иначе {@code false}
@@ -103,19 +227,7 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         if (index < 0 || index >= size)
             return false;
 
-        if (index == 0) {
-            head = head.next;
-            size--;
-            return true;
-        }
-
-        Node<T> current = head;
-        for (int i = 0; i < index - 1; i++) {
-            current = current.next;
-        }
-
-        current.next = current.next.next;
-        size--;
+        unlink(node(index));
         return true;
     }
 
@@ -124,16 +236,23 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
      */
     public void clear() {
         head = null;
+        tail = null;
         size = 0;
+        modCount++;
+        if (index != null)
+            index.clear();
     }
 
     /**
      * Проверяет, содержит ли список указанный элемент.
+     * В режиме хэш-индекса выполняется за O(1).
      * 
      * @param element элемент для поиска
      * @return {@code true} если элемент найден, иначе {@code false}
      */
     public boolean contains(T element) {
+        if (index != null)
+            return index.containsKey(element);
         Node<T> current = head;
         while (current != null) {
             if (current.data.equals(element))
@@ -145,6 +264,7 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
     /**
      * Возвращает элемент по указанному индексу.
+     * Обход начинается с ближайшего к индексу конца списка.
      * 
      * @param index индекс элемента (отсчет с 0)
      * @return элемент по указанному индексу
@@ -154,10 +274,7 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
 
-        Node<T> current = head;
-        for (int i = 0; i < index; i++)
-            current = current.next;
-        return current.data;
+        return node(index).data;
     }
 
     /**
@@ -194,6 +311,184 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         return array;
     }
 
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход.
+     * 
+     * @param predicate условие удаления
+     * @return {@code true} если был удален хотя бы один элемент
+     */
+    public boolean removeIf(Predicate<? super T> predicate) {
+        boolean removed = false;
+        Node<T> current = head;
+        while (current != null) {
+            Node<T> next = current.next;
+            if (predicate.test(current.data)) {
+                unlink(current);
+                removed = true;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Оставляет в списке только элементы, содержащиеся в указанной коллекции.
+     * Выполняется за один проход; для линейного времени коллекция должна
+     * поддерживать быстрый {@code contains}, например {@link HashSet}.
+     * 
+     * @param keep коллекция сохраняемых элементов
+     * @return {@code true} если был удален хотя бы один элемент
+     */
+    public boolean retainAll(Collection<?> keep) {
+        return removeIf(element -> !keep.contains(element));
+    }
+
+    // --- Слияние ---
+
+    /**
+     * Добавляет в конец списка записи, ключей которых еще нет в списке.
+     * Записи сравниваются через {@code equals}.
+     * 
+     * @param <K>   тип ключа
+     * @param items добавляемые записи
+     * @param keyFn функция получения ключа записи
+     * @return количество добавленных, повторяющихся и конфликтующих записей
+     * @see #mergeDistinct(Iterable, Function, BiPredicate)
+     */
+    public <K> MergeResult mergeDistinct(Iterable<? extends T> items, Function<? super T, ? extends K> keyFn) {
+        return mergeDistinct(items, keyFn, Objects::equals);
+    }
+
+    /**
+     * Добавляет в конец списка записи, ключей которых еще нет в списке.
+     * Ключи существующих элементов собираются в хэш-таблицу один раз,
+     * после чего записи обрабатываются за один проход, поэтому слияние
+     * занимает O(n + m) вместо O(n * m).
+     * Запись с уже известным ключом считается дубликатом, если
+     * {@code sameRecord} признает ее совпадающей с имеющейся, и конфликтом
+     * в противном случае; в обоих случаях она не добавляется.
+     * 
+     * @param <K>        тип ключа
+     * @param items      добавляемые записи
+     * @param keyFn      функция получения ключа записи
+     * @param sameRecord проверка полного совпадения двух записей с одним ключом
+     * @return количество добавленных, повторяющихся и конфликтующих записей
+     */
+    public <K> MergeResult mergeDistinct(Iterable<? extends T> items, Function<? super T, ? extends K> keyFn,
+            BiPredicate<? super T, ? super T> sameRecord) {
+        Map<K, T> known = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        for (Node<T> current = head; current != null; current = current.next)
+            known.putIfAbsent(keyFn.apply(current.data), current.data);
+
+        int added = 0;
+        int duplicates = 0;
+        int conflicts = 0;
+        for (T item : items) {
+            T existing = known.putIfAbsent(keyFn.apply(item), item);
+            if (existing == null) {
+                if (add(item))
+                    added++;
+                else
+                    duplicates++;
+            } else if (sameRecord.test(existing, item)) {
+                duplicates++;
+            } else {
+                conflicts++;
+            }
+        }
+        return new MergeResult(added, duplicates, conflicts);
+    }
+
+    // --- Работа с узлами ---
+
+    /**
+     * Добавляет новый узел после хвоста списка.
+     * 
+     * @param element данные нового узла
+     */
+    private void linkLast(T element) {
+        Node<T> newNode = new Node<>(element);
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+            newNode.prev = tail;
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+        if (index != null)
+            index.put(element, newNode);
+    }
+
+    /**
+     * Вставляет новый узел перед указанным узлом.
+     * 
+     * @param element данные нового узла
+     * @param succ    узел, перед которым выполняется вставка
+     */
+    private void linkBefore(T element, Node<T> succ) {
+        Node<T> newNode = new Node<>(element);
+        Node<T> pred = succ.prev;
+        newNode.next = succ;
+        newNode.prev = pred;
+        succ.prev = newNode;
+        if (pred == null)
+            head = newNode;
+        else
+            pred.next = newNode;
+        size++;
+        modCount++;
+        if (index != null)
+            index.put(element, newNode);
+    }
+
+    /**
+     * Исключает узел из списка за O(1).
+     * 
+     * @param node узел для удаления
+     * @return данные удаленного узла
+     */
+    private T unlink(Node<T> node) {
+        Node<T> pred = node.prev;
+        Node<T> succ = node.next;
+        if (pred == null)
+            head = succ;
+        else
+            pred.next = succ;
+        if (succ == null)
+            tail = pred;
+        else
+            succ.prev = pred;
+        node.prev = null;
+        node.next = null;
+        size--;
+        modCount++;
+        if (index != null)
+            index.remove(node.data);
+        return node.data;
+    }
+
+    /**
+     * Находит узел по индексу, начиная обход с ближайшего конца.
+     * Индекс должен быть проверен вызывающим кодом.
+     * 
+     * @param index индекс узла
+     * @return узел по указанному индексу
+     */
+    private Node<T> node(int index) {
+        if (index < (size >> 1)) {
+            Node<T> current = head;
+            for (int i = 0; i < index; i++)
+                current = current.next;
+            return current;
+        }
+        Node<T> current = tail;
+        for (int i = size - 1; i > index; i--)
+            current = current.prev;
+        return current;
+    }
+
     // --- Сериализация объектов ---
 
     /**
@@ -202,7 +497,8 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
      * @param filename имя файла для сохранения
      */
     public void saveToFileSerialized(String filename) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filename)))) {
             oos.writeObject(this);
         } catch (IOException e) {
             e.printStackTrace();
@@ -218,7 +514,8 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
      */
     @SuppressWarnings("unchecked")
     public static <T> MyLinkedList<T> loadFromFileSerialized(String filename) {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(filename)))) {
             return (MyLinkedList<T>) ois.readObject();
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
@@ -226,6 +523,54 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
         }
     }
 
+    /**
+     * Записывает список плоским потоком: поля прежней формы с пустой
+     * головой, затем элементы по порядку. Цепочка узлов не сериализуется,
+     * поэтому глубина стека не зависит от длины списка.
+     * 
+     * @param out поток для записи объекта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("head", null);
+        fields.put("size", size);
+        fields.put("hashIndexed", hashIndexed);
+        out.writeFields();
+        for (Node<T> current = head; current != null; current = current.next)
+            out.writeObject(current.data);
+    }
+
+    /**
+     * Восстанавливает список, записанный {@link #writeObject}, связывая
+     * узлы в цикле. Ранее сохраненные файлы содержат цепочку узлов в поле
+     * {@code head}: она проходится и перестраивается так же. В таких файлах
+     * нет флага хэш-индекса, поэтому они загружаются как обычные списки.
+     * 
+     * @param in поток для чтения объекта
+     * @throws IOException            при ошибке ввода-вывода или
+     *                                отрицательном размере
+     * @throws ClassNotFoundException если класс элемента не найден
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        hashIndexed = fields.get("hashIndexed", false);
+        if (hashIndexed)
+            index = new HashMap<>();
+        Node<T> chain = (Node<T>) fields.get("head", null);
+        if (chain != null) {
+            for (Node<T> node = chain; node != null; node = node.next)
+                linkLast(node.data);
+            return;
+        }
+        int count = fields.get("size", 0);
+        if (count < 0)
+            throw new InvalidObjectException("Negative size: " + count);
+        for (int i = 0; i < count; i++)
+            linkLast((T) in.readObject());
+    }
+
     // --- Итератор ---
 
     /**
@@ -240,10 +585,16 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
 
     /**
      * Внутренний класс итератора для обхода списка.
+     * Поддерживает удаление за O(1) и отказывает при изменении списка
+     * в обход итератора.
      */
     private class MyIterator implements Iterator<T> {
         /** Текущий узел */
         private Node<T> current = head;
+        /** Последний возвращенный узел */
+        private Node<T> lastReturned;
+        /** Ожидаемое значение счетчика изменений */
+        private int expectedModCount = modCount;
 
         /**
          * Проверяет, есть ли следующий элемент.
@@ -259,32 +610,371 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
          * Возвращает следующий элемент списка.
          * 
          * @return следующий элемент
+         * @throws ConcurrentModificationException если список был изменен
+         *                                         в обход итератора
          */
         @Override
         public T next() {
+            checkForComodification(expectedModCount);
+            if (current == null)
+                throw new NoSuchElementException();
+            lastReturned = current;
+            current = current.next;
+            return lastReturned.data;
+        }
+
+        /**
+         * Удаляет последний возвращенный элемент за O(1).
+         * 
+         * @throws IllegalStateException если {@code next()} еще не вызывался
+         *                               или элемент уже удален
+         */
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Проверяет, что список не изменялся с момента создания итератора.
+     * 
+     * @param expectedModCount значение счетчика, известное итератору
+     * @throws ConcurrentModificationException если список был изменен
+     */
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Возвращает итератор списка, начинающийся с первого элемента.
+     * 
+     * @return двунаправленный итератор списка
+     */
+    public ListIterator<T> listIterator() {
+        return new MyListIterator(0);
+    }
+
+    /**
+     * Возвращает итератор списка, начинающийся с указанной позиции.
+     * Вызов {@code listIterator(size())} позволяет обходить список с конца.
+     * 
+     * @param index индекс первого элемента, возвращаемого {@code next()}
+     * @return двунаправленный итератор списка
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return new MyListIterator(index);
+    }
+
+    /**
+     * Возвращает итератор для обхода списка в обратном порядке.
+     * 
+     * @return итератор от хвоста к голове
+     */
+    public Iterator<T> descendingIterator() {
+        return new Iterator<T>() {
+            private final ListIterator<T> it = new MyListIterator(size);
+
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public T next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    /**
+     * Внутренний класс двунаправленного итератора списка.
+     * Поддерживает вставку, замену и удаление за O(1).
+     */
+    private class MyListIterator implements ListIterator<T> {
+        /** Узел, который вернет {@code next()} */
+        private Node<T> next;
+        /** Последний возвращенный узел */
+        private Node<T> lastReturned;
+        /** Индекс узла {@code next} */
+        private int nextIndex;
+        /** Ожидаемое значение счетчика изменений */
+        private int expectedModCount = modCount;
+
+        /**
+         * Создает итератор, установленный перед элементом с указанным индексом.
+         * 
+         * @param index начальная позиция
+         */
+        MyListIterator(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            next = (next == null) ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            Node<T> lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned)
+                next = lastNext;
+            else
+                nextIndex--;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Заменяет последний возвращенный элемент.
+         * 
+         * @param element новый элемент
+         * @throws IllegalArgumentException если список с хэш-индексом уже
+         *                                  содержит другой равный элемент
+         */
+        @Override
+        public void set(T element) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification(expectedModCount);
+            if (index != null && !Objects.equals(lastReturned.data, element)) {
+                if (index.containsKey(element))
+                    throw new IllegalArgumentException("Duplicate element: " + element);
+                index.remove(lastReturned.data);
+                index.put(element, lastReturned);
+            }
+            lastReturned.data = element;
+        }
+
+        /**
+         * Вставляет элемент перед курсором итератора.
+         * 
+         * @param element элемент для вставки
+         * @throws IllegalArgumentException если список с хэш-индексом уже
+         *                                  содержит равный элемент
+         */
+        @Override
+        public void add(T element) {
+            checkForComodification(expectedModCount);
+            if (index != null && index.containsKey(element))
+                throw new IllegalArgumentException("Duplicate element: " + element);
+            lastReturned = null;
+            if (next == null)
+                linkLast(element);
+            else
+                linkBefore(element, next);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+    }
+
+    // --- Потоки ---
+
+    /**
+     * Возвращает разделитель с известным размером. При делении он
+     * отсчитывает половину оставшихся узлов, поэтому параллельные
+     * задачи получают равные по размеру части списка.
+     * 
+     * @return разделитель элементов списка
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new MySpliterator(head, size, modCount);
+    }
+
+    /**
+     * Возвращает последовательный поток элементов списка.
+     * 
+     * @return поток элементов
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Возвращает параллельный поток элементов списка.
+     * 
+     * @return параллельный поток элементов
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Разделитель непрерывного участка списка из известного числа узлов.
+     */
+    private final class MySpliterator implements Spliterator<T> {
+        /** Участки меньше этого размера не делятся */
+        private static final int MIN_SPLIT = 1 << 10;
+
+        /** Первый узел участка */
+        private Node<T> current;
+        /** Количество оставшихся узлов участка */
+        private int remaining;
+        /** Ожидаемое значение счетчика изменений */
+        private final int expectedModCount;
+
+        /**
+         * Создает разделитель для участка списка.
+         * 
+         * @param start            первый узел участка
+         * @param remaining        количество узлов участка
+         * @param expectedModCount значение счетчика изменений списка
+         */
+        MySpliterator(Node<T> start, int remaining, int expectedModCount) {
+            this.current = start;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining <= 0)
+                return false;
             T data = current.data;
             current = current.next;
-            return data;
+            remaining--;
+            action.accept(data);
+            checkForComodification(expectedModCount);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Node<T> node = current;
+            for (int i = remaining; i > 0; i--) {
+                action.accept(node.data);
+                node = node.next;
+            }
+            current = node;
+            remaining = 0;
+            checkForComodification(expectedModCount);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining < MIN_SPLIT)
+                return null;
+            int half = remaining >>> 1;
+            Node<T> start = current;
+            Node<T> node = current;
+            for (int i = 0; i < half; i++)
+                node = node.next;
+            current = node;
+            remaining -= half;
+            return new MySpliterator(start, half, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
     }
 
     // --- Фильтр ---
 
     /**
-     * Фильтрует список по указанному предикату.
+     * Возвращает ленивое представление элементов, удовлетворяющих условию.
+     * Список не копируется: условие проверяется при обходе представления,
+     * а для получения нового списка нужно вызвать {@link MyView#toList()}.
      * 
      * @param predicate условие фильтрации
-     * @return новый список с элементами, удовлетворяющими условию
+     * @return ленивое представление отфильтрованных элементов
      */
-    public MyLinkedList<T> filter(Predicate<T> predicate) {
-        MyLinkedList<T> result = new MyLinkedList<>();
-        Node<T> current = head;
-        while (current != null) {
-            if (predicate.test(current.data))
-                result.add(current.data);
-            current = current.next;
-        }
-        return result;
+    public MyView<T> filter(Predicate<? super T> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    /**
+     * Возвращает ленивое представление преобразованных элементов.
+     * 
+     * @param <R>    тип результата преобразования
+     * @param mapper функция преобразования
+     * @return ленивое представление
+     */
+    public <R> MyView<R> map(Function<? super T, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    /**
+     * Возвращает ленивое представление первых {@code n} элементов.
+     * 
+     * @param n максимальное количество элементов
+     * @return ленивое представление
+     */
+    public MyView<T> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    /**
+     * Возвращает ленивое представление без первых {@code n} элементов.
+     * 
+     * @param n количество пропускаемых элементов
+     * @return ленивое представление
+     */
+    public MyView<T> skip(long n) {
+        return MyView.of(this).skip(n);
     }
 
     // --- Сохранение в текстовый файл ---
@@ -313,68 +1003,20 @@ public class MyLinkedList<T> implements Serializable, Iterable<T> {
     /**
      * Загружает список заключенных из текстового файла специального формата.
      * Формат файла: текстовые поля с префиксами, разделенные пустыми строками.
+     * Записи читаются через {@link prisoners.PrisonerTextReader}; чтобы
+     * обработать файл, не собирая его в список, используйте его напрямую.
      * 
      * @param filename имя текстового файла
      * @return список заключенных
      */
     public static MyLinkedList<prisoners.Prisoner> loadPrisonersFromText(String filename) {
         MyLinkedList<prisoners.Prisoner> list = new MyLinkedList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            String name = null;
-            LocalDate birth = null;
-            int height = 0;
-            String eyes = null;
-            List<String> features = new ArrayList<>();
-            LocalDate dateIn = null;
-            LocalDate dateOut = null;
-
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) {
-                    if (name != null) {
-                        list.add(new prisoners.Prisoner(name, birth, height, eyes, features, dateIn, dateOut));
-                    }
-                    name = null;
-                    birth = null;
-                    height = 0;
-                    eyes = null;
-                    features = new ArrayList<>();
-                    dateIn = null;
-                    dateOut = null;
-                    continue;
-                }
-
-                if (line.startsWith("Name:")) {
-                    name = line.substring(5).trim();
-                } else if (line.startsWith("Birth:")) {
-                    birth = LocalDate.parse(line.substring(6).trim());
-                } else if (line.startsWith("Height:")) {
-                    height = Integer.parseInt(line.substring(7).replace("cm", "").trim());
-                } else if (line.startsWith("Eyes:")) {
-                    eyes = line.substring(5).trim();
-                } else if (line.startsWith("Features:")) {
-                    String feat = line.substring(9).trim();
-                    if (feat.startsWith("[") && feat.endsWith("]"))
-                        feat = feat.substring(1, feat.length() - 1);
-                    features = feat.isEmpty() ? new ArrayList<>() : Arrays.asList(feat.split(",\\s*"));
-                } else if (line.startsWith("Imprisoned:")) {
-                    dateIn = LocalDate.parse(line.substring(11).trim());
-                } else if (line.startsWith("Released:")) {
-                    String val = line.substring(9).trim();
-                    dateOut = val.equals("N/A") ? null : LocalDate.parse(val);
-                }
-            }
-
-            // Последний объект, если файл не оканчивается пустой строкой
-            if (name != null) {
-                list.add(new prisoners.Prisoner(name, birth, height, eyes, features, dateIn, dateOut));
-            }
-
-        } catch (IOException e) {
+        try (prisoners.PrisonerTextReader reader = prisoners.PrisonerTextReader.open(filename)) {
+            while (reader.hasNext())
+                list.add(reader.next());
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
         }
-
         return list;
     }
 }
\ No newline at end of file
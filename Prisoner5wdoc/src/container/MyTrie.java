@@ -0,0 +1,221 @@
+package container;
+
+import java.util.*;
+
+/**
+ * Префиксное дерево (trie) строковых ключей без учета регистра.
+ * Потомки узла хранятся в упорядоченном отображении, поэтому обход
+ * поддерева выдает ключи в лексикографическом порядке. Поиск по префиксу
+ * спускается по символам префикса и обходит только поддерево с
+ * подходящими ключами, прекращая обход по достижении лимита; время не
+ * зависит от общего количества ключей.
+ * Значения с одинаковым ключом хранятся в одном узле в порядке добавления,
+ * а каждый узел помнит количество значений в своем поддереве, поэтому
+ * количество ключей с префиксом известно за время длины префикса.
+ * 
+ * @param <V> тип значения
+ * @version 1.0
+ */
+public class MyTrie<V> {
+    /** Корень дерева, соответствует пустому ключу */
+    private Node<V> root = new Node<>();
+    /** Общее количество значений */
+    private int size;
+
+    /**
+     * Узел дерева: символ ключа на пути от корня.
+     * 
+     * @param <V> тип значения
+     */
+    private static final class Node<V> {
+        /** Потомки по следующему символу ключа */
+        final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        /** Значения ключа, заканчивающегося в этом узле, или {@code null} */
+        MyLinkedList<V> values;
+        /** Количество значений в поддереве */
+        int count;
+    }
+
+    /**
+     * Приводит ключ к виду без учета регистра.
+     * 
+     * @param key исходный ключ
+     * @return ключ в нижнем регистре
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает общее количество значений.
+     * 
+     * @return количество значений
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пусто ли дерево.
+     * 
+     * @return {@code true} если значений нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все ключи.
+     */
+    public void clear() {
+        root = new Node<>();
+        size = 0;
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет значение для ключа за время, пропорциональное длине ключа.
+     * 
+     * @param key   ключ
+     * @param value значение
+     * @return {@code true} если значение добавлено; {@code false} если такое
+     *         значение для этого ключа уже есть
+     */
+    public boolean put(String key, V value) {
+        String normalized = normalize(key);
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length(); i++)
+            node = node.children.computeIfAbsent(normalized.charAt(i), c -> new Node<>());
+        if (node.values == null)
+            node.values = new MyLinkedList<>(true);
+        if (!node.values.add(value))
+            return false;
+        node = root;
+        root.count++;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.children.get(normalized.charAt(i));
+            node.count++;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Удаляет значение для ключа. Опустевшие узлы на пути удаляются.
+     * 
+     * @param key   ключ
+     * @param value значение
+     * @return {@code true} если значение было найдено и удалено
+     */
+    public boolean remove(String key, V value) {
+        String normalized = normalize(key);
+        List<Node<V>> path = new ArrayList<>(normalized.length() + 1);
+        Node<V> node = root;
+        path.add(node);
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.children.get(normalized.charAt(i));
+            path.add(node);
+        }
+        if (node == null || node.values == null || !node.values.remove(value))
+            return false;
+        size--;
+        for (Node<V> current : path)
+            current.count--;
+        if (node.values.isEmpty())
+            node.values = null;
+        for (int i = normalized.length(); i > 0; i--) {
+            Node<V> current = path.get(i);
+            if (current.values != null || !current.children.isEmpty())
+                break;
+            path.get(i - 1).children.remove(normalized.charAt(i - 1));
+        }
+        return true;
+    }
+
+    // --- Запросы ---
+
+    /**
+     * Возвращает значения ключа, совпадающего без учета регистра.
+     * 
+     * @param key ключ
+     * @return найденные значения
+     */
+    public MyLinkedList<V> get(String key) {
+        MyLinkedList<V> result = new MyLinkedList<>();
+        Node<V> node = find(normalize(key));
+        if (node != null && node.values != null) {
+            for (V value : node.values)
+                result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает значения всех ключей, начинающихся с префикса, в порядке
+     * ключей.
+     * 
+     * @param prefix префикс (пустая строка - все ключи)
+     * @param limit  максимальное количество значений
+     * @return найденные значения
+     * @throws IllegalArgumentException если лимит отрицателен
+     */
+    public MyLinkedList<V> prefix(String prefix, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Negative limit: " + limit);
+        MyLinkedList<V> result = new MyLinkedList<>();
+        Node<V> node = find(normalize(prefix));
+        if (node != null)
+            collect(node, limit, result);
+        return result;
+    }
+
+    /**
+     * Возвращает количество значений всех ключей, начинающихся с префикса,
+     * за время, пропорциональное длине префикса.
+     * 
+     * @param prefix префикс
+     * @return количество значений
+     */
+    public int count(String prefix) {
+        Node<V> node = find(normalize(prefix));
+        return node != null ? node.count : 0;
+    }
+
+    /**
+     * Находит узел, соответствующий нормализованному ключу.
+     * 
+     * @param normalized ключ в нижнем регистре
+     * @return узел или {@code null}
+     */
+    private Node<V> find(String normalized) {
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++)
+            node = node.children.get(normalized.charAt(i));
+        return node;
+    }
+
+    /**
+     * Обходит поддерево в прямом порядке без рекурсии, пока не набран лимит.
+     * 
+     * @param start  корень поддерева
+     * @param limit  максимальное количество значений
+     * @param result список для результатов
+     */
+    private void collect(Node<V> start, int limit, MyLinkedList<V> result) {
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node<V> node = stack.pop();
+            if (node.values != null) {
+                for (V value : node.values) {
+                    if (result.size() == limit)
+                        return;
+                    result.add(value);
+                }
+            }
+            for (Node<V> child : node.children.descendingMap().values())
+                stack.push(child);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package container;
+
+import java.util.*;
+
+/**
+ * Индекс нечеткого поиска строк по триграммам с проверкой расстояния
+ * Левенштейна.
+ * Ключ приводится к нижнему регистру, дополняется двумя символами в начале
+ * и одним в конце и разбивается на все подстроки длины 3. Одна правка
+ * (вставка, удаление или замена символа) затрагивает не больше трех
+ * триграмм, поэтому строка на расстоянии не больше {@code d} от запроса
+ * содержит не меньше {@code |G(q)| - 3d} различных триграмм запроса, а
+ * значит, хотя бы одну из любых {@code 3d + 1} его триграмм. Поиск
+ * (префиксная фильтрация) обходит списки только {@code 3d + 1} самых редких
+ * триграмм запроса, поэтому частые триграммы вроде окончаний фамилий не
+ * делают его линейным. Кандидаты с длиной, отличающейся больше чем на
+ * {@code d}, отбрасываются, остальные проверяются ограниченным (ленточным)
+ * алгоритмом Левенштейна за O(d * длина).
+ * Для коротких запросов, у которых меньше {@code 3d + 1} триграмм, поиск
+ * проверяет только ключи подходящей длины из индекса по длине ключа.
+ * 
+ * @param <T> тип значения
+ * @version 1.0
+ */
+public class MyTrigramIndex<T> {
+    /** Символ дополнения ключа */
+    private static final char PAD = '\u0000';
+
+    /** Триграмма - записи, содержащие ее */
+    private final Map<Long, MyLinkedList<Entry<T>>> postings = new HashMap<>();
+    /** Значение - его запись */
+    private final Map<T, Entry<T>> entries = new LinkedHashMap<>();
+    /** Длина ключа - записи с ключом этой длины */
+    private final Map<Integer, MyLinkedList<Entry<T>>> byLength = new HashMap<>();
+
+    /**
+     * Запись индекса: значение и его нормализованный ключ.
+     * 
+     * @param <T> тип значения
+     */
+    private static final class Entry<T> {
+        /** Значение */
+        final T value;
+        /** Ключ в нижнем регистре */
+        final String key;
+        /** Различные триграммы ключа */
+        final long[] grams;
+
+        /**
+         * Создает запись.
+         * 
+         * @param value значение
+         * @param key   ключ в нижнем регистре
+         */
+        Entry(T value, String key) {
+            this.value = value;
+            this.key = key;
+            this.grams = trigrams(key);
+        }
+    }
+
+    /**
+     * Приводит ключ к виду без учета регистра.
+     * 
+     * @param key исходный ключ
+     * @return ключ в нижнем регистре
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает различные триграммы дополненного ключа, каждая упакована
+     * в {@code long} по 16 бит на символ.
+     * 
+     * @param key ключ в нижнем регистре
+     * @return различные триграммы
+     */
+    private static long[] trigrams(String key) {
+        String padded = "" + PAD + PAD + key + PAD;
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++)
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (long gram : grams)
+            result[i++] = gram;
+        return result;
+    }
+
+    /**
+     * Возвращает количество значений в индексе.
+     * 
+     * @return количество значений
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Удаляет все значения.
+     */
+    public void clear() {
+        postings.clear();
+        entries.clear();
+        byLength.clear();
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет значение с указанным ключом.
+     * 
+     * @param key   ключ
+     * @param value значение
+     * @return {@code true} если значение добавлено; {@code false} если оно
+     *         уже есть в индексе
+     */
+    public boolean add(String key, T value) {
+        if (entries.containsKey(value))
+            return false;
+        Entry<T> entry = new Entry<>(value, normalize(key));
+        entries.put(value, entry);
+        for (long gram : entry.grams)
+            postings.computeIfAbsent(gram, g -> new MyLinkedList<>(true)).add(entry);
+        byLength.computeIfAbsent(entry.key.length(), l -> new MyLinkedList<>(true)).add(entry);
+        return true;
+    }
+
+    /**
+     * Удаляет значение из индекса. Списки триграмм обновляются за O(1)
+     * на триграмму.
+     * 
+     * @param value значение
+     * @return {@code true} если значение было в индексе
+     */
+    public boolean remove(T value) {
+        Entry<T> entry = entries.remove(value);
+        if (entry == null)
+            return false;
+        for (long gram : entry.grams) {
+            MyLinkedList<Entry<T>> posting = postings.get(gram);
+            posting.remove(entry);
+            if (posting.isEmpty())
+                postings.remove(gram);
+        }
+        MyLinkedList<Entry<T>> sameLength = byLength.get(entry.key.length());
+        sameLength.remove(entry);
+        if (sameLength.isEmpty())
+            byLength.remove(entry.key.length());
+        return true;
+    }
+
+    // --- Поиск ---
+
+    /**
+     * Находит значения, ключ которых отличается от запроса не больше чем
+     * на {@code maxDistance} правок (без учета регистра).
+     * Кандидаты берутся из списков {@code 3 * maxDistance + 1} самых редких
+     * триграмм запроса; если у запроса столько триграмм нет, проверяются
+     * все ключи с длиной в пределах {@code maxDistance} от длины запроса.
+     * 
+     * @param query       запрос
+     * @param maxDistance наибольшее допустимое расстояние Левенштейна
+     * @return найденные значения по возрастанию расстояния, при равном
+     *         расстоянии - по ключу
+     * @throws IllegalArgumentException если расстояние отрицательно
+     */
+    public MyLinkedList<T> search(String query, int maxDistance) {
+        if (maxDistance < 0)
+            throw new IllegalArgumentException("Negative distance: " + maxDistance);
+        String normalized = normalize(query);
+        long[] grams = trigrams(normalized);
+        int probes = 3 * maxDistance + 1;
+
+        Set<Entry<T>> candidates = new HashSet<>();
+        if (grams.length < probes) {
+            int length = normalized.length();
+            for (int l = Math.max(0, length - maxDistance); l <= length + maxDistance; l++) {
+                MyLinkedList<Entry<T>> sameLength = byLength.get(l);
+                if (sameLength != null) {
+                    for (Entry<T> entry : sameLength)
+                        candidates.add(entry);
+                }
+            }
+        } else {
+            List<MyLinkedList<Entry<T>>> lists = new ArrayList<>();
+            for (long gram : grams) {
+                MyLinkedList<Entry<T>> posting = postings.get(gram);
+                lists.add(posting != null ? posting : new MyLinkedList<>());
+            }
+            lists.sort(Comparator.comparingInt(MyLinkedList::size));
+            for (MyLinkedList<Entry<T>> posting : lists.subList(0, probes)) {
+                for (Entry<T> entry : posting)
+                    candidates.add(entry);
+            }
+        }
+
+        List<Entry<T>> matches = new ArrayList<>();
+        Map<Entry<T>, Integer> distances = new HashMap<>();
+        for (Entry<T> entry : candidates) {
+            if (Math.abs(entry.key.length() - normalized.length()) > maxDistance)
+                continue;
+            int distance = boundedDistance(normalized, entry.key, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(entry);
+                distances.put(entry, distance);
+            }
+        }
+        matches.sort(Comparator.<Entry<T>>comparingInt(distances::get).thenComparing(entry -> entry.key));
+
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (Entry<T> entry : matches)
+            result.add(entry.value);
+        return result;
+    }
+
+    /**
+     * Вычисляет расстояние Левенштейна, если оно не больше {@code limit}.
+     * Заполняется только полоса шириной {@code 2 * limit + 1} вокруг
+     * диагонали, и расчет прекращается, как только вся строка полосы
+     * превысила лимит.
+     * 
+     * @param a     первая строка
+     * @param b     вторая строка
+     * @param limit наибольшее интересующее расстояние
+     * @return расстояние или {@code limit + 1}, если оно больше лимита
+     */
+    public static int boundedDistance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit)
+            return limit + 1;
+        int over = limit + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++)
+            previous[j] = j <= limit ? j : over;
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(m, i + limit);
+            current[0] = i <= limit ? i : over;
+            if (from > 1)
+                current[from - 1] = over;
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m)
+                current[to + 1] = over;
+            if (rowMin > limit)
+                return over;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+}
\ No newline at end of file
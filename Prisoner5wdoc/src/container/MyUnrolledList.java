@@ -0,0 +1,455 @@
+package container;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Развернутый (unrolled) связный список: каждый узел хранит небольшой массив
+ * элементов вместо одного элемента.
+ * Элементы одного узла лежат в памяти подряд, поэтому обход вызывает меньше
+ * промахов кэша, а накладные расходы на заголовок узла и ссылки делятся
+ * между всеми элементами узла.
+ * При переполнении узел делится пополам, при опустошении меньше чем
+ * наполовину - занимает элементы у соседа или сливается с ним.
+ * 
+ * @param <T> тип элементов в списке
+ * @version 1.0
+ */
+public class MyUnrolledList<T> implements Serializable, Iterable<T> {
+    /** Версия для сериализации */
+    private static final long serialVersionUID = 1L;
+
+    /** Емкость узла по умолчанию */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /** Емкость одного узла */
+    private final int nodeCapacity;
+    /** Первый узел списка */
+    private transient Node head;
+    /** Последний узел списка */
+    private transient Node tail;
+    /** Количество элементов в списке */
+    private transient int size;
+
+    /**
+     * Внутренний класс узла, хранящего массив элементов.
+     */
+    private static final class Node {
+        /** Элементы узла, занятые ячейки с 0 по {@code count - 1} */
+        final Object[] items;
+        /** Количество занятых ячеек */
+        int count;
+        /** Предыдущий узел */
+        Node prev;
+        /** Следующий узел */
+        Node next;
+
+        /**
+         * Создает пустой узел указанной емкости.
+         * 
+         * @param capacity емкость узла
+         */
+        Node(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    /**
+     * Создает пустой список с емкостью узла по умолчанию.
+     */
+    public MyUnrolledList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с указанной емкостью узла.
+     * 
+     * @param nodeCapacity количество элементов в одном узле (не меньше 4)
+     * @throws IllegalArgumentException если емкость меньше 4
+     */
+    public MyUnrolledList(int nodeCapacity) {
+        if (nodeCapacity < 4)
+            throw new IllegalArgumentException("Node capacity must be at least 4: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     * 
+     * @param element элемент для добавления
+     */
+    public void add(T element) {
+        if (tail == null || tail.count == nodeCapacity)
+            linkNodeAfter(tail);
+        tail.items[tail.count++] = element;
+        size++;
+    }
+
+    /**
+     * Вставляет элемент в указанную позицию.
+     * Переполненный узел делится пополам.
+     * 
+     * @param index   позиция вставки (от 0 до {@code size()} включительно)
+     * @param element элемент для вставки
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (index == size) {
+            add(element);
+            return;
+        }
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+
+        if (node.count == nodeCapacity) {
+            Node right = split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = right;
+            }
+        }
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = element;
+        node.count++;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу.
+     * Обход идет по узлам, а не по отдельным элементам.
+     * 
+     * @param index индекс элемента (отсчет с 0)
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс выходит за границы списка
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+        return (T) node.items[offset];
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу.
+     * 
+     * @param index индекс элемента для удаления (отсчет с 0)
+     * @return {@code true} если элемент был удален, иначе {@code false}
+     */
+    public boolean remove(int index) {
+        if (index < 0 || index >= size)
+            return false;
+
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+        removeAt(node, offset);
+        return true;
+    }
+
+    /**
+     * Удаляет первое вхождение указанного элемента из списка.
+     * 
+     * @param element элемент для удаления
+     * @return {@code true} если элемент был найден и удален, иначе {@code false}
+     */
+    public boolean remove(T element) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.items[i].equals(element)) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет, содержит ли список указанный элемент.
+     * 
+     * @param element элемент для поиска
+     * @return {@code true} если элемент найден, иначе {@code false}
+     */
+    public boolean contains(T element) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.items[i].equals(element))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Удаляет все элементы из списка.
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке.
+     * 
+     * @return размер списка
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     * 
+     * @return {@code true} если список пуст, иначе {@code false}
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка.
+     * 
+     * @return массив элементов
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Node node = head; node != null; node = node.next) {
+            System.arraycopy(node.items, 0, array, index, node.count);
+            index += node.count;
+        }
+        return array;
+    }
+
+    // --- Работа с узлами ---
+
+    /**
+     * Создает пустой узел и вставляет его после указанного узла.
+     * 
+     * @param pred узел, после которого выполняется вставка, или {@code null}
+     *             для вставки в пустой список
+     * @return новый узел
+     */
+    private Node linkNodeAfter(Node pred) {
+        Node node = new Node(nodeCapacity);
+        if (pred == null) {
+            head = node;
+            tail = node;
+            return node;
+        }
+        node.prev = pred;
+        node.next = pred.next;
+        if (pred.next == null)
+            tail = node;
+        else
+            pred.next.prev = node;
+        pred.next = node;
+        return node;
+    }
+
+    /**
+     * Исключает пустой или слитый узел из цепочки.
+     * 
+     * @param node узел для удаления
+     */
+    private void unlinkNode(Node node) {
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+    }
+
+    /**
+     * Делит заполненный узел пополам, перенося вторую половину в новый узел.
+     * 
+     * @param node узел для деления
+     * @return новый узел со второй половиной элементов
+     */
+    private Node split(Node node) {
+        Node right = linkNodeAfter(node);
+        int half = node.count >>> 1;
+        int moved = node.count - half;
+        System.arraycopy(node.items, half, right.items, 0, moved);
+        Arrays.fill(node.items, half, node.count, null);
+        right.count = moved;
+        node.count = half;
+        return right;
+    }
+
+    /**
+     * Удаляет элемент из узла и восстанавливает заполненность узла
+     * не меньше половины, занимая элементы у следующего узла или
+     * сливаясь с ним.
+     * 
+     * @param node   узел, содержащий элемент
+     * @param offset позиция элемента в узле
+     */
+    private void removeAt(Node node, int offset) {
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+        node.items[--node.count] = null;
+        size--;
+
+        if (node.count == 0) {
+            unlinkNode(node);
+            return;
+        }
+        int minFill = nodeCapacity >>> 1;
+        Node next = node.next;
+        if (node.count >= minFill || next == null)
+            return;
+
+        if (node.count + next.count <= nodeCapacity) {
+            System.arraycopy(next.items, 0, node.items, node.count, next.count);
+            node.count += next.count;
+            unlinkNode(next);
+        } else {
+            int borrow = minFill - node.count;
+            System.arraycopy(next.items, 0, node.items, node.count, borrow);
+            node.count += borrow;
+            System.arraycopy(next.items, borrow, next.items, 0, next.count - borrow);
+            Arrays.fill(next.items, next.count - borrow, next.count, null);
+            next.count -= borrow;
+        }
+    }
+
+    // --- Сериализация объектов ---
+
+    /**
+     * Записывает размер списка и элементы плоским потоком,
+     * без рекурсивного обхода узлов.
+     * 
+     * @param out поток для записи объекта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++)
+                out.writeObject(node.items[i]);
+        }
+    }
+
+    /**
+     * Восстанавливает список из потока, записанного {@link #writeObject}.
+     * Узлы заполняются полностью.
+     * 
+     * @param in поток для чтения объекта
+     * @throws IOException            при ошибке ввода-вывода
+     * @throws ClassNotFoundException если класс элемента не найден
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+            add((T) in.readObject());
+    }
+
+    /**
+     * Сохраняет список в бинарный файл через сериализацию.
+     * 
+     * @param filename имя файла для сохранения
+     */
+    public void saveToFileSerialized(String filename) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
+            oos.writeObject(this);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Загружает список из бинарного файла через десериализацию.
+     * 
+     * @param <T>      тип элементов в списке
+     * @param filename имя файла для загрузки
+     * @return загруженный список или пустой список при ошибке
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MyUnrolledList<T> loadFromFileSerialized(String filename) {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
+            return (MyUnrolledList<T>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return new MyUnrolledList<>();
+        }
+    }
+
+    // --- Итератор ---
+
+    /**
+     * Возвращает итератор для обхода элементов списка.
+     * 
+     * @return итератор списка
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node node = head;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (node == null)
+                    throw new NoSuchElementException();
+                T data = (T) node.items[offset++];
+                if (offset == node.count) {
+                    node = node.next;
+                    offset = 0;
+                }
+                return data;
+            }
+        };
+    }
+
+    // --- Фильтр ---
+
+    /**
+     * Фильтрует список по указанному предикату.
+     * 
+     * @param predicate условие фильтрации
+     * @return новый список с элементами, удовлетворяющими условию
+     */
+    @SuppressWarnings("unchecked")
+    public MyUnrolledList<T> filter(Predicate<T> predicate) {
+        MyUnrolledList<T> result = new MyUnrolledList<>(nodeCapacity);
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                T data = (T) node.items[i];
+                if (predicate.test(data))
+                    result.add(data);
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
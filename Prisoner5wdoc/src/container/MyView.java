@@ -0,0 +1,243 @@
+package container;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ленивое представление последовательности элементов.
+ * Операции {@link #filter}, {@link #map}, {@link #limit} и {@link #skip}
+ * не копируют данные, а лишь описывают конвейер, который выполняется при
+ * обходе. Подряд идущие фильтры объединяются в один предикат, а обход
+ * прекращается, как только достигнут лимит или найден нужный элемент.
+ * Данные копируются только при явном вызове {@link #toList()}.
+ * 
+ * @param <T> тип элементов представления
+ * @version 1.0
+ */
+public final class MyView<T> implements Iterable<T> {
+    /** Признак отсутствия лимита */
+    private static final long NO_LIMIT = -1;
+
+    /** Источник элементов */
+    private final Iterable<T> source;
+    /** Объединенное условие фильтрации или {@code null} */
+    private final Predicate<? super T> predicate;
+    /** Количество пропускаемых элементов после фильтрации */
+    private final long skip;
+    /** Максимальное количество элементов или {@link #NO_LIMIT} */
+    private final long limit;
+
+    /**
+     * Создает представление с указанными параметрами конвейера.
+     * 
+     * @param source    источник элементов
+     * @param predicate условие фильтрации или {@code null}
+     * @param skip      количество пропускаемых элементов
+     * @param limit     максимальное количество элементов или {@link #NO_LIMIT}
+     */
+    private MyView(Iterable<T> source, Predicate<? super T> predicate, long skip, long limit) {
+        this.source = source;
+        this.predicate = predicate;
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    /**
+     * Создает представление над произвольным источником без копирования.
+     * 
+     * @param <T>    тип элементов
+     * @param source источник элементов
+     * @return ленивое представление источника
+     */
+    public static <T> MyView<T> of(Iterable<T> source) {
+        return new MyView<>(Objects.requireNonNull(source), null, 0, NO_LIMIT);
+    }
+
+    /**
+     * Проверяет, что представление не содержит пропуска и лимита,
+     * т.е. к нему можно дописать новый фильтр.
+     * 
+     * @return {@code true} если представление состоит только из фильтра
+     */
+    private boolean isFilterOnly() {
+        return skip == 0 && limit == NO_LIMIT;
+    }
+
+    /**
+     * Возвращает представление, содержащее только элементы, удовлетворяющие
+     * условию. Если к этому представлению не применялись {@code skip} и
+     * {@code limit}, условие объединяется с текущим фильтром.
+     * 
+     * @param condition условие фильтрации
+     * @return новое ленивое представление
+     */
+    public MyView<T> filter(Predicate<? super T> condition) {
+        Objects.requireNonNull(condition);
+        if (!isFilterOnly())
+            return new MyView<>(this, condition, 0, NO_LIMIT);
+        if (predicate == null)
+            return new MyView<>(source, condition, 0, NO_LIMIT);
+        Predicate<? super T> first = predicate;
+        Predicate<T> fused = element -> first.test(element) && condition.test(element);
+        return new MyView<>(source, fused, 0, NO_LIMIT);
+    }
+
+    /**
+     * Возвращает представление, преобразующее каждый элемент функцией.
+     * Функция вызывается при обходе, только для выдаваемых элементов.
+     * 
+     * @param <R>    тип результата преобразования
+     * @param mapper функция преобразования
+     * @return новое ленивое представление
+     */
+    public <R> MyView<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        Iterable<R> mapped = () -> new Iterator<R>() {
+            private final Iterator<T> it = MyView.this.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public R next() {
+                return mapper.apply(it.next());
+            }
+        };
+        return new MyView<>(mapped, null, 0, NO_LIMIT);
+    }
+
+    /**
+     * Возвращает представление, пропускающее первые {@code n} элементов.
+     * 
+     * @param n количество пропускаемых элементов
+     * @return новое ленивое представление
+     * @throws IllegalArgumentException если {@code n} отрицательно
+     */
+    public MyView<T> skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Negative skip: " + n);
+        if (limit != NO_LIMIT)
+            return new MyView<>(this, null, n, NO_LIMIT);
+        return new MyView<>(source, predicate, skip + n, NO_LIMIT);
+    }
+
+    /**
+     * Возвращает представление, содержащее не более {@code n} элементов.
+     * Обход источника прекращается, как только выдано {@code n} элементов.
+     * 
+     * @param n максимальное количество элементов
+     * @return новое ленивое представление
+     * @throws IllegalArgumentException если {@code n} отрицательно
+     */
+    public MyView<T> limit(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Negative limit: " + n);
+        long newLimit = (limit == NO_LIMIT) ? n : Math.min(limit, n);
+        return new MyView<>(source, predicate, skip, newLimit);
+    }
+
+    // --- Терминальные операции ---
+
+    /**
+     * Подсчитывает элементы представления без их копирования.
+     * 
+     * @return количество элементов
+     */
+    public long count() {
+        long count = 0;
+        for (Iterator<T> it = iterator(); it.hasNext(); it.next())
+            count++;
+        return count;
+    }
+
+    /**
+     * Возвращает первый элемент представления, прекращая обход сразу после
+     * его нахождения.
+     * 
+     * @return первый элемент или пустой {@link Optional}
+     */
+    public Optional<T> findFirst() {
+        Iterator<T> it = iterator();
+        return it.hasNext() ? Optional.ofNullable(it.next()) : Optional.empty();
+    }
+
+    /**
+     * Проверяет, удовлетворяет ли условию хотя бы один элемент.
+     * 
+     * @param condition проверяемое условие
+     * @return {@code true} если найден подходящий элемент
+     */
+    public boolean anyMatch(Predicate<? super T> condition) {
+        return filter(condition).iterator().hasNext();
+    }
+
+    /**
+     * Материализует представление в новый список.
+     * 
+     * @return новый список с элементами представления
+     */
+    public MyLinkedList<T> toList() {
+        MyLinkedList<T> result = new MyLinkedList<>();
+        for (T element : this)
+            result.add(element);
+        return result;
+    }
+
+    // --- Итератор ---
+
+    /**
+     * Возвращает итератор, выполняющий весь конвейер за один проход
+     * по источнику.
+     * 
+     * @return итератор представления
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final Iterator<T> it = source.iterator();
+            /** Сколько элементов еще нужно пропустить */
+            private long toSkip = skip;
+            /** Сколько элементов уже выдано */
+            private long emitted;
+            /** Подготовленный следующий элемент */
+            private T nextElement;
+            /** Признак того, что {@code nextElement} подготовлен */
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                if (ready)
+                    return true;
+                if (limit != NO_LIMIT && emitted >= limit)
+                    return false;
+                while (it.hasNext()) {
+                    T element = it.next();
+                    if (predicate != null && !predicate.test(element))
+                        continue;
+                    if (toSkip > 0) {
+                        toSkip--;
+                        continue;
+                    }
+                    nextElement = element;
+                    ready = true;
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                ready = false;
+                emitted++;
+                T element = nextElement;
+                nextElement = null;
+                return element;
+            }
+        };
+    }
+}
\ No newline at end of file
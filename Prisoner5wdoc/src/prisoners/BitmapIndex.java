@@ -0,0 +1,68 @@
+package prisoners;
+
+import container.MyBitmap;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Битовый индекс для полей с небольшим количеством различных значений:
+ * ключ - сжатое множество порядковых номеров заключенных.
+ * Сочетания условий вычисляются пересечением и объединением множеств,
+ * без обхода списка заключенных.
+ * 
+ * @param <K> тип ключа
+ * @version 1.0
+ */
+class BitmapIndex<K> implements PrisonerIndex {
+    /** Ключ - номера заключенных с этим ключом */
+    private final Map<K, MyBitmap> bitmaps = new HashMap<>();
+    /** Функция получения ключей заключенного */
+    private final Function<Prisoner, ? extends Iterable<? extends K>> keys;
+    /** Таблица порядковых номеров */
+    private final OrdinalTable ordinals;
+
+    /**
+     * Создает индекс, в котором заключенный может иметь несколько ключей.
+     * 
+     * @param keys     функция получения ключей заключенного
+     * @param ordinals таблица порядковых номеров
+     */
+    BitmapIndex(Function<Prisoner, ? extends Iterable<? extends K>> keys, OrdinalTable ordinals) {
+        this.keys = keys;
+        this.ordinals = ordinals;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        int ordinal = ordinals.ordinalOf(prisoner);
+        for (K key : keys.apply(prisoner))
+            bitmaps.computeIfAbsent(key, k -> new MyBitmap()).add(ordinal);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        int ordinal = ordinals.ordinalOf(prisoner);
+        for (K key : keys.apply(prisoner)) {
+            MyBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty())
+                bitmaps.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        bitmaps.clear();
+    }
+
+    /**
+     * Возвращает номера заключенных с указанным ключом.
+     * Множество нельзя изменять.
+     * 
+     * @param key ключ
+     * @return номера заключенных (пустое множество, если ключа нет)
+     */
+    MyBitmap get(K key) {
+        MyBitmap bitmap = bitmaps.get(key);
+        return bitmap != null ? bitmap : new MyBitmap();
+    }
+}
\ No newline at end of file
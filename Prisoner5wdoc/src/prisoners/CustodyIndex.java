@@ -0,0 +1,92 @@
+package prisoners;
+
+import container.MyIntervalTree;
+import container.MyView;
+import java.time.LocalDate;
+
+/**
+ * Индекс сроков заключения на основе дерева интервалов.
+ * Каждый заключенный хранится как интервал {@code [dateIn, dateOut]} в днях
+ * от эпохи; у находящихся под стражей конец интервала открыт.
+ * Заключенный без даты заключения или с датой освобождения раньше даты
+ * заключения не находился под стражей ни в один день: такой срок пуст, и
+ * в индекс он не попадает. То же правило действует в
+ * {@link PrisonerTable.Scan#inCustodyOn}, поэтому оба пути дают одинаковый
+ * результат.
+ * 
+ * @version 1.0
+ */
+class CustodyIndex implements PrisonerIndex {
+    /** Дерево интервалов срок - заключенные */
+    private final MyIntervalTree<Prisoner> tree = new MyIntervalTree<>();
+
+    @Override
+    public void add(Prisoner prisoner) {
+        if (isIndexed(prisoner))
+            tree.add(start(prisoner), end(prisoner), prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        if (isIndexed(prisoner))
+            tree.remove(start(prisoner), end(prisoner), prisoner);
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+    }
+
+    /**
+     * Возвращает заключенных, находившихся под стражей в указанный день.
+     * 
+     * @param date дата
+     * @return найденные заключенные в порядке даты заключения
+     */
+    MyView<Prisoner> on(LocalDate date) {
+        return MyView.of(tree.containing(date.toEpochDay()));
+    }
+
+    /**
+     * Возвращает заключенных, срок которых пересекается с периодом
+     * включительно.
+     * 
+     * @param from начало периода
+     * @param to   конец периода
+     * @return найденные заключенные в порядке даты заключения
+     */
+    MyView<Prisoner> overlapping(LocalDate from, LocalDate to) {
+        return MyView.of(tree.overlapping(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    /**
+     * Проверяет, можно ли представить срок заключенного интервалом.
+     * 
+     * @param prisoner заключенный
+     * @return {@code true} если дата заключения задана и срок не пуст
+     */
+    private static boolean isIndexed(Prisoner prisoner) {
+        return prisoner.getDayIn() != Prisoner.NULL_DAY && start(prisoner) <= end(prisoner);
+    }
+
+    /**
+     * Возвращает начало срока в днях от эпохи.
+     * 
+     * @param prisoner заключенный
+     * @return день заключения
+     */
+    private static long start(Prisoner prisoner) {
+        return prisoner.getDayIn();
+    }
+
+    /**
+     * Возвращает конец срока в днях от эпохи.
+     * 
+     * @param prisoner заключенный
+     * @return день освобождения или {@link Long#MAX_VALUE} для находящихся
+     *         под стражей
+     */
+    private static long end(Prisoner prisoner) {
+        return prisoner.isReleased() ? prisoner.getDayOut() : Long.MAX_VALUE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package prisoners;
+
+import container.MyTrigramIndex;
+import container.MyView;
+import java.util.function.Function;
+
+/**
+ * Индекс нечеткого поиска по строковому полю заключенного на основе
+ * триграмм. Находит значения с опечатками и разной транслитерацией
+ * ("Petrenko" и "Petrenco").
+ * Заключенные с пустым значением поля в индекс не попадают.
+ * 
+ * @version 1.0
+ */
+class FuzzyIndex implements PrisonerIndex {
+    /** Триграммный индекс поле - заключенный */
+    private final MyTrigramIndex<Prisoner> index = new MyTrigramIndex<>();
+    /** Функция получения поля заключенного */
+    private final Function<Prisoner, String> key;
+
+    /**
+     * Создает индекс по указанному полю.
+     * 
+     * @param key функция получения поля заключенного
+     */
+    FuzzyIndex(Function<Prisoner, String> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            index.add(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        index.remove(prisoner);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * Возвращает заключенных, поле которых отличается от запроса не больше
+     * чем на указанное количество правок.
+     * 
+     * @param query       запрос
+     * @param maxDistance наибольшее расстояние Левенштейна
+     * @return найденные заключенные, сначала самые близкие
+     */
+    MyView<Prisoner> similar(String query, int maxDistance) {
+        return MyView.of(index.search(query, maxDistance));
+    }
+}
\ No newline at end of file
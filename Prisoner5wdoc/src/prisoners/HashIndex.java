@@ -0,0 +1,89 @@
+package prisoners;
+
+import container.MyLinkedList;
+import container.MyView;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Хэш-индекс точного совпадения: ключ - список заключенных с этим ключом.
+ * Один заключенный может попадать под несколько ключей (например, под
+ * каждую из своих примет). Списки ведутся в режиме хэш-индекса, поэтому
+ * удаление из индекса тоже выполняется за O(1). Ключи {@code null}
+ * (отсутствующее значение поля) в индекс не попадают.
+ * 
+ * @param <K> тип ключа
+ * @version 1.0
+ */
+class HashIndex<K> implements PrisonerIndex {
+    /** Ключ - заключенные с этим ключом в порядке добавления */
+    private final Map<K, MyLinkedList<Prisoner>> buckets = new HashMap<>();
+    /** Функция получения ключей заключенного */
+    private final Function<Prisoner, ? extends Iterable<? extends K>> keys;
+
+    /**
+     * Создает индекс, в котором заключенный может иметь несколько ключей.
+     * 
+     * @param keys функция получения ключей заключенного
+     */
+    HashIndex(Function<Prisoner, ? extends Iterable<? extends K>> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Создает индекс, в котором у каждого заключенного ровно один ключ.
+     * 
+     * @param <K> тип ключа
+     * @param key функция получения ключа заключенного
+     * @return новый индекс
+     */
+    static <K> HashIndex<K> single(Function<Prisoner, ? extends K> key) {
+        return new HashIndex<K>(prisoner -> Collections.singletonList(key.apply(prisoner)));
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        for (K key : keys.apply(prisoner)) {
+            if (key != null)
+                buckets.computeIfAbsent(key, k -> new MyLinkedList<>(true)).add(prisoner);
+        }
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        for (K key : keys.apply(prisoner)) {
+            if (key == null)
+                continue;
+            MyLinkedList<Prisoner> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(prisoner) && bucket.isEmpty())
+                buckets.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Возвращает заключенных с указанным ключом за O(1).
+     * 
+     * @param key искомый ключ
+     * @return представление найденных заключенных (только для чтения)
+     */
+    MyView<Prisoner> get(K key) {
+        MyLinkedList<Prisoner> bucket = buckets.get(key);
+        return MyView.of(bucket != null ? bucket : Collections.<Prisoner>emptyList());
+    }
+
+    /**
+     * Возвращает количество заключенных с указанным ключом.
+     * 
+     * @param key искомый ключ
+     * @return размер списка для ключа
+     */
+    int count(K key) {
+        MyLinkedList<Prisoner> bucket = buckets.get(key);
+        return bucket != null ? bucket.size() : 0;
+    }
+}
\ No newline at end of file
@@ -1,7 +1,10 @@
 package prisoners;
 
+import container.MergeResult;
 import container.MyLinkedList;
+import container.MyView;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.io.File;
 
@@ -14,8 +17,12 @@ import java.io.File;
 public class Main {
     /** Путь к текстовому файлу с данными */
     private static final String TXT_PATH = "c:\\dz\\KHPI\\java\\Prisoner5\\src\\prisoners.txt";
-    /** Путь к бинарному файлу с сериализованными данными */
+    /** Путь к бинарному файлу (формат {@link PrisonerFile} или сериализация) */
     private static final String DAT_PATH = "c:\\dz\\KHPI\\java\\Prisoner5\\src\\prisoners.dat";
+    /** Максимальное количество подсказок при поиске по началу имени */
+    private static final int NAME_PREFIX_LIMIT = 20;
+    /** Наибольшее количество правок при поиске похожих имен */
+    private static final int NAME_DISTANCE = 2;
 
     /**
      * Главный метод приложения.
@@ -25,12 +32,12 @@ public class Main {
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
-        MyLinkedList<Prisoner> list = new MyLinkedList<>();
+        PrisonerRepository repository = new PrisonerRepository();
 
-        list.add(new Prisoner("Ivan Petrenko", LocalDate.of(1990, 5, 10), 180, "green",
+        repository.add(new Prisoner("Ivan Petrenko", LocalDate.of(1990, 5, 10), 180, "green",
                 Arrays.asList("scar on left cheek"), LocalDate.of(2020, 1, 10), LocalDate.of(2025, 1, 10)));
 
-        list.add(new Prisoner("Olena Koval", LocalDate.of(1992, 8, 20), 165, "gray",
+        repository.add(new Prisoner("Olena Koval", LocalDate.of(1992, 8, 20), 165, "gray",
                 Arrays.asList("tattoo on arm"), LocalDate.of(2021, 3, 15), null));
 
         while (true) {
@@ -52,12 +59,12 @@ public class Main {
             switch (choice) {
                 case "1":
                     clearConsole();
-                    if (list.size() == 0) {
+                    if (repository.isEmpty()) {
                         System.out.println("No prisoners in list.");
                     } else {
                         System.out.println("Prisoners:");
                         int idx = 1;
-                        for (Prisoner p : list) {
+                        for (Prisoner p : repository) {
                             System.out.println("=== Prisoner #" + idx + " ===");
                             System.out.println(p);
                             idx++;
@@ -69,15 +76,18 @@ public class Main {
 
                 case "2":
                     clearConsole();
-                    list.add(inputPrisoner(scanner));
-                    System.out.println("Prisoner added!");
+                    if (repository.add(inputPrisoner(scanner))) {
+                        System.out.println("Prisoner added!");
+                    } else {
+                        System.out.println("Prisoner with the same name and birth date already exists.");
+                    }
                     System.out.print("Press Enter to return to menu...");
                     scanner.nextLine();
                     break;
 
                 case "3":
                     clearConsole();
-                    if (list.size() == 0) {
+                    if (repository.isEmpty()) {
                         System.out.println("No prisoners to remove.");
                         System.out.print("Press Enter to return to menu...");
                         scanner.nextLine();
@@ -85,7 +95,7 @@ public class Main {
                     } else {
                         System.out.println("Current prisoners:");
                         int idx = 1;
-                        for (Prisoner p : list) {
+                        for (Prisoner p : repository) {
                             System.out.println("[" + idx + "] " + p.getFullName());
                             idx++;
                         }
@@ -93,27 +103,9 @@ public class Main {
                         System.out.print("Enter prisoner number to remove: ");
                         try {
                             int index = Integer.parseInt(scanner.nextLine()) - 1;
-                            if (index >= 0 && index < list.size()) {
-                                Prisoner prisonerToRemove = null;
-                                int cur = 0;
-                                for (Prisoner p : list) {
-                                    if (cur == index) {
-                                        prisonerToRemove = p;
-                                        break;
-                                    }
-                                    cur++;
-                                }
-
-                                if (prisonerToRemove != null) {
-                                    if (list.remove(index)) {
-                                        System.out
-                                                .println("Prisoner '" + prisonerToRemove.getFullName() + "' removed!");
-                                    } else {
-                                        System.out.println("Error removing prisoner.");
-                                    }
-                                } else {
-                                    System.out.println("Error: prisoner not found at index.");
-                                }
+                            Prisoner prisonerToRemove = repository.removeAt(index);
+                            if (prisonerToRemove != null) {
+                                System.out.println("Prisoner '" + prisonerToRemove.getFullName() + "' removed!");
                             } else {
                                 System.out.println("Invalid prisoner number.");
                             }
@@ -126,7 +118,7 @@ public class Main {
                     break;
 
                 case "4":
-                    showSearchMenu(list, scanner);
+                    showSearchMenu(repository, scanner);
                     break;
 
                 case "5":
@@ -134,7 +126,7 @@ public class Main {
                     System.out.print("Are you sure you want to clear ALL prisoners? (y/n): ");
                     String confirm = scanner.nextLine();
                     if (confirm.equalsIgnoreCase("y")) {
-                        list.clear();
+                        repository.clear();
                         System.out.println("All prisoners cleared!");
                     } else {
                         System.out.println("Operation cancelled.");
@@ -147,27 +139,12 @@ public class Main {
                     clearConsole();
                     try {
                         File file = new File(DAT_PATH);
-                        if (file.exists()) {
-                            MyLinkedList<Prisoner> loadedList = MyLinkedList.loadFromFileSerialized(DAT_PATH);
-                            int addedCount = 0;
-                            for (Prisoner loadedPrisoner : loadedListToIterable(loadedList)) {
-                                boolean exists = false;
-                                for (Prisoner existing : list) {
-                                    if (existing.getFullName().equals(loadedPrisoner.getFullName()) &&
-                                            existing.getBirthDate().equals(loadedPrisoner.getBirthDate())) {
-                                        exists = true;
-                                        break;
-                                    }
-                                }
-                                if (!exists) {
-                                    list.add(loadedPrisoner);
-                                    addedCount++;
-                                }
-                            }
-                            System.out.println("Added " + addedCount + " new prisoners from file");
-                            System.out.println("Total prisoners now: " + list.size());
-                        } else {
+                        if (!file.exists()) {
                             System.out.println("File not found. Save prisoners first to create the file.");
+                        } else if (PrisonerFile.isPrisonerFile(DAT_PATH)) {
+                            mergeLoaded(repository, PrisonerFile.read(DAT_PATH));
+                        } else {
+                            mergeLoaded(repository, MyLinkedList.loadFromFileSerialized(DAT_PATH));
                         }
                     } catch (Exception e) {
                         System.out.println("Error loading from file: " + e.getMessage());
@@ -178,14 +155,18 @@ public class Main {
 
                 case "7":
                     clearConsole();
+                    System.out.println("Saving " + repository.size() + " prisoners:");
                     try {
-                        list.saveToFileSerialized(DAT_PATH);
-                        list.saveToFileText(TXT_PATH);
-                        System.out.println("Saved " + list.size() + " prisoners to both files:");
-                        System.out.println("- " + DAT_PATH + " (objects)");
+                        repository.saveToFileBinary(DAT_PATH);
+                        System.out.println("- " + DAT_PATH + " (binary)");
+                    } catch (Exception e) {
+                        System.out.println("Error saving " + DAT_PATH + ": " + e.getMessage());
+                    }
+                    try {
+                        repository.saveToFileText(TXT_PATH);
                         System.out.println("- " + TXT_PATH + " (text)");
                     } catch (Exception e) {
-                        System.out.println("Error saving files: " + e.getMessage());
+                        System.out.println("Error saving " + TXT_PATH + ": " + e.getMessage());
                     }
                     System.out.print("Press Enter to return to menu...");
                     scanner.nextLine();
@@ -205,22 +186,40 @@ public class Main {
     }
 
     /**
-     * Преобразует MyLinkedList в Iterable для совместимости.
+     * Объединяет загруженных заключенных с реестром и сообщает о возможных
+     * дубликатах: записях с той же датой рождения и похожим именем.
+     * Источник обходится один раз: ленивые источники (отображенный файл)
+     * декодируют каждую запись только однажды.
      * 
-     * @param loaded список для преобразования
-     * @return итерируемый объект
+     * @param repository реестр заключенных
+     * @param loaded     загруженные заключенные
      */
-    private static Iterable<Prisoner> loadedListToIterable(MyLinkedList<Prisoner> loaded) {
-        return loaded;
+    private static void mergeLoaded(PrisonerRepository repository, Iterable<Prisoner> loaded) {
+        MyLinkedList<Prisoner> records = MyView.of(loaded).toList();
+        MergeResult result = repository.mergeDistinct(records);
+        System.out.println("Added " + result.getAdded() + " new prisoners from file");
+        System.out.println("Skipped " + result.getDuplicates() + " duplicates and "
+                + result.getConflicts() + " conflicting records");
+        System.out.println("Total prisoners now: " + repository.size());
+        Set<Prisoner> checked = new HashSet<>();
+        for (Prisoner prisoner : records) {
+            checked.add(prisoner);
+            for (Prisoner similar : repository.findPossibleDuplicates(prisoner, NAME_DISTANCE)) {
+                if (!checked.contains(similar)) {
+                    System.out.println("Possible duplicate: '" + prisoner.getFullName() + "' and '"
+                            + similar.getFullName() + "', born " + prisoner.getBirthDate());
+                }
+            }
+        }
     }
 
     /**
      * Отображает меню поиска заключенных по различным критериям.
      * 
-     * @param list    список заключенных
-     * @param scanner объект Scanner для ввода данных
+     * @param repository хранилище заключенных с индексами
+     * @param scanner    объект Scanner для ввода данных
      */
-    private static void showSearchMenu(MyLinkedList<Prisoner> list, Scanner scanner) {
+    private static void showSearchMenu(PrisonerRepository repository, Scanner scanner) {
         while (true) {
             clearConsole();
             System.out.println("--- SEARCH MENU ---");
@@ -230,6 +229,14 @@ public class Main {
             System.out.println("4 - Search by height");
             System.out.println("5 - Search by feature");
             System.out.println("6 - Search by status");
+            System.out.println("7 - Search by height range");
+            System.out.println("8 - Search by imprisonment date range");
+            System.out.println("9 - Search by name prefix");
+            System.out.println("10 - Search by similar name");
+            System.out.println("11 - Search by eye color, status and features");
+            System.out.println("12 - Query (e.g. height >= 170 AND eyes = 'green' ORDER BY dateIn LIMIT 50)");
+            System.out.println("13 - Statistics");
+            System.out.println("14 - Look up name in saved file");
             System.out.println("0 - Back to main menu");
             System.out.print("Choice: ");
 
@@ -241,13 +248,10 @@ public class Main {
                     System.out.print("Enter exact name to search: ");
                     String searchName = scanner.nextLine();
                     boolean found = false;
-                    for (Prisoner p : list) {
-                        if (p.getFullName().equals(searchName)) {
-                            System.out.println("=== FOUND PRISONER ===");
-                            System.out.println(p);
-                            found = true;
-                            break;
-                        }
+                    for (Prisoner p : repository.findByName(searchName)) {
+                        System.out.println("=== FOUND PRISONER ===");
+                        System.out.println(p);
+                        found = true;
                     }
                     if (!found) {
                         System.out.println("Prisoner with exact name '" + searchName + "' not found.");
@@ -262,12 +266,10 @@ public class Main {
                     String eyeColor = scanner.nextLine();
                     System.out.println("Prisoners with eye color '" + eyeColor + "':");
                     boolean foundEye = false;
-                    for (Prisoner p : list) {
-                        if (p.getEyeColor().equalsIgnoreCase(eyeColor)) {
-                            System.out.println("=== Prisoner ===");
-                            System.out.println(p);
-                            foundEye = true;
-                        }
+                    for (Prisoner p : repository.findByEyeColor(eyeColor)) {
+                        System.out.println("=== Prisoner ===");
+                        System.out.println(p);
+                        foundEye = true;
                     }
                     if (!foundEye) {
                         System.out.println("No prisoners with eye color '" + eyeColor + "' found.");
@@ -283,12 +285,10 @@ public class Main {
                         int year = Integer.parseInt(scanner.nextLine());
                         System.out.println("Prisoners born in " + year + ":");
                         boolean foundYear = false;
-                        for (Prisoner p : list) {
-                            if (p.getBirthDate().getYear() == year) {
-                                System.out.println("=== Prisoner ===");
-                                System.out.println(p);
-                                foundYear = true;
-                            }
+                        for (Prisoner p : repository.findByBirthYear(year)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundYear = true;
                         }
                         if (!foundYear) {
                             System.out.println("No prisoners born in " + year + " found.");
@@ -307,12 +307,10 @@ public class Main {
                         int height = Integer.parseInt(scanner.nextLine());
                         System.out.println("Prisoners with height " + height + "cm:");
                         boolean foundHeight = false;
-                        for (Prisoner p : list) {
-                            if (p.getHeight() == height) {
-                                System.out.println("=== Prisoner ===");
-                                System.out.println(p);
-                                foundHeight = true;
-                            }
+                        for (Prisoner p : repository.findByHeight(height)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundHeight = true;
                         }
                         if (!foundHeight) {
                             System.out.println("No prisoners with height " + height + "cm found.");
@@ -326,19 +324,35 @@ public class Main {
 
                 case "5":
                     clearConsole();
-                    System.out.print("Enter exact feature: ");
-                    String feature = scanner.nextLine();
-                    System.out.println("Prisoners with feature '" + feature + "':");
-                    boolean foundFeature = false;
-                    for (Prisoner p : list) {
-                        if (p.getFeatures().contains(feature)) {
+                    System.out.println("Search by feature:");
+                    System.out.println("1 - All words");
+                    System.out.println("2 - Any word");
+                    System.out.println("3 - Exact phrase");
+                    System.out.print("Choice: ");
+                    String featureMode = scanner.nextLine();
+                    if (!featureMode.equals("1") && !featureMode.equals("2") && !featureMode.equals("3")) {
+                        System.out.println("Invalid choice.");
+                    } else {
+                        System.out.print("Enter feature words: ");
+                        String feature = scanner.nextLine();
+                        MyView<Prisoner> byFeature;
+                        if (featureMode.equals("1")) {
+                            byFeature = repository.findByFeatureWords(feature);
+                        } else if (featureMode.equals("2")) {
+                            byFeature = repository.findByAnyFeatureWord(feature);
+                        } else {
+                            byFeature = repository.findByFeaturePhrase(feature);
+                        }
+                        System.out.println("Prisoners with feature '" + feature + "':");
+                        boolean foundFeature = false;
+                        for (Prisoner p : byFeature) {
                             System.out.println("=== Prisoner ===");
                             System.out.println(p);
                             foundFeature = true;
                         }
-                    }
-                    if (!foundFeature) {
-                        System.out.println("No prisoners with feature '" + feature + "' found.");
+                        if (!foundFeature) {
+                            System.out.println("No prisoners with feature '" + feature + "' found.");
+                        }
                     }
                     System.out.print("Press Enter to continue...");
                     scanner.nextLine();
@@ -349,18 +363,18 @@ public class Main {
                     System.out.println("Search by status:");
                     System.out.println("1 - Currently imprisoned");
                     System.out.println("2 - Released");
+                    System.out.println("3 - In custody on date");
+                    System.out.println("4 - In custody during period");
                     System.out.print("Choice: ");
                     String statusChoice = scanner.nextLine();
 
                     if (statusChoice.equals("1")) {
                         System.out.println("Currently imprisoned prisoners:");
                         boolean foundImprisoned = false;
-                        for (Prisoner p : list) {
-                            if (p.getDateOut() == null) {
-                                System.out.println("=== Prisoner ===");
-                                System.out.println(p);
-                                foundImprisoned = true;
-                            }
+                        for (Prisoner p : repository.findByStatus(false)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundImprisoned = true;
                         }
                         if (!foundImprisoned) {
                             System.out.println("No currently imprisoned prisoners.");
@@ -368,16 +382,44 @@ public class Main {
                     } else if (statusChoice.equals("2")) {
                         System.out.println("Released prisoners:");
                         boolean foundReleased = false;
-                        for (Prisoner p : list) {
-                            if (p.getDateOut() != null) {
-                                System.out.println("=== Prisoner ===");
-                                System.out.println(p);
-                                foundReleased = true;
-                            }
+                        for (Prisoner p : repository.findByStatus(true)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundReleased = true;
                         }
                         if (!foundReleased) {
                             System.out.println("No released prisoners.");
                         }
+                    } else if (statusChoice.equals("3") || statusChoice.equals("4")) {
+                        try {
+                            MyView<Prisoner> inCustody;
+                            if (statusChoice.equals("3")) {
+                                System.out.print("Date (yyyy-mm-dd): ");
+                                LocalDate date = LocalDate.parse(scanner.nextLine());
+                                System.out.println("Prisoners in custody on " + date + ":");
+                                inCustody = repository.findInCustodyOn(date);
+                            } else {
+                                System.out.print("From date (yyyy-mm-dd): ");
+                                LocalDate from = LocalDate.parse(scanner.nextLine());
+                                System.out.print("To date (yyyy-mm-dd): ");
+                                LocalDate to = LocalDate.parse(scanner.nextLine());
+                                System.out.println("Prisoners in custody between " + from + " and " + to + ":");
+                                inCustody = repository.findInCustodyDuring(from, to);
+                            }
+                            int population = 0;
+                            for (Prisoner p : inCustody) {
+                                System.out.println("=== Prisoner ===");
+                                System.out.println(p);
+                                population++;
+                            }
+                            if (population == 0) {
+                                System.out.println("No prisoners in custody in this period.");
+                            } else {
+                                System.out.println("Total: " + population);
+                            }
+                        } catch (DateTimeParseException e) {
+                            System.out.println("Please enter a valid date.");
+                        }
                     } else {
                         System.out.println("Invalid choice.");
                     }
@@ -385,6 +427,169 @@ public class Main {
                     scanner.nextLine();
                     break;
 
+                case "7":
+                    clearConsole();
+                    try {
+                        System.out.print("Minimum height: ");
+                        int minHeight = Integer.parseInt(scanner.nextLine());
+                        System.out.print("Maximum height: ");
+                        int maxHeight = Integer.parseInt(scanner.nextLine());
+                        System.out.println("Prisoners with height " + minHeight + "-" + maxHeight + "cm:");
+                        boolean foundRange = false;
+                        for (Prisoner p : repository.findByHeightRange(minHeight, maxHeight)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundRange = true;
+                        }
+                        if (!foundRange) {
+                            System.out.println("No prisoners in this height range found.");
+                        }
+                    } catch (NumberFormatException e) {
+                        System.out.println("Please enter a valid height.");
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "8":
+                    clearConsole();
+                    try {
+                        System.out.print("From date (yyyy-mm-dd): ");
+                        LocalDate from = LocalDate.parse(scanner.nextLine());
+                        System.out.print("To date (yyyy-mm-dd): ");
+                        LocalDate to = LocalDate.parse(scanner.nextLine());
+                        System.out.println("Prisoners imprisoned between " + from + " and " + to + ":");
+                        boolean foundDates = false;
+                        for (Prisoner p : repository.findByDateInRange(from, to)) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                            foundDates = true;
+                        }
+                        if (!foundDates) {
+                            System.out.println("No prisoners imprisoned in this period found.");
+                        }
+                    } catch (DateTimeParseException e) {
+                        System.out.println("Please enter a valid date.");
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "9":
+                    clearConsole();
+                    System.out.print("Enter beginning of name: ");
+                    String prefix = scanner.nextLine();
+                    System.out.println("Prisoners whose name starts with '" + prefix + "':");
+                    boolean foundPrefix = false;
+                    for (Prisoner p : repository.findByNamePrefix(prefix, NAME_PREFIX_LIMIT)) {
+                        System.out.println("=== Prisoner ===");
+                        System.out.println(p);
+                        foundPrefix = true;
+                    }
+                    if (!foundPrefix) {
+                        System.out.println("No prisoners whose name starts with '" + prefix + "' found.");
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "10":
+                    clearConsole();
+                    System.out.print("Enter name: ");
+                    String similarName = scanner.nextLine();
+                    System.out.println("Prisoners with name similar to '" + similarName + "':");
+                    boolean foundSimilar = false;
+                    for (Prisoner p : repository.findBySimilarName(similarName, NAME_DISTANCE)) {
+                        System.out.println("=== Prisoner ===");
+                        System.out.println(p);
+                        foundSimilar = true;
+                    }
+                    if (!foundSimilar) {
+                        System.out.println("No prisoners with name similar to '" + similarName + "' found.");
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "11":
+                    clearConsole();
+                    System.out.print("Eye colors, comma separated (empty for any): ");
+                    List<String> eyeColors = splitList(scanner.nextLine());
+                    System.out.print("Status: 1 - imprisoned, 2 - released, empty for any: ");
+                    String statusInput = scanner.nextLine();
+                    Boolean released = statusInput.equals("1") ? Boolean.FALSE
+                            : statusInput.equals("2") ? Boolean.TRUE : null;
+                    System.out.print("Feature words, comma separated (empty for any): ");
+                    List<String> featureWords = splitList(scanner.nextLine());
+                    int matching = repository.countByAttributes(eyeColors, released, featureWords);
+                    System.out.println("Found " + matching + " prisoners:");
+                    for (Prisoner p : repository.findByAttributes(eyeColors, released, featureWords)) {
+                        System.out.println("=== Prisoner ===");
+                        System.out.println(p);
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "12":
+                    clearConsole();
+                    System.out.println("Fields: name, eyes, height, born, dateIn, dateOut (released), feature");
+                    System.out.println("Operators: = != < <= > >= STARTS CONTAINS, IS [NOT] NULL");
+                    System.out.print("Query: ");
+                    String queryText = scanner.nextLine();
+                    try {
+                        QueryResult queryResult = repository.query(queryText);
+                        for (Prisoner p : queryResult.getRows()) {
+                            System.out.println("=== Prisoner ===");
+                            System.out.println(p);
+                        }
+                        System.out.println("--- PLAN ---");
+                        System.out.println(queryResult.explain());
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Invalid query: " + e.getMessage());
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "13":
+                    clearConsole();
+                    PrisonerTable table = repository.toTable();
+                    PrisonerTable.Scan inCustodyToday = table.scan().inCustodyOn(LocalDate.now());
+                    System.out.println("Total prisoners: " + table.size());
+                    System.out.println("In custody today: " + inCustodyToday.count());
+                    System.out.printf("Average height: %.1f cm%n", table.scan().averageHeight());
+                    System.out.println("By eye color: " + table.scan().countByEyeColor());
+                    System.out.println("By feature: " + table.scan().countByFeature());
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
+                case "14":
+                    clearConsole();
+                    System.out.print("Enter exact name to look up in " + DAT_PATH + ": ");
+                    String archivedName = scanner.nextLine();
+                    if (!PrisonerFile.isPrisonerFile(DAT_PATH)) {
+                        System.out.println("No saved prisoner file. Save prisoners first to create it.");
+                    } else {
+                        try (MappedPrisonerFile archive = MappedPrisonerFile.open(DAT_PATH)) {
+                            boolean archived = false;
+                            for (Prisoner p : archive.scan(r -> archivedName.equals(r.getFullName()))) {
+                                System.out.println("=== FOUND PRISONER ===");
+                                System.out.println(p);
+                                archived = true;
+                            }
+                            if (!archived) {
+                                System.out.println("Prisoner with exact name '" + archivedName + "' not found in saved file.");
+                            }
+                        } catch (Exception e) {
+                            System.out.println("Error reading " + DAT_PATH + ": " + e.getMessage());
+                        }
+                    }
+                    System.out.print("Press Enter to continue...");
+                    scanner.nextLine();
+                    break;
+
                 case "0":
                     return;
 
@@ -396,6 +601,21 @@ public class Main {
         }
     }
 
+    /**
+     * Разбивает строку по запятым, отбрасывая пустые элементы.
+     * 
+     * @param input введенная строка
+     * @return элементы без пробелов по краям
+     */
+    private static List<String> splitList(String input) {
+        List<String> items = new ArrayList<>();
+        for (String item : input.split(",")) {
+            if (!item.trim().isEmpty())
+                items.add(item.trim());
+        }
+        return items;
+    }
+
     /**
      * Очищает консоль в зависимости от операционной системы.
      * Работает на Windows (cmd) и Unix-подобных системах.
@@ -0,0 +1,336 @@
+package prisoners;
+
+import container.MyView;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Файл заключенных формата {@link PrisonerFile}, открытый для
+ * произвольного доступа через отображение в память.
+ * При открытии читаются только заголовок, концевик, оглавление и словарь;
+ * блок отображается через {@link FileChannel#map} и проверяется по
+ * контрольной сумме при первом обращении к одной из его записей, а запись
+ * декодируется по таблице смещений блока, когда ее запрашивают. Поэтому
+ * открытие не зависит от размера файла, а операционная система читает
+ * только страницы затронутых блоков. {@link #close} снимает все отображения
+ * сразу, чтобы файл можно было перезаписать.
+ * 
+ * @version 1.0
+ */
+public class MappedPrisonerFile implements Iterable<Prisoner>, Closeable {
+    /** Канал файла */
+    private final FileChannel channel;
+    /** Размер файла в байтах */
+    private final long fileSize;
+    /** Оглавление файла */
+    private final PrisonerFile.Index index;
+    /** Отображенные и проверенные блоки ({@code null} - еще не отображен) */
+    private final AtomicReferenceArray<ByteBuffer> blocks;
+    /** Все созданные отображения, снимаются при закрытии */
+    private final Queue<ByteBuffer> mappings = new ConcurrentLinkedQueue<>();
+    /** Признак закрытого файла */
+    private volatile boolean closed;
+
+    /**
+     * Открывает файл и читает его оглавление.
+     * 
+     * @param channel канал файла
+     * @throws IOException если файл не в формате {@link PrisonerFile} или
+     *                     поврежден
+     */
+    private MappedPrisonerFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        if (fileSize < PrisonerFile.HEADER_SIZE + PrisonerFile.TRAILER_SIZE)
+            throw new IOException("Not a prisoner file");
+        this.index = PrisonerFile.Index.read(readAt(0, PrisonerFile.HEADER_SIZE),
+                readAt(fileSize - PrisonerFile.TRAILER_SIZE, PrisonerFile.TRAILER_SIZE), this::mapSection);
+        this.blocks = new AtomicReferenceArray<>(index.blockCount());
+    }
+
+    /**
+     * Открывает файл заключенных для чтения.
+     * 
+     * @param filename имя файла
+     * @return открытый файл
+     * @throws IOException при ошибке ввода-вывода или если файл не в формате
+     *                     {@link PrisonerFile}
+     */
+    public static MappedPrisonerFile open(String filename) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        try {
+            return new MappedPrisonerFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Читает участок файла в буфер в куче.
+     * 
+     * @param position начало участка
+     * @param length   длина участка
+     * @return буфер с данными участка
+     * @throws IOException если файл закончился раньше
+     */
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Truncated prisoner file");
+        }
+        return buffer;
+    }
+
+    /**
+     * Отображает секцию файла в память и проверяет ее.
+     * 
+     * @param offset смещение секции
+     * @param name   название секции для сообщений об ошибках
+     * @return данные секции
+     * @throws IOException если секция выходит за файл, повреждена или файл
+     *                     закрыт
+     */
+    private ByteBuffer mapSection(long offset, String name) throws IOException {
+        if (closed)
+            throw new IOException("Prisoner file is closed");
+        if (offset < PrisonerFile.HEADER_SIZE || offset > fileSize - PrisonerFile.SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        int length = readAt(offset, Integer.BYTES).getInt(0);
+        if (length < 0 || length > fileSize - offset - PrisonerFile.SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, PrisonerFile.SECTION_HEADER + length);
+        mappings.add(mapped);
+        return PrisonerFile.section(mapped, 0, name);
+    }
+
+    /**
+     * Возвращает данные блока, отображая его при первом обращении.
+     * 
+     * @param block номер блока
+     * @return данные блока
+     * @throws IOException если блок поврежден или файл закрыт
+     */
+    private ByteBuffer blockData(int block) throws IOException {
+        if (closed)
+            throw new IOException("Prisoner file is closed");
+        ByteBuffer data = blocks.get(block);
+        if (data == null) {
+            data = mapSection(index.blockOffsets[block], "block " + block);
+            blocks.compareAndSet(block, null, data);
+        }
+        return data;
+    }
+
+    /**
+     * Закрывает файл и снимает все его отображения, после чего файл можно
+     * перезаписать (в Windows отображенный файл заблокирован). Дальнейшие
+     * обращения к файлу завершаются ошибкой. Представления
+     * {@link PrisonerRecord}, полученные до закрытия, читают снятое
+     * отображение, поэтому их нужно преобразовать в заключенных до вызова
+     * этого метода и не использовать после.
+     * 
+     * @throws IOException при ошибке закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (int block = 0; block < blocks.length(); block++)
+            blocks.set(block, null);
+        for (ByteBuffer mapped; (mapped = mappings.poll()) != null;)
+            unmap(mapped);
+        channel.close();
+    }
+
+    /**
+     * Снимает отображение сразу, не дожидаясь сборщика мусора. Если среда
+     * выполнения не дает такой возможности, отображение остается до сборки
+     * буфера.
+     * 
+     * @param mapped буфер, возвращенный {@link FileChannel#map}
+     */
+    private static void unmap(ByteBuffer mapped) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), mapped);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return;
+        }
+    }
+
+    // --- Доступ к записям ---
+
+    /**
+     * Возвращает количество записей в файле.
+     * 
+     * @return количество записей
+     */
+    public int size() {
+        return index.size;
+    }
+
+    /**
+     * Проверяет, пуст ли файл.
+     * 
+     * @return {@code true} если записей нет
+     */
+    public boolean isEmpty() {
+        return index.size == 0;
+    }
+
+    /**
+     * Декодирует запись по номеру, затрагивая только ее блок.
+     * 
+     * @param record номер записи
+     * @return заключенный
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     * @throws UncheckedIOException      если блок поврежден или файл закрыт
+     */
+    public Prisoner get(int record) {
+        Objects.checkIndex(record, index.size);
+        int block = index.blockOf(record);
+        try {
+            return PrisonerFile.decodeRecord(blockData(block), record - index.firstRecords[block], index.dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Возвращает ленивое представление записи: поля декодируются при
+     * обращении к ним.
+     * 
+     * @param record номер записи
+     * @return представление записи
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     * @throws UncheckedIOException      если блок поврежден или файл закрыт
+     */
+    public PrisonerRecord record(int record) {
+        Objects.checkIndex(record, index.size);
+        int block = index.blockOf(record);
+        try {
+            ByteBuffer data = blockData(block);
+            return new PrisonerRecord(data, PrisonerFile.recordOffset(data, record - index.firstRecords[block]),
+                    index.dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --- Обход ---
+
+    /**
+     * Возвращает итератор, декодирующий записи по одной.
+     * 
+     * @return итератор по записям
+     */
+    @Override
+    public Iterator<Prisoner> iterator() {
+        return new Iterator<Prisoner>() {
+            /** Номер следующей записи */
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < index.size;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return get(position++);
+            }
+        };
+    }
+
+    /**
+     * Возвращает ленивое представление всех записей файла без создания
+     * объектов заключенных.
+     * 
+     * @return представление записей
+     */
+    public MyView<PrisonerRecord> records() {
+        return MyView.of(() -> IntStream.range(0, index.size).mapToObj(this::record).iterator());
+    }
+
+    /**
+     * Находит заключенных, записи которых удовлетворяют условию. Условие
+     * проверяется по ленивому представлению записи, поэтому декодируются
+     * только поля, которые оно читает; объект заключенного создается только
+     * для подходящих записей.
+     * 
+     * @param predicate условие на запись
+     * @return ленивое представление найденных заключенных
+     */
+    public MyView<Prisoner> scan(Predicate<? super PrisonerRecord> predicate) {
+        return records().filter(predicate).map(PrisonerRecord::toPrisoner);
+    }
+
+    /**
+     * Возвращает поток заключенных. Поток делится по номерам записей,
+     * поэтому в параллельном режиме блоки декодируются разными потоками.
+     * 
+     * @return поток заключенных
+     */
+    public Stream<Prisoner> stream() {
+        return IntStream.range(0, index.size).mapToObj(this::get);
+    }
+
+    /**
+     * Возвращает ленивое представление заключенных, удовлетворяющих условию.
+     * 
+     * @param predicate условие фильтрации
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> filter(Predicate<? super Prisoner> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    /**
+     * Возвращает ленивое представление преобразованных заключенных.
+     * 
+     * @param <R>    тип результата преобразования
+     * @param mapper функция преобразования
+     * @return ленивое представление
+     */
+    public <R> MyView<R> map(Function<? super Prisoner, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    /**
+     * Возвращает ленивое представление первых {@code n} заключенных.
+     * 
+     * @param n максимальное количество элементов
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    /**
+     * Возвращает ленивое представление без первых {@code n} заключенных.
+     * 
+     * @param n количество пропускаемых элементов
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> skip(long n) {
+        return MyView.of(this).skip(n);
+    }
+}
\ No newline at end of file
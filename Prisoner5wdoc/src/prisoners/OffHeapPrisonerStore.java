@@ -0,0 +1,706 @@
+package prisoners;
+
+import container.MyView;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище заключенных вне кучи Java.
+ * Записи фиксированной длины лежат подряд в прямом (direct)
+ * {@link ByteBuffer}: имя, цвет глаз и начало списка примет - ссылками,
+ * даты - номерами дней от эпохи, рост - числом. Строки в кодировке UTF-8
+ * хранятся во второй прямой области, приметы записи - в третьей, как
+ * ссылки на строки подряд. Одинаковые цвета глаз и приметы записываются
+ * один раз: словарь для их поиска - хэш-таблица ссылок с открытой
+ * адресацией - тоже лежит в прямом буфере. В куче остаются только объекты
+ * буферов, поэтому сборщик мусора не обходит миллионы узлов, объектов
+ * заключенных и строк.
+ * Условие, заданное через {@link #scan}, проверяется по представлению
+ * {@link Row}, которое читает поля прямо из буфера; объект
+ * {@link Prisoner} создается только для подходящих записей.
+ * Хранилище пополняется методом {@link #add} и не поддерживает удаление.
+ * 
+ * @version 1.0
+ */
+public class OffHeapPrisonerStore implements Iterable<Prisoner> {
+    /** Ссылка на отсутствующую строку и признак пустой ячейки словаря */
+    private static final int NULL_REF = -1;
+    /** Результат поиска строки, которой нет в словаре */
+    private static final int MISSING_REF = -2;
+    /** Смещение ссылки на имя в записи */
+    private static final int NAME = 0;
+    /** Смещение даты рождения в записи */
+    private static final int BIRTH_DAY = 4;
+    /** Смещение роста в записи */
+    private static final int HEIGHT = 8;
+    /** Смещение ссылки на цвет глаз в записи */
+    private static final int EYE_COLOR = 12;
+    /** Смещение даты заключения в записи */
+    private static final int DAY_IN = 16;
+    /** Смещение даты освобождения в записи */
+    private static final int DAY_OUT = 20;
+    /** Смещение начала примет в записи */
+    private static final int FEATURE_START = 24;
+    /** Смещение количества примет в записи */
+    private static final int FEATURE_COUNT = 28;
+    /** Длина записи в байтах */
+    private static final int RECORD_SIZE = 32;
+    /** Начальная емкость буферов в байтах */
+    private static final int INITIAL_BYTES = 4096;
+    /** Начальное количество ячеек словаря (степень двойки) */
+    private static final int INITIAL_SLOTS = 64;
+
+    /** Записи фиксированной длины */
+    private ByteBuffer records = allocate(INITIAL_BYTES);
+    /** Строки: длина в байтах и байты UTF-8 */
+    private ByteBuffer strings = allocate(INITIAL_BYTES);
+    /** Приметы: ссылки на строки подряд */
+    private ByteBuffer features = allocate(INITIAL_BYTES);
+    /** Количество записей */
+    private int size;
+    /** Занятая часть области строк */
+    private int stringsUsed;
+    /** Занятая часть области примет */
+    private int featuresUsed;
+    /** Словарь цветов глаз и примет: ячейки со ссылками на строки */
+    private ByteBuffer dictionary = emptySlots(INITIAL_SLOTS);
+    /** Количество ячеек словаря */
+    private int slots = INITIAL_SLOTS;
+    /** Количество строк в словаре */
+    private int pooledCount;
+
+    /**
+     * Создает хранилище из заключенных.
+     * 
+     * @param prisoners заключенные
+     * @return заполненное хранилище
+     */
+    public static OffHeapPrisonerStore of(Iterable<Prisoner> prisoners) {
+        OffHeapPrisonerStore store = new OffHeapPrisonerStore();
+        for (Prisoner prisoner : prisoners)
+            store.add(prisoner);
+        return store;
+    }
+
+    /**
+     * Выделяет прямой буфер с родным порядком байтов.
+     * 
+     * @param capacity емкость в байтах
+     * @return буфер вне кучи
+     */
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Выделяет словарь с пустыми ячейками.
+     * 
+     * @param slots количество ячеек
+     * @return буфер словаря
+     */
+    private static ByteBuffer emptySlots(int slots) {
+        ByteBuffer buffer = allocate(slots * Integer.BYTES);
+        for (int slot = 0; slot < slots; slot++)
+            buffer.putInt(slot * Integer.BYTES, NULL_REF);
+        return buffer;
+    }
+
+    /**
+     * Возвращает буфер, вмещающий еще {@code extra} байт после занятой
+     * части, при необходимости копируя данные в буфер вдвое большего размера.
+     * 
+     * @param buffer буфер
+     * @param used   занятая часть
+     * @param extra  требуемое место
+     * @return тот же или новый буфер
+     * @throws IllegalStateException если область превысит 2 ГБ
+     */
+    private static ByteBuffer ensure(ByteBuffer buffer, long used, int extra) {
+        long required = used + extra;
+        if (required <= buffer.capacity())
+            return buffer;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("Off-heap area is full");
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+        ByteBuffer grown = allocate(capacity);
+        grown.put(0, buffer, 0, (int) used);
+        return grown;
+    }
+
+    // --- Изменение ---
+
+    /**
+     * Добавляет заключенного в конец хранилища.
+     * 
+     * @param prisoner заключенный
+     * @throws IllegalStateException если одна из областей превысит 2 ГБ
+     */
+    public void add(Prisoner prisoner) {
+        int count = prisoner.featureCount();
+        features = ensure(features, featuresUsed, count * Integer.BYTES);
+        int featureStart = featuresUsed;
+        for (int i = 0; i < count; i++) {
+            features.putInt(featuresUsed, pooledRef(prisoner.featureAt(i)));
+            featuresUsed += Integer.BYTES;
+        }
+
+        int nameRef = writeString(prisoner.getFullName());
+        int eyeRef = pooledRef(prisoner.getEyeColor());
+        records = ensure(records, (long) size * RECORD_SIZE, RECORD_SIZE);
+        int base = size * RECORD_SIZE;
+        records.putInt(base + NAME, nameRef);
+        records.putInt(base + BIRTH_DAY, prisoner.getBirthDay());
+        records.putInt(base + HEIGHT, prisoner.getHeight());
+        records.putInt(base + EYE_COLOR, eyeRef);
+        records.putInt(base + DAY_IN, prisoner.getDayIn());
+        records.putInt(base + DAY_OUT, prisoner.getDayOut());
+        records.putInt(base + FEATURE_START, featureStart);
+        records.putInt(base + FEATURE_COUNT, count);
+        size++;
+    }
+
+    /**
+     * Возвращает ссылку на строку, записывая ее только при первом появлении.
+     * 
+     * @param value строка или {@code null}
+     * @return ссылка на строку
+     */
+    private int pooledRef(String value) {
+        if (value == null)
+            return NULL_REF;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int slot = findSlot(bytes);
+        int ref = dictionary.getInt(slot * Integer.BYTES);
+        if (ref == NULL_REF) {
+            ref = writeString(bytes);
+            dictionary.putInt(slot * Integer.BYTES, ref);
+            if (++pooledCount * 2 > slots)
+                rehash();
+        }
+        return ref;
+    }
+
+    /**
+     * Ищет строку в словаре, не добавляя ее.
+     * 
+     * @param value строка или {@code null}
+     * @return ссылка на строку или {@link #MISSING_REF}, если строки нет
+     */
+    private int findPooled(String value) {
+        if (value == null)
+            return NULL_REF;
+        int ref = dictionary.getInt(findSlot(value.getBytes(StandardCharsets.UTF_8)) * Integer.BYTES);
+        return ref == NULL_REF ? MISSING_REF : ref;
+    }
+
+    /**
+     * Находит ячейку словаря со строкой или первую пустую ячейку на пути
+     * линейного пробирования.
+     * 
+     * @param bytes строка в UTF-8
+     * @return номер ячейки
+     */
+    private int findSlot(byte[] bytes) {
+        int mask = slots - 1;
+        int slot = spread(Arrays.hashCode(bytes)) & mask;
+        while (true) {
+            int ref = dictionary.getInt(slot * Integer.BYTES);
+            if (ref == NULL_REF || stringEquals(ref, bytes))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Увеличивает словарь вдвое и раскладывает ссылки заново. Хэш строки
+     * считается по ее байтам в области строк.
+     */
+    private void rehash() {
+        ByteBuffer old = dictionary;
+        int oldSlots = slots;
+        slots *= 2;
+        dictionary = emptySlots(slots);
+        int mask = slots - 1;
+        for (int i = 0; i < oldSlots; i++) {
+            int ref = old.getInt(i * Integer.BYTES);
+            if (ref == NULL_REF)
+                continue;
+            int slot = spread(stringHash(ref)) & mask;
+            while (dictionary.getInt(slot * Integer.BYTES) != NULL_REF)
+                slot = (slot + 1) & mask;
+            dictionary.putInt(slot * Integer.BYTES, ref);
+        }
+    }
+
+    /**
+     * Перемешивает старшие биты хэша с младшими.
+     * 
+     * @param hash исходный хэш
+     * @return хэш для выбора ячейки
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Считает хэш записанной строки так же, как {@link Arrays#hashCode(byte[])}.
+     * 
+     * @param ref ссылка на строку
+     * @return хэш байтов строки
+     */
+    private int stringHash(int ref) {
+        int length = strings.getInt(ref);
+        int hash = 1;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + strings.get(ref + Integer.BYTES + i);
+        return hash;
+    }
+
+    /**
+     * Сравнивает записанную строку с байтами без создания объектов.
+     * 
+     * @param ref   ссылка на строку
+     * @param bytes строка в UTF-8
+     * @return {@code true} если байты совпадают
+     */
+    private boolean stringEquals(int ref, byte[] bytes) {
+        if (strings.getInt(ref) != bytes.length)
+            return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(ref + Integer.BYTES + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Записывает строку в область строк.
+     * 
+     * @param value строка или {@code null}
+     * @return ссылка на строку
+     */
+    private int writeString(String value) {
+        return value == null ? NULL_REF : writeString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Записывает байты строки в область строк.
+     * 
+     * @param bytes строка в UTF-8
+     * @return ссылка на строку
+     */
+    private int writeString(byte[] bytes) {
+        strings = ensure(strings, stringsUsed, Integer.BYTES + bytes.length);
+        int ref = stringsUsed;
+        strings.putInt(ref, bytes.length);
+        strings.put(ref + Integer.BYTES, bytes);
+        stringsUsed += Integer.BYTES + bytes.length;
+        return ref;
+    }
+
+    /**
+     * Удаляет все записи. Буферы остаются выделенными для повторного
+     * заполнения.
+     */
+    public void clear() {
+        size = 0;
+        stringsUsed = 0;
+        featuresUsed = 0;
+        for (int slot = 0; slot < slots; slot++)
+            dictionary.putInt(slot * Integer.BYTES, NULL_REF);
+        pooledCount = 0;
+    }
+
+    // --- Доступ к записям ---
+
+    /**
+     * Возвращает количество записей.
+     * 
+     * @return количество записей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пусто ли хранилище.
+     * 
+     * @return {@code true} если записей нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает объем занятой памяти вне кучи.
+     * 
+     * @return количество байт во всех областях, включая словарь
+     */
+    public long offHeapBytes() {
+        return (long) size * RECORD_SIZE + stringsUsed + featuresUsed + (long) slots * Integer.BYTES;
+    }
+
+    /**
+     * Возвращает смещение записи, проверяя номер.
+     * 
+     * @param index номер записи
+     * @return смещение записи в байтах
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    private int base(int index) {
+        return Objects.checkIndex(index, size) * RECORD_SIZE;
+    }
+
+    /**
+     * Читает строку по ссылке.
+     * 
+     * @param ref ссылка на строку
+     * @return строка или {@code null}
+     */
+    private String readString(int ref) {
+        if (ref == NULL_REF)
+            return null;
+        byte[] bytes = new byte[strings.getInt(ref)];
+        strings.get(ref + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Возвращает полное имя из записи.
+     * 
+     * @param index номер записи
+     * @return полное имя
+     */
+    public String nameAt(int index) {
+        return readString(records.getInt(base(index) + NAME));
+    }
+
+    /**
+     * Возвращает рост из записи без создания объектов.
+     * 
+     * @param index номер записи
+     * @return рост в сантиметрах
+     */
+    public int heightAt(int index) {
+        return records.getInt(base(index) + HEIGHT);
+    }
+
+    /**
+     * Возвращает дату рождения из записи без создания объектов.
+     * 
+     * @param index номер записи
+     * @return номер дня от эпохи или {@link Prisoner#NULL_DAY}
+     */
+    public int birthDayAt(int index) {
+        return records.getInt(base(index) + BIRTH_DAY);
+    }
+
+    /**
+     * Возвращает дату заключения из записи без создания объектов.
+     * 
+     * @param index номер записи
+     * @return номер дня от эпохи или {@link Prisoner#NULL_DAY}
+     */
+    public int dayInAt(int index) {
+        return records.getInt(base(index) + DAY_IN);
+    }
+
+    /**
+     * Возвращает дату освобождения из записи без создания объектов.
+     * 
+     * @param index номер записи
+     * @return номер дня от эпохи или {@link Prisoner#NULL_DAY}
+     */
+    public int dayOutAt(int index) {
+        return records.getInt(base(index) + DAY_OUT);
+    }
+
+    /**
+     * Восстанавливает заключенного из записи.
+     * 
+     * @param index номер записи
+     * @return новый объект заключенного
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public Prisoner get(int index) {
+        int base = base(index);
+        int start = records.getInt(base + FEATURE_START);
+        int count = records.getInt(base + FEATURE_COUNT);
+        List<String> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            list.add(readString(features.getInt(start + i * Integer.BYTES)));
+        return new Prisoner(readString(records.getInt(base + NAME)),
+                Prisoner.toDate(records.getInt(base + BIRTH_DAY)),
+                records.getInt(base + HEIGHT),
+                readString(records.getInt(base + EYE_COLOR)),
+                list,
+                Prisoner.toDate(records.getInt(base + DAY_IN)),
+                Prisoner.toDate(records.getInt(base + DAY_OUT)));
+    }
+
+    // --- Обход ---
+
+    /**
+     * Возвращает итератор, восстанавливающий заключенных по одной записи.
+     * Записи, добавленные после создания итератора, не обходятся.
+     * 
+     * @return итератор по записям
+     */
+    @Override
+    public Iterator<Prisoner> iterator() {
+        int end = size;
+        return new Iterator<Prisoner>() {
+            /** Номер следующей записи */
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Возвращает ленивое представление всех записей хранилища без создания
+     * объектов заключенных.
+     * 
+     * @return представление записей
+     */
+    public MyView<Row> rows() {
+        int end = size;
+        return MyView.of(() -> IntStream.range(0, end).mapToObj(Row::new).iterator());
+    }
+
+    /**
+     * Находит заключенных, записи которых удовлетворяют условию. Условие
+     * читает поля прямо из буфера; объект заключенного создается только
+     * для подходящих записей.
+     * 
+     * @param predicate условие на запись
+     * @return ленивое представление найденных заключенных
+     */
+    public MyView<Prisoner> scan(Predicate<? super Row> predicate) {
+        return rows().filter(predicate).map(Row::toPrisoner);
+    }
+
+    /**
+     * Возвращает поток заключенных. Поток делится по номерам записей,
+     * поэтому его параллельная версия не требует обхода.
+     * 
+     * @return поток заключенных
+     */
+    public Stream<Prisoner> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    /**
+     * Возвращает ленивое представление заключенных, удовлетворяющих условию.
+     * Условие получает восстановленный объект, поэтому объект создается
+     * для каждой записи; для условий по полям дешевле {@link #scan}.
+     * 
+     * @param predicate условие фильтрации
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> filter(Predicate<? super Prisoner> predicate) {
+        return MyView.of(this).filter(predicate);
+    }
+
+    /**
+     * Возвращает ленивое представление преобразованных заключенных.
+     * 
+     * @param <R>    тип результата преобразования
+     * @param mapper функция преобразования
+     * @return ленивое представление
+     */
+    public <R> MyView<R> map(Function<? super Prisoner, ? extends R> mapper) {
+        return MyView.of(this).map(mapper);
+    }
+
+    /**
+     * Возвращает ленивое представление первых {@code n} заключенных.
+     * 
+     * @param n максимальное количество элементов
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> limit(long n) {
+        return MyView.of(this).limit(n);
+    }
+
+    /**
+     * Возвращает ленивое представление без первых {@code n} заключенных.
+     * 
+     * @param n количество пропускаемых элементов
+     * @return ленивое представление
+     */
+    public MyView<Prisoner> skip(long n) {
+        return MyView.of(this).skip(n);
+    }
+
+    /**
+     * Представление записи хранилища: поля читаются из буфера при каждом
+     * обращении, строки создаются только методами, которые их возвращают.
+     * Представление действительно, пока хранилище не очищено.
+     */
+    public final class Row {
+        /** Номер записи */
+        private final int index;
+        /** Смещение записи в байтах */
+        private final int base;
+
+        /**
+         * Создает представление записи.
+         * 
+         * @param index номер записи
+         */
+        private Row(int index) {
+            this.index = index;
+            this.base = base(index);
+        }
+
+        /**
+         * Возвращает номер записи.
+         * 
+         * @return номер записи
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Возвращает полное имя.
+         * 
+         * @return полное имя
+         */
+        public String getFullName() {
+            return readString(records.getInt(base + NAME));
+        }
+
+        /**
+         * Возвращает дату рождения в днях от эпохи.
+         * 
+         * @return номер дня или {@link Prisoner#NULL_DAY}
+         */
+        public int getBirthDay() {
+            return records.getInt(base + BIRTH_DAY);
+        }
+
+        /**
+         * Возвращает рост.
+         * 
+         * @return рост в сантиметрах
+         */
+        public int getHeight() {
+            return records.getInt(base + HEIGHT);
+        }
+
+        /**
+         * Возвращает цвет глаз.
+         * 
+         * @return цвет глаз
+         */
+        public String getEyeColor() {
+            return readString(records.getInt(base + EYE_COLOR));
+        }
+
+        /**
+         * Проверяет цвет глаз на точное совпадение без создания строки.
+         * 
+         * @param eyeColor цвет глаз
+         * @return {@code true} если цвет совпадает
+         */
+        public boolean hasEyeColor(String eyeColor) {
+            return records.getInt(base + EYE_COLOR) == findPooled(eyeColor);
+        }
+
+        /**
+         * Возвращает дату заключения в днях от эпохи.
+         * 
+         * @return номер дня или {@link Prisoner#NULL_DAY}
+         */
+        public int getDayIn() {
+            return records.getInt(base + DAY_IN);
+        }
+
+        /**
+         * Возвращает дату освобождения в днях от эпохи.
+         * 
+         * @return номер дня или {@link Prisoner#NULL_DAY} если заключенный
+         *         еще не освобожден
+         */
+        public int getDayOut() {
+            return records.getInt(base + DAY_OUT);
+        }
+
+        /**
+         * Проверяет, освобожден ли заключенный.
+         * 
+         * @return {@code true} если дата освобождения задана
+         */
+        public boolean isReleased() {
+            return getDayOut() != Prisoner.NULL_DAY;
+        }
+
+        /**
+         * Возвращает количество особых примет.
+         * 
+         * @return количество примет
+         */
+        public int featureCount() {
+            return records.getInt(base + FEATURE_COUNT);
+        }
+
+        /**
+         * Возвращает особую примету по номеру.
+         * 
+         * @param feature номер приметы
+         * @return примета
+         * @throws IndexOutOfBoundsException если номер вне диапазона
+         */
+        public String featureAt(int feature) {
+            Objects.checkIndex(feature, featureCount());
+            return readString(features.getInt(records.getInt(base + FEATURE_START) + feature * Integer.BYTES));
+        }
+
+        /**
+         * Проверяет наличие точно совпадающей особой приметы. Примета
+         * ищется в словаре один раз, дальше сравниваются ссылки.
+         * 
+         * @param feature примета
+         * @return {@code true} если примета есть
+         */
+        public boolean hasFeature(String feature) {
+            int ref = findPooled(feature);
+            if (ref == MISSING_REF)
+                return false;
+            int start = records.getInt(base + FEATURE_START);
+            int count = featureCount();
+            for (int i = 0; i < count; i++) {
+                if (features.getInt(start + i * Integer.BYTES) == ref)
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Восстанавливает заключенного из записи.
+         * 
+         * @return новый объект заключенного
+         */
+        public Prisoner toPrisoner() {
+            return get(index);
+        }
+    }
+}
\ No newline at end of file
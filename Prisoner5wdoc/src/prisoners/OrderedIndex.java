@@ -0,0 +1,78 @@
+package prisoners;
+
+import container.MyBPlusTree;
+import container.MyView;
+import java.util.function.Function;
+
+/**
+ * Упорядоченный индекс по одному полю заключенного на основе B+-дерева.
+ * Поддерживает поиск диапазона, обход в порядке поля и выборку первых k.
+ * Заключенные с пустым значением поля в индекс не попадают.
+ * 
+ * @param <K> тип поля
+ * @version 1.0
+ */
+class OrderedIndex<K extends Comparable<? super K>> implements PrisonerIndex {
+    /** Дерево поле - заключенные */
+    private final MyBPlusTree<K, Prisoner> tree = new MyBPlusTree<>();
+    /** Функция получения поля заключенного */
+    private final Function<Prisoner, K> key;
+
+    /**
+     * Создает индекс по указанному полю.
+     * 
+     * @param key функция получения поля заключенного
+     */
+    OrderedIndex(Function<Prisoner, K> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        K value = key.apply(prisoner);
+        if (value != null)
+            tree.put(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        K value = key.apply(prisoner);
+        if (value != null)
+            tree.remove(value, prisoner);
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+    }
+
+    /**
+     * Возвращает заключенных со значением поля в диапазоне включительно.
+     * 
+     * @param from нижняя граница или {@code null} без ограничения
+     * @param to   верхняя граница или {@code null} без ограничения
+     * @return заключенные в порядке возрастания поля
+     */
+    MyView<Prisoner> range(K from, K to) {
+        return tree.range(from, to);
+    }
+
+    /**
+     * Возвращает всех заключенных индекса в порядке поля.
+     * 
+     * @param descending {@code true} для порядка по убыванию
+     * @return заключенные в порядке поля
+     */
+    MyView<Prisoner> ordered(boolean descending) {
+        return descending ? tree.descending() : tree.ascending();
+    }
+
+    /**
+     * Возвращает количество заключенных в индексе.
+     * 
+     * @return количество заключенных
+     */
+    int size() {
+        return tree.size();
+    }
+}
\ No newline at end of file
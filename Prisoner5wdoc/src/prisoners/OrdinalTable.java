@@ -0,0 +1,102 @@
+package prisoners;
+
+import container.MyBitmap;
+import container.MyView;
+import java.util.*;
+
+/**
+ * Таблица порядковых номеров заключенных для битовых индексов.
+ * Каждому заключенному в хранилище выдается небольшой неотрицательный
+ * номер; номера удаленных заключенных используются повторно, поэтому
+ * номера остаются плотными и битовые множества - компактными.
+ * 
+ * @version 1.0
+ */
+class OrdinalTable {
+    /** Заключенный - номер */
+    private final Map<Prisoner, Integer> ordinals = new HashMap<>();
+    /** Номер - заключенный ({@code null} для свободного номера) */
+    private final List<Prisoner> prisoners = new ArrayList<>();
+    /** Освободившиеся номера */
+    private final Deque<Integer> free = new ArrayDeque<>();
+    /** Номера заключенных, которые сейчас в хранилище */
+    private final MyBitmap live = new MyBitmap();
+
+    /**
+     * Выдает номер заключенному.
+     * 
+     * @param prisoner заключенный
+     * @return номер заключенного
+     */
+    int assign(Prisoner prisoner) {
+        Integer existing = ordinals.get(prisoner);
+        if (existing != null)
+            return existing;
+        int ordinal;
+        if (free.isEmpty()) {
+            ordinal = prisoners.size();
+            prisoners.add(prisoner);
+        } else {
+            ordinal = free.pop();
+            prisoners.set(ordinal, prisoner);
+        }
+        ordinals.put(prisoner, ordinal);
+        live.add(ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Освобождает номер заключенного.
+     * 
+     * @param prisoner заключенный
+     */
+    void release(Prisoner prisoner) {
+        Integer ordinal = ordinals.remove(prisoner);
+        if (ordinal == null)
+            return;
+        prisoners.set(ordinal, null);
+        free.push(ordinal);
+        live.remove(ordinal);
+    }
+
+    /**
+     * Возвращает номер заключенного.
+     * 
+     * @param prisoner заключенный
+     * @return номер или -1, если номер не выдан
+     */
+    int ordinalOf(Prisoner prisoner) {
+        Integer ordinal = ordinals.get(prisoner);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Возвращает множество номеров всех заключенных в хранилище.
+     * Множество нельзя изменять.
+     * 
+     * @return номера заключенных
+     */
+    MyBitmap live() {
+        return live;
+    }
+
+    /**
+     * Превращает множество номеров в заключенных.
+     * 
+     * @param selection номера
+     * @return заключенные в порядке номеров
+     */
+    MyView<Prisoner> select(MyBitmap selection) {
+        return MyView.of(selection).map(prisoners::get);
+    }
+
+    /**
+     * Освобождает все номера.
+     */
+    void clear() {
+        ordinals.clear();
+        prisoners.clear();
+        free.clear();
+        live.clear();
+    }
+}
\ No newline at end of file
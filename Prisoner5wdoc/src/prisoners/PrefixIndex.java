@@ -0,0 +1,67 @@
+package prisoners;
+
+import container.MyTrie;
+import container.MyView;
+import java.util.function.Function;
+
+/**
+ * Префиксный индекс по строковому полю заключенного без учета регистра.
+ * Заключенные с пустым значением поля в индекс не попадают.
+ * 
+ * @version 1.0
+ */
+class PrefixIndex implements PrisonerIndex {
+    /** Префиксное дерево поле - заключенные */
+    private final MyTrie<Prisoner> trie = new MyTrie<>();
+    /** Функция получения поля заключенного */
+    private final Function<Prisoner, String> key;
+
+    /**
+     * Создает индекс по указанному полю.
+     * 
+     * @param key функция получения поля заключенного
+     */
+    PrefixIndex(Function<Prisoner, String> key) {
+        this.key = key;
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            trie.put(value, prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        String value = key.apply(prisoner);
+        if (value != null)
+            trie.remove(value, prisoner);
+    }
+
+    @Override
+    public void clear() {
+        trie.clear();
+    }
+
+    /**
+     * Возвращает заключенных, поле которых начинается с префикса.
+     * 
+     * @param prefix префикс
+     * @param limit  максимальное количество заключенных
+     * @return найденные заключенные в алфавитном порядке поля
+     */
+    MyView<Prisoner> startingWith(String prefix, int limit) {
+        return MyView.of(trie.prefix(prefix, limit));
+    }
+
+    /**
+     * Возвращает количество заключенных, поле которых начинается с префикса.
+     * 
+     * @param prefix префикс
+     * @return количество заключенных
+     */
+    int count(String prefix) {
+        return trie.count(prefix);
+    }
+}
\ No newline at end of file
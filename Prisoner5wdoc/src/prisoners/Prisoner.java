@@ -1,6 +1,6 @@
 package prisoners;
 
-import java.io.Serializable;
+import java.io.*;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -8,6 +8,13 @@ import java.util.*;
  * Класс, представляющий заключенного.
  * Содержит личные данные и информацию о заключении.
  * Реализует интерфейс {@link Serializable} для поддержки сериализации.
+ * Данные хранятся компактно: даты - номерами дней от эпохи в {@code int},
+ * цвет глаз и приметы - интернированными строками (одинаковые значения
+ * разных заключенных разделяют один объект), приметы - неизменяемым
+ * массивом. Методы {@link #featureCount()}, {@link #featureAt(int)},
+ * {@link #hasFeature(String)} и {@code get...Day()} не создают объектов.
+ * Сериализованная форма совпадает с прежней (поля с {@link LocalDate} и
+ * списком примет), поэтому ранее сохраненные файлы читаются без изменений.
  * 
  * @version 1.0
  */
@@ -15,20 +22,35 @@ public class Prisoner implements Serializable {
     /** Версия для сериализации */
     private static final long serialVersionUID = 1L; // ДОБАВЛЕНО
 
+    /** Обозначение пустой даты в номерах дней */
+    public static final int NULL_DAY = Integer.MIN_VALUE;
+    /** Пустой массив примет, общий для всех заключенных без примет */
+    private static final String[] NO_FEATURES = new String[0];
+    /** Поля сериализованной формы, совместимой с прежней версией класса */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("fullName", String.class),
+            new ObjectStreamField("birthDate", LocalDate.class),
+            new ObjectStreamField("height", int.class),
+            new ObjectStreamField("eyeColor", String.class),
+            new ObjectStreamField("features", List.class),
+            new ObjectStreamField("dateIn", LocalDate.class),
+            new ObjectStreamField("dateOut", LocalDate.class)
+    };
+
     /** Полное имя заключенного */
     private String fullName;
-    /** Дата рождения */
-    private LocalDate birthDate;
+    /** Дата рождения в днях от эпохи */
+    private int birthDay;
     /** Рост в сантиметрах */
     private int height;
-    /** Цвет глаз */
+    /** Цвет глаз (интернированная строка) */
     private String eyeColor;
-    /** Особые приметы */
-    private List<String> features;
-    /** Дата заключения под стражу */
-    private LocalDate dateIn;
-    /** Дата освобождения (null если еще не освобожден) */
-    private LocalDate dateOut;
+    /** Особые приметы (интернированные строки) */
+    private String[] features;
+    /** Дата заключения под стражу в днях от эпохи */
+    private int dayIn;
+    /** Дата освобождения в днях от эпохи ({@link #NULL_DAY} если еще не освобожден) */
+    private int dayOut;
 
     /**
      * Создает нового заключенного с указанными данными.
@@ -43,13 +65,57 @@ public class Prisoner implements Serializable {
      */
     public Prisoner(String fullName, LocalDate birthDate, int height, String eyeColor,
             List<String> features, LocalDate dateIn, LocalDate dateOut) {
+        init(fullName, birthDate, height, eyeColor, features, dateIn, dateOut);
+    }
+
+    /**
+     * Заполняет поля, переводя даты в номера дней и интернируя строки.
+     * 
+     * @param fullName  полное имя
+     * @param birthDate дата рождения
+     * @param height    рост в сантиметрах
+     * @param eyeColor  цвет глаз
+     * @param features  особые приметы или {@code null}
+     * @param dateIn    дата заключения
+     * @param dateOut   дата освобождения (может быть null)
+     */
+    private void init(String fullName, LocalDate birthDate, int height, String eyeColor,
+            Collection<String> features, LocalDate dateIn, LocalDate dateOut) {
         this.fullName = fullName;
-        this.birthDate = birthDate;
+        this.birthDay = toDay(birthDate);
         this.height = height;
-        this.eyeColor = eyeColor;
-        this.features = new ArrayList<>(features);
-        this.dateIn = dateIn;
-        this.dateOut = dateOut;
+        this.eyeColor = eyeColor == null ? null : eyeColor.intern();
+        this.features = NO_FEATURES;
+        if (features != null && !features.isEmpty()) {
+            String[] pooled = features.toArray(new String[0]);
+            for (int i = 0; i < pooled.length; i++) {
+                if (pooled[i] != null)
+                    pooled[i] = pooled[i].intern();
+            }
+            this.features = pooled;
+        }
+        this.dayIn = toDay(dateIn);
+        this.dayOut = toDay(dateOut);
+    }
+
+    /**
+     * Переводит дату в номер дня от эпохи.
+     * 
+     * @param date дата или {@code null}
+     * @return номер дня или {@link #NULL_DAY}
+     */
+    static int toDay(LocalDate date) {
+        return date == null ? NULL_DAY : (int) date.toEpochDay();
+    }
+
+    /**
+     * Переводит номер дня от эпохи в дату.
+     * 
+     * @param day номер дня или {@link #NULL_DAY}
+     * @return дата или {@code null}
+     */
+    static LocalDate toDate(int day) {
+        return day == NULL_DAY ? null : LocalDate.ofEpochDay(day);
     }
 
     /**
@@ -67,7 +133,16 @@ public class Prisoner implements Serializable {
      * @return дата рождения
      */
     public LocalDate getBirthDate() {
-        return birthDate;
+        return toDate(birthDay);
+    }
+
+    /**
+     * Возвращает дату рождения без создания объекта даты.
+     * 
+     * @return номер дня от эпохи или {@link #NULL_DAY}
+     */
+    public int getBirthDay() {
+        return birthDay;
     }
 
     /**
@@ -94,7 +169,42 @@ public class Prisoner implements Serializable {
      * @return список особых примет (неизменяемая копия)
      */
     public List<String> getFeatures() {
-        return new ArrayList<>(features);
+        return new ArrayList<>(Arrays.asList(features));
+    }
+
+    /**
+     * Возвращает количество особых примет.
+     * 
+     * @return количество примет
+     */
+    public int featureCount() {
+        return features.length;
+    }
+
+    /**
+     * Возвращает особую примету по номеру.
+     * 
+     * @param index номер приметы
+     * @return примета
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public String featureAt(int index) {
+        Objects.checkIndex(index, features.length);
+        return features[index];
+    }
+
+    /**
+     * Проверяет наличие точно совпадающей особой приметы.
+     * 
+     * @param feature примета
+     * @return {@code true} если примета есть
+     */
+    public boolean hasFeature(String feature) {
+        for (String own : features) {
+            if (Objects.equals(own, feature))
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -103,7 +213,16 @@ public class Prisoner implements Serializable {
      * @return дата заключения
      */
     public LocalDate getDateIn() {
-        return dateIn;
+        return toDate(dayIn);
+    }
+
+    /**
+     * Возвращает дату заключения без создания объекта даты.
+     * 
+     * @return номер дня от эпохи или {@link #NULL_DAY}
+     */
+    public int getDayIn() {
+        return dayIn;
     }
 
     /**
@@ -112,7 +231,26 @@ public class Prisoner implements Serializable {
      * @return дата освобождения или null если заключенный еще не освобожден
      */
     public LocalDate getDateOut() {
-        return dateOut;
+        return toDate(dayOut);
+    }
+
+    /**
+     * Возвращает дату освобождения без создания объекта даты.
+     * 
+     * @return номер дня от эпохи или {@link #NULL_DAY} если заключенный
+     *         еще не освобожден
+     */
+    public int getDayOut() {
+        return dayOut;
+    }
+
+    /**
+     * Проверяет, освобожден ли заключенный.
+     * 
+     * @return {@code true} если дата освобождения задана
+     */
+    public boolean isReleased() {
+        return dayOut != NULL_DAY;
     }
 
     /**
@@ -124,13 +262,29 @@ public class Prisoner implements Serializable {
     @Override
     public String toString() {
         String result = "  Name: " + fullName + "\n" +
-                "  Birth: " + birthDate + "\n" +
+                "  Birth: " + getBirthDate() + "\n" +
                 "  Height: " + height + "cm\n" +
                 "  Eyes: " + eyeColor + "\n" +
-                "  Features: " + features + "\n" +
-                "  Imprisoned: " + dateIn + "\n" +
+                "  Features: " + Arrays.toString(features) + "\n" +
+                "  Imprisoned: " + getDateIn() + "\n" +
                 "  Released: ";
-        return result + (dateOut != null ? dateOut : "N/A") + "\n";
+        return result + (isReleased() ? getDateOut() : "N/A") + "\n";
+    }
+
+    /**
+     * Проверяет, совпадают ли все данные заключенных, а не только
+     * имя и дата рождения, по которым работает {@link #equals(Object)}.
+     * 
+     * @param other заключенный для сравнения
+     * @return {@code true} если совпадают все поля
+     */
+    public boolean hasSameData(Prisoner other) {
+        return equals(other) &&
+                height == other.height &&
+                Objects.equals(eyeColor, other.eyeColor) &&
+                Arrays.equals(features, other.features) &&
+                dayIn == other.dayIn &&
+                dayOut == other.dayOut;
     }
 
     /**
@@ -147,7 +301,7 @@ public class Prisoner implements Serializable {
             return false;
         Prisoner prisoner = (Prisoner) o;
         return Objects.equals(fullName, prisoner.fullName) &&
-                Objects.equals(birthDate, prisoner.birthDate);
+                birthDay == prisoner.birthDay;
     }
 
     /**
@@ -157,6 +311,47 @@ public class Prisoner implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(fullName, birthDate);
+        return 31 * Objects.hashCode(fullName) + birthDay;
+    }
+
+    // --- Сериализация объектов ---
+
+    /**
+     * Записывает заключенного в прежней форме: даты - объектами
+     * {@link LocalDate}, приметы - списком.
+     * 
+     * @param out поток для записи объекта
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("fullName", fullName);
+        fields.put("birthDate", getBirthDate());
+        fields.put("height", height);
+        fields.put("eyeColor", eyeColor);
+        fields.put("features", getFeatures());
+        fields.put("dateIn", getDateIn());
+        fields.put("dateOut", getDateOut());
+        out.writeFields();
+    }
+
+    /**
+     * Восстанавливает заключенного из прежней формы и переводит данные
+     * в компактное представление.
+     * 
+     * @param in поток для чтения объекта
+     * @throws IOException            при ошибке ввода-вывода
+     * @throws ClassNotFoundException если класс поля не найден
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        init((String) fields.get("fullName", null),
+                (LocalDate) fields.get("birthDate", null),
+                fields.get("height", 0),
+                (String) fields.get("eyeColor", null),
+                (List<String>) fields.get("features", null),
+                (LocalDate) fields.get("dateIn", null),
+                (LocalDate) fields.get("dateOut", null));
     }
 }
\ No newline at end of file
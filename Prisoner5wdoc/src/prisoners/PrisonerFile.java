@@ -0,0 +1,781 @@
+package prisoners;
+
+import container.MyLinkedList;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Версионный двоичный формат файла заключенных.
+ * Файл состоит из заголовка (сигнатура и версия), блоков записей,
+ * словаря строк, оглавления и концевика со смещением оглавления.
+ * Блок, словарь и оглавление записываются как секции: длина, контрольная
+ * сумма CRC32 и данные. Блок содержит до {@link #BLOCK_RECORDS} записей и
+ * таблицу смещений записей внутри блока. Числа в записях кодируются
+ * переменной длиной (varint), знаковые - зигзагом, даты - номерами дней от
+ * эпохи; цвет глаз и приметы заменяются номерами в словаре.
+ * В отличие от сериализации Java, в файле нет описаний классов, а блоки
+ * независимы, поэтому при чтении они проверяются и декодируются
+ * параллельно.
+ * 
+ * @version 1.0
+ */
+public final class PrisonerFile {
+    /** Сигнатура начала файла ("PRSN") */
+    static final int MAGIC = 0x5052534E;
+    /** Сигнатура конца файла ("PRSE") */
+    static final int END_MAGIC = 0x50525345;
+    /** Текущая версия формата */
+    static final int VERSION = 1;
+    /** Наибольшее количество записей в блоке */
+    static final int BLOCK_RECORDS = 1024;
+    /** Длина заголовка в байтах */
+    static final int HEADER_SIZE = 8;
+    /** Длина концевика в байтах */
+    static final int TRAILER_SIZE = 12;
+    /** Длина заголовка секции в байтах: длина и контрольная сумма */
+    static final int SECTION_HEADER = 8;
+
+    /**
+     * Закрытый конструктор: класс содержит только статические методы.
+     */
+    private PrisonerFile() {
+    }
+
+    // --- Запись ---
+
+    /**
+     * Записывает заключенных в файл.
+     * Данные сначала пишутся во временный файл {@code filename + ".tmp"},
+     * который сбрасывается на диск и затем атомарно заменяет целевой. Сбой
+     * или ошибка посреди записи оставляют прежний файл нетронутым.
+     * 
+     * @param filename  имя файла
+     * @param prisoners заключенные
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public static void write(String filename, Iterable<Prisoner> prisoners) throws IOException {
+        Path target = Paths.get(filename);
+        Path temp = Paths.get(filename + ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                write(out, prisoners);
+                out.flush();
+                file.getFD().sync();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Записывает заключенных в поток: заголовок, блоки записей, словарь,
+     * оглавление и концевик.
+     * 
+     * @param out       поток файла
+     * @param prisoners заключенные
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private static void write(DataOutputStream out, Iterable<Prisoner> prisoners) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        long position = HEADER_SIZE;
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        List<long[]> blocks = new ArrayList<>();
+        Encoder records = new Encoder();
+        int[] offsets = new int[BLOCK_RECORDS];
+        int inBlock = 0;
+        int total = 0;
+        for (Prisoner prisoner : prisoners) {
+            offsets[inBlock++] = records.size();
+            encode(prisoner, records, codes, dictionary);
+            if (inBlock == BLOCK_RECORDS) {
+                blocks.add(new long[] { position, total, inBlock });
+                position += writeBlock(out, offsets, inBlock, records);
+                total += inBlock;
+                inBlock = 0;
+            }
+        }
+        if (inBlock > 0) {
+            blocks.add(new long[] { position, total, inBlock });
+            position += writeBlock(out, offsets, inBlock, records);
+            total += inBlock;
+        }
+
+        long dictionaryOffset = position;
+        Encoder section = new Encoder();
+        section.writeVarint(dictionary.size());
+        for (String value : dictionary)
+            section.writeString(value);
+        position += writeSection(out, section);
+
+        long footerOffset = position;
+        section.reset();
+        section.writeVarint(total);
+        section.writeVarint(dictionaryOffset);
+        section.writeVarint(blocks.size());
+        for (long[] block : blocks) {
+            section.writeVarint(block[0]);
+            section.writeVarint(block[1]);
+            section.writeVarint(block[2]);
+        }
+        writeSection(out, section);
+
+        out.writeLong(footerOffset);
+        out.writeInt(END_MAGIC);
+    }
+
+    /**
+     * Кодирует запись заключенного, пополняя словарь строк.
+     * 
+     * @param prisoner   заключенный
+     * @param out        буфер записей
+     * @param codes      строка - номер в словаре
+     * @param dictionary номер - строка
+     */
+    private static void encode(Prisoner prisoner, Encoder out, Map<String, Integer> codes, List<String> dictionary) {
+        out.writeString(prisoner.getFullName());
+        out.writeDay(prisoner.getBirthDay());
+        out.writeVarint(zigzag(prisoner.getHeight()));
+        out.writeVarint(code(prisoner.getEyeColor(), codes, dictionary));
+        out.writeDay(prisoner.getDayIn());
+        out.writeDay(prisoner.getDayOut());
+        out.writeVarint(prisoner.featureCount());
+        for (int i = 0; i < prisoner.featureCount(); i++)
+            out.writeVarint(code(prisoner.featureAt(i), codes, dictionary));
+    }
+
+    /**
+     * Возвращает код строки словаря: 0 для {@code null}, иначе номер плюс
+     * один. Новая строка добавляется в словарь.
+     * 
+     * @param value      строка или {@code null}
+     * @param codes      строка - номер в словаре
+     * @param dictionary номер - строка
+     * @return код строки
+     */
+    private static int code(String value, Map<String, Integer> codes, List<String> dictionary) {
+        if (value == null)
+            return 0;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            codes.put(value, code);
+        }
+        return code + 1;
+    }
+
+    /**
+     * Записывает блок: количество записей, смещения записей и сами записи.
+     * Буфер записей очищается.
+     * 
+     * @param out     поток файла
+     * @param offsets смещения записей в буфере
+     * @param count   количество записей
+     * @param records буфер записей
+     * @return количество записанных байт
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private static int writeBlock(DataOutputStream out, int[] offsets, int count, Encoder records)
+            throws IOException {
+        Encoder block = new Encoder();
+        block.writeInt(count);
+        for (int i = 0; i < count; i++)
+            block.writeInt(offsets[i]);
+        block.write(records);
+        records.reset();
+        return writeSection(out, block);
+    }
+
+    /**
+     * Записывает секцию: длину, контрольную сумму и данные.
+     * 
+     * @param out     поток файла
+     * @param payload данные секции
+     * @return количество записанных байт
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private static int writeSection(DataOutputStream out, Encoder payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload.bytes, 0, payload.size);
+        out.writeInt(payload.size);
+        out.writeInt((int) crc.getValue());
+        out.write(payload.bytes, 0, payload.size);
+        return SECTION_HEADER + payload.size;
+    }
+
+    // --- Чтение ---
+
+    /**
+     * Проверяет, записан ли файл в этом формате (по сигнатуре в начале).
+     * 
+     * @param filename имя файла
+     * @return {@code true} если файл начинается с сигнатуры формата
+     */
+    public static boolean isPrisonerFile(String filename) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(filename))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Читает всех заключенных из файла. Блоки проверяются и декодируются
+     * параллельно, порядок записей сохраняется.
+     * 
+     * @param filename имя файла
+     * @return список заключенных в порядке записи
+     * @throws IOException при ошибке ввода-вывода, неизвестной версии или
+     *                     несовпадении контрольной суммы
+     */
+    public static MyLinkedList<Prisoner> read(String filename) throws IOException {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(Paths.get(filename)));
+        Index index = Index.read(file);
+        Prisoner[][] blocks;
+        try {
+            blocks = IntStream.range(0, index.blockCount()).parallel()
+                    .mapToObj(block -> {
+                        try {
+                            return decodeBlock(section(file, index.blockOffsets[block], "block " + block),
+                                    index.dictionary);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toArray(Prisoner[][]::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        MyLinkedList<Prisoner> result = new MyLinkedList<>();
+        for (Prisoner[] block : blocks) {
+            for (Prisoner prisoner : block)
+                result.add(prisoner);
+        }
+        return result;
+    }
+
+    /**
+     * Декодирует все записи блока.
+     * 
+     * @param block      данные блока
+     * @param dictionary словарь строк
+     * @return заключенные блока
+     * @throws IOException если данные блока повреждены
+     */
+    static Prisoner[] decodeBlock(ByteBuffer block, String[] dictionary) throws IOException {
+        Decoder in = new Decoder(block);
+        int count = in.readInt();
+        in.position(recordsStart(count));
+        Prisoner[] result = new Prisoner[count];
+        for (int i = 0; i < count; i++)
+            result[i] = decode(in, dictionary);
+        return result;
+    }
+
+    /**
+     * Декодирует одну запись блока по таблице смещений, не читая
+     * остальные записи.
+     * 
+     * @param block      данные блока
+     * @param record     номер записи в блоке
+     * @param dictionary словарь строк
+     * @return заключенный
+     * @throws IOException если данные блока повреждены
+     */
+    static Prisoner decodeRecord(ByteBuffer block, int record, String[] dictionary) throws IOException {
+        Decoder in = new Decoder(block);
+        in.position(recordOffset(block, record));
+        return decode(in, dictionary);
+    }
+
+    /**
+     * Возвращает смещение записи от начала данных блока.
+     * 
+     * @param block  данные блока
+     * @param record номер записи в блоке
+     * @return смещение записи
+     * @throws IOException если номер записи вне блока
+     */
+    static int recordOffset(ByteBuffer block, int record) throws IOException {
+        int count = block.getInt(0);
+        if (record < 0 || record >= count)
+            throw new IOException("Record " + record + " is outside the block of " + count);
+        return recordsStart(count) + block.getInt(Integer.BYTES * (1 + record));
+    }
+
+    /**
+     * Возвращает смещение первой записи блока: после количества записей и
+     * таблицы смещений.
+     * 
+     * @param count количество записей блока
+     * @return смещение первой записи
+     */
+    private static int recordsStart(int count) {
+        return Integer.BYTES * (1 + count);
+    }
+
+    /**
+     * Декодирует одну запись с текущей позиции.
+     * 
+     * @param in         декодер блока
+     * @param dictionary словарь строк
+     * @return заключенный
+     * @throws IOException если код строки вне словаря
+     */
+    static Prisoner decode(Decoder in, String[] dictionary) throws IOException {
+        String name = in.readString();
+        int birthDay = in.readDay();
+        int height = unzigzag(in.readVarint());
+        String eyeColor = lookup(dictionary, in.readVarint());
+        int dayIn = in.readDay();
+        int dayOut = in.readDay();
+        int count = (int) in.readVarint();
+        List<String> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            features.add(lookup(dictionary, in.readVarint()));
+        return new Prisoner(name, Prisoner.toDate(birthDay), height, eyeColor, features,
+                Prisoner.toDate(dayIn), Prisoner.toDate(dayOut));
+    }
+
+    /**
+     * Возвращает строку словаря по коду.
+     * 
+     * @param dictionary словарь строк
+     * @param code       код: 0 для {@code null}, иначе номер плюс один
+     * @return строка или {@code null}
+     * @throws IOException если код вне словаря
+     */
+    static String lookup(String[] dictionary, long code) throws IOException {
+        if (code == 0)
+            return null;
+        if (code > dictionary.length)
+            throw new IOException("Dictionary code " + code + " is out of range");
+        return dictionary[(int) code - 1];
+    }
+
+    /**
+     * Возвращает данные секции, проверив ее границы и контрольную сумму.
+     * 
+     * @param file   содержимое файла
+     * @param offset смещение секции
+     * @param name   название секции для сообщений об ошибках
+     * @return буфер с данными секции (позиция 0)
+     * @throws IOException если секция выходит за файл или повреждена
+     */
+    static ByteBuffer section(ByteBuffer file, long offset, String name) throws IOException {
+        if (offset < 0 || offset > file.limit() - SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        int start = (int) offset;
+        int length = file.getInt(start);
+        int checksum = file.getInt(start + 4);
+        if (length < 0 || length > file.limit() - start - SECTION_HEADER)
+            throw new IOException("Truncated " + name);
+        ByteBuffer payload = file.slice(start + SECTION_HEADER, length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum)
+            throw new IOException("Checksum mismatch in " + name);
+        return payload;
+    }
+
+    // --- Кодирование чисел ---
+
+    /**
+     * Переводит знаковое число в беззнаковое зигзагом: малые по модулю
+     * числа дают короткий varint.
+     * 
+     * @param value число
+     * @return беззнаковое представление
+     */
+    static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Обратное преобразование к {@link #zigzag(int)}.
+     * 
+     * @param value беззнаковое представление
+     * @return число
+     */
+    static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    /**
+     * Источник проверенных секций файла.
+     */
+    interface Sections {
+        /**
+         * Возвращает данные секции по ее смещению в файле.
+         * 
+         * @param offset смещение секции
+         * @param name   название секции для сообщений об ошибках
+         * @return данные секции
+         * @throws IOException если секция выходит за файл или повреждена
+         */
+        ByteBuffer section(long offset, String name) throws IOException;
+    }
+
+    /**
+     * Оглавление файла: словарь строк и расположение блоков.
+     */
+    static final class Index {
+        /** Словарь строк */
+        final String[] dictionary;
+        /** Смещения блоков в файле */
+        final long[] blockOffsets;
+        /** Номер первой записи каждого блока */
+        final int[] firstRecords;
+        /** Количество записей каждого блока */
+        final int[] recordCounts;
+        /** Общее количество записей */
+        final int size;
+
+        /**
+         * Создает оглавление.
+         * 
+         * @param dictionary   словарь строк
+         * @param blockOffsets смещения блоков
+         * @param firstRecords номера первых записей блоков
+         * @param recordCounts количества записей блоков
+         * @param size         общее количество записей
+         */
+        private Index(String[] dictionary, long[] blockOffsets, int[] firstRecords, int[] recordCounts, int size) {
+            this.dictionary = dictionary;
+            this.blockOffsets = blockOffsets;
+            this.firstRecords = firstRecords;
+            this.recordCounts = recordCounts;
+            this.size = size;
+        }
+
+        /**
+         * Возвращает количество блоков.
+         * 
+         * @return количество блоков
+         */
+        int blockCount() {
+            return blockOffsets.length;
+        }
+
+        /**
+         * Находит блок, содержащий запись, двоичным поиском по номерам
+         * первых записей блоков.
+         * 
+         * @param record номер записи в файле
+         * @return номер блока
+         */
+        int blockOf(int record) {
+            int found = Arrays.binarySearch(firstRecords, record);
+            return found >= 0 ? found : -found - 2;
+        }
+
+        /**
+         * Читает оглавление из содержимого файла в памяти.
+         * 
+         * @param file содержимое файла
+         * @return оглавление
+         * @throws IOException если файл не в этом формате, другой версии
+         *                     или поврежден
+         */
+        static Index read(ByteBuffer file) throws IOException {
+            if (file.limit() < HEADER_SIZE + TRAILER_SIZE)
+                throw new IOException("Not a prisoner file");
+            return read(file.slice(0, HEADER_SIZE), file.slice(file.limit() - TRAILER_SIZE, TRAILER_SIZE),
+                    (offset, name) -> section(file, offset, name));
+        }
+
+        /**
+         * Проверяет заголовок и концевик, затем читает оглавление и словарь.
+         * 
+         * @param header   заголовок файла
+         * @param trailer  концевик файла
+         * @param sections источник секций по смещению
+         * @return оглавление
+         * @throws IOException если файл не в этом формате, другой версии
+         *                     или поврежден
+         */
+        static Index read(ByteBuffer header, ByteBuffer trailer, Sections sections) throws IOException {
+            if (header.getInt(0) != MAGIC)
+                throw new IOException("Not a prisoner file");
+            int version = header.getInt(4);
+            if (version != VERSION)
+                throw new IOException("Unsupported prisoner file version " + version);
+            if (trailer.getInt(8) != END_MAGIC)
+                throw new IOException("Truncated prisoner file");
+
+            Decoder footer = new Decoder(sections.section(trailer.getLong(0), "footer"));
+            int size = (int) footer.readVarint();
+            long dictionaryOffset = footer.readVarint();
+            int blockCount = (int) footer.readVarint();
+            long[] offsets = new long[blockCount];
+            int[] firsts = new int[blockCount];
+            int[] counts = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                offsets[i] = footer.readVarint();
+                firsts[i] = (int) footer.readVarint();
+                counts[i] = (int) footer.readVarint();
+            }
+
+            Decoder strings = new Decoder(sections.section(dictionaryOffset, "dictionary"));
+            String[] dictionary = new String[(int) strings.readVarint()];
+            for (int i = 0; i < dictionary.length; i++)
+                dictionary[i] = strings.readString();
+            return new Index(dictionary, offsets, firsts, counts, size);
+        }
+    }
+
+    /**
+     * Растущий буфер для кодирования секции.
+     */
+    private static final class Encoder {
+        /** Данные */
+        private byte[] bytes = new byte[1 << 12];
+        /** Количество записанных байт */
+        private int size;
+
+        /**
+         * Возвращает количество записанных байт.
+         * 
+         * @return размер данных
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Очищает буфер, сохраняя емкость.
+         */
+        void reset() {
+            size = 0;
+        }
+
+        /**
+         * Обеспечивает место еще для {@code extra} байт.
+         * 
+         * @param extra требуемое место
+         */
+        private void ensure(int extra) {
+            if (size + extra > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+
+        /**
+         * Записывает число фиксированной длины (4 байта, старший первым).
+         * 
+         * @param value число
+         */
+        void writeInt(int value) {
+            ensure(Integer.BYTES);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        /**
+         * Записывает беззнаковое число переменной длиной: по 7 бит в байте,
+         * старший бит байта означает продолжение.
+         * 
+         * @param value беззнаковое число
+         */
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        /**
+         * Записывает дату: 0 для пустой, иначе зигзаг номера дня плюс один.
+         * 
+         * @param day номер дня или {@link Prisoner#NULL_DAY}
+         */
+        void writeDay(int day) {
+            writeVarint(day == Prisoner.NULL_DAY ? 0 : zigzag(day) + 1);
+        }
+
+        /**
+         * Записывает строку: 0 для {@code null}, иначе длина UTF-8 плюс один
+         * и байты.
+         * 
+         * @param value строка или {@code null}
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] utf = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf.length + 1L);
+            ensure(utf.length);
+            System.arraycopy(utf, 0, bytes, size, utf.length);
+            size += utf.length;
+        }
+
+        /**
+         * Дописывает содержимое другого буфера.
+         * 
+         * @param other буфер
+         */
+        void write(Encoder other) {
+            ensure(other.size);
+            System.arraycopy(other.bytes, 0, bytes, size, other.size);
+            size += other.size;
+        }
+    }
+
+    /**
+     * Последовательное чтение данных секции.
+     */
+    static final class Decoder {
+        /** Данные секции */
+        private final ByteBuffer data;
+        /** Текущая позиция */
+        private int position;
+
+        /**
+         * Создает декодер над данными секции.
+         * 
+         * @param data данные секции
+         */
+        Decoder(ByteBuffer data) {
+            this.data = data;
+        }
+
+        /**
+         * Переходит к позиции внутри секции.
+         * 
+         * @param position позиция
+         */
+        void position(int position) {
+            this.position = position;
+        }
+
+        /**
+         * Возвращает текущую позицию внутри секции.
+         * 
+         * @return позиция
+         */
+        int position() {
+            return position;
+        }
+
+        /**
+         * Пропускает число переменной длины, не собирая его значение.
+         * 
+         * @throws IOException если секция закончилась
+         */
+        void skipVarint() throws IOException {
+            do {
+                require(1);
+            } while (data.get(position++) < 0);
+        }
+
+        /**
+         * Пропускает строку, не создавая ее.
+         * 
+         * @throws IOException если секция закончилась
+         */
+        void skipString() throws IOException {
+            long length = readVarint();
+            if (length > 1) {
+                if (length - 1 > data.limit() - position)
+                    throw new IOException("Unexpected end of section");
+                position += (int) length - 1;
+            }
+        }
+
+        /**
+         * Проверяет, что в секции осталось не меньше {@code count} байт.
+         * 
+         * @param count количество байт
+         * @throws IOException если секция закончилась
+         */
+        private void require(int count) throws IOException {
+            if (position > data.limit() - count)
+                throw new IOException("Unexpected end of section");
+        }
+
+        /**
+         * Читает число фиксированной длины.
+         * 
+         * @return число
+         * @throws IOException если секция закончилась
+         */
+        int readInt() throws IOException {
+            require(Integer.BYTES);
+            int value = data.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        /**
+         * Читает беззнаковое число переменной длины.
+         * 
+         * @return число
+         * @throws IOException если секция закончилась или число длиннее 64 бит
+         */
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = data.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0)
+                    return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        /**
+         * Читает дату, записанную {@link Encoder#writeDay(int)}.
+         * 
+         * @return номер дня или {@link Prisoner#NULL_DAY}
+         * @throws IOException если секция закончилась
+         */
+        int readDay() throws IOException {
+            long value = readVarint();
+            return value == 0 ? Prisoner.NULL_DAY : unzigzag(value - 1);
+        }
+
+        /**
+         * Читает строку, записанную {@link Encoder#writeString(String)}.
+         * 
+         * @return строка или {@code null}
+         * @throws IOException если секция закончилась
+         */
+        String readString() throws IOException {
+            long length = readVarint();
+            if (length == 0)
+                return null;
+            if (length - 1 > data.limit() - position)
+                throw new IOException("Unexpected end of section");
+            byte[] utf = new byte[(int) length - 1];
+            data.get(position, utf);
+            position += utf.length;
+            return new String(utf, StandardCharsets.UTF_8);
+        }
+    }
+}
\ No newline at end of file
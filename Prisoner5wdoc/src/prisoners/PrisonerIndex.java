@@ -0,0 +1,28 @@
+package prisoners;
+
+/**
+ * Вторичный индекс над заключенными, который {@link PrisonerRepository}
+ * поддерживает в актуальном состоянии при каждом изменении данных.
+ * 
+ * @version 1.0
+ */
+interface PrisonerIndex {
+    /**
+     * Добавляет заключенного в индекс.
+     * 
+     * @param prisoner добавленный заключенный
+     */
+    void add(Prisoner prisoner);
+
+    /**
+     * Удаляет заключенного из индекса.
+     * 
+     * @param prisoner удаленный заключенный
+     */
+    void remove(Prisoner prisoner);
+
+    /**
+     * Очищает индекс.
+     */
+    void clear();
+}
\ No newline at end of file
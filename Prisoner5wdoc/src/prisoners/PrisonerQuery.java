@@ -0,0 +1,601 @@
+package prisoners;
+
+import container.MyInvertedIndex;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Разобранный запрос к хранилищу заключенных.
+ * Синтаксис:
+ * <pre>
+ * [условие {AND условие}] [ORDER BY поле [ASC|DESC]] [LIMIT n]
+ * условие: поле оператор значение | поле IS [NOT] NULL
+ * </pre>
+ * Поля: {@code name}, {@code eyes}, {@code height}, {@code born},
+ * {@code dateIn}, {@code dateOut} (синоним {@code released}),
+ * {@code feature}. Операторы: {@code = != < <= > >=}, {@code STARTS}
+ * (начало имени) и {@code CONTAINS} (все слова в приметах). Строки и даты
+ * записываются в одинарных кавычках, даты - в формате {@code yyyy-mm-dd}.
+ * {@code IS [NOT] NULL} допускается для дат: {@code born}, {@code dateIn}
+ * и {@code dateOut}. Ключевые слова и имена полей не зависят от регистра.
+ * Пример: {@code height >= 170 AND eyes = 'green' AND released IS NULL
+ * ORDER BY dateIn LIMIT 50}.
+ * 
+ * @version 1.0
+ */
+public final class PrisonerQuery {
+    /** Признак отсутствия лимита */
+    static final long NO_LIMIT = -1;
+
+    /**
+     * Поле заключенного, по которому можно задавать условия и сортировку.
+     */
+    public enum Field {
+        /** Полное имя */
+        NAME("name"),
+        /** Цвет глаз */
+        EYES("eyes"),
+        /** Рост */
+        HEIGHT("height"),
+        /** Дата рождения */
+        BORN("born"),
+        /** Дата заключения */
+        DATE_IN("dateIn"),
+        /** Дата освобождения */
+        DATE_OUT("dateOut"),
+        /** Особая примета */
+        FEATURE("feature");
+
+        /** Имя поля в запросе */
+        private final String label;
+
+        /**
+         * Создает поле с именем для запроса.
+         * 
+         * @param label имя поля в запросе
+         */
+        Field(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Возвращает значение поля заключенного для сравнения и сортировки.
+         * 
+         * @param prisoner заключенный
+         * @return значение поля или {@code null}
+         */
+        Comparable<?> valueOf(Prisoner prisoner) {
+            switch (this) {
+                case NAME:
+                    return prisoner.getFullName();
+                case EYES:
+                    return prisoner.getEyeColor();
+                case HEIGHT:
+                    return prisoner.getHeight();
+                case BORN:
+                    return prisoner.getBirthDate();
+                case DATE_IN:
+                    return prisoner.getDateIn();
+                case DATE_OUT:
+                    return prisoner.getDateOut();
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Проверяет, хранятся ли в поле даты.
+         * 
+         * @return {@code true} для полей-дат
+         */
+        boolean isDate() {
+            return this == BORN || this == DATE_IN || this == DATE_OUT;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Оператор условия.
+     */
+    public enum Op {
+        /** Равно */
+        EQ("="),
+        /** Не равно */
+        NE("!="),
+        /** Меньше */
+        LT("<"),
+        /** Меньше или равно */
+        LE("<="),
+        /** Больше */
+        GT(">"),
+        /** Больше или равно */
+        GE(">="),
+        /** Начинается с (без учета регистра) */
+        STARTS("STARTS"),
+        /** Содержит все слова */
+        CONTAINS("CONTAINS"),
+        /** Значение отсутствует */
+        IS_NULL("IS NULL"),
+        /** Значение присутствует */
+        NOT_NULL("IS NOT NULL");
+
+        /** Запись оператора в запросе */
+        private final String symbol;
+
+        /**
+         * Создает оператор с записью для запроса.
+         * 
+         * @param symbol запись оператора
+         */
+        Op(String symbol) {
+            this.symbol = symbol;
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    /**
+     * Условие вида {@code поле оператор значение}.
+     */
+    static final class Condition {
+        /** Поле */
+        final Field field;
+        /** Оператор */
+        final Op op;
+        /** Значение: {@link String}, {@link Integer}, {@link LocalDate} или {@code null} */
+        final Object value;
+
+        /**
+         * Создает условие.
+         * 
+         * @param field поле
+         * @param op    оператор
+         * @param value значение
+         */
+        Condition(Field field, Op op, Object value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        /**
+         * Проверяет условие для заключенного.
+         * 
+         * @param prisoner заключенный
+         * @return {@code true} если условие выполнено
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        boolean test(Prisoner prisoner) {
+            if (field == Field.FEATURE)
+                return testFeature(prisoner);
+            Comparable actual = field.valueOf(prisoner);
+            switch (op) {
+                case IS_NULL:
+                    return actual == null;
+                case NOT_NULL:
+                    return actual != null;
+                default:
+                    break;
+            }
+            if (actual == null)
+                return false;
+            if (field == Field.EYES)
+                return ((String) actual).equalsIgnoreCase((String) value) == (op == Op.EQ);
+            if (op == Op.STARTS)
+                return ((String) actual).toLowerCase(Locale.ROOT).startsWith(((String) value).toLowerCase(Locale.ROOT));
+            int cmp = actual.compareTo(value);
+            switch (op) {
+                case EQ:
+                    return cmp == 0;
+                case NE:
+                    return cmp != 0;
+                case LT:
+                    return cmp < 0;
+                case LE:
+                    return cmp <= 0;
+                case GT:
+                    return cmp > 0;
+                default:
+                    return cmp >= 0;
+            }
+        }
+
+        /**
+         * Проверяет условие на особые приметы.
+         * 
+         * @param prisoner заключенный
+         * @return {@code true} если условие выполнено
+         */
+        private boolean testFeature(Prisoner prisoner) {
+            if (op == Op.EQ)
+                return prisoner.hasFeature((String) value);
+            if (op == Op.NE)
+                return !prisoner.hasFeature((String) value);
+            Set<String> words = new HashSet<>();
+            for (int i = 0; i < prisoner.featureCount(); i++)
+                words.addAll(MyInvertedIndex.tokenize(prisoner.featureAt(i)));
+            return words.containsAll(MyInvertedIndex.tokenize((String) value));
+        }
+
+        /**
+         * Проверяет, исключает ли условие заключенных без значения поля.
+         * 
+         * @return {@code true} если при пустом поле условие всегда ложно
+         */
+        boolean excludesNull() {
+            return op != Op.IS_NULL;
+        }
+
+        @Override
+        public String toString() {
+            if (op == Op.IS_NULL || op == Op.NOT_NULL)
+                return field + " " + op;
+            String text = value instanceof Integer ? value.toString() : "'" + value + "'";
+            return field + " " + op + " " + text;
+        }
+    }
+
+    /** Условия, соединенные через AND */
+    private final List<Condition> conditions;
+    /** Поле сортировки или {@code null} */
+    private final Field orderBy;
+    /** Признак сортировки по убыванию */
+    private final boolean descending;
+    /** Максимальное количество строк или {@link #NO_LIMIT} */
+    private final long limit;
+
+    /**
+     * Создает запрос.
+     * 
+     * @param conditions условия
+     * @param orderBy    поле сортировки или {@code null}
+     * @param descending признак сортировки по убыванию
+     * @param limit      максимальное количество строк или {@link #NO_LIMIT}
+     */
+    private PrisonerQuery(List<Condition> conditions, Field orderBy, boolean descending, long limit) {
+        this.conditions = Collections.unmodifiableList(conditions);
+        this.orderBy = orderBy;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    /**
+     * Возвращает условия запроса.
+     * 
+     * @return условия, соединенные через AND
+     */
+    List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Возвращает поле сортировки.
+     * 
+     * @return поле или {@code null}, если порядок не задан
+     */
+    Field getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Проверяет, задана ли сортировка по убыванию.
+     * 
+     * @return {@code true} для сортировки по убыванию
+     */
+    boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Возвращает лимит строк.
+     * 
+     * @return лимит или {@link #NO_LIMIT}
+     */
+    long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Condition condition : conditions) {
+            if (sb.length() > 0)
+                sb.append(" AND ");
+            sb.append(condition);
+        }
+        if (orderBy != null)
+            sb.append(sb.length() > 0 ? " " : "").append("ORDER BY ").append(orderBy).append(descending ? " DESC" : "");
+        if (limit != NO_LIMIT)
+            sb.append(sb.length() > 0 ? " " : "").append("LIMIT ").append(limit);
+        return sb.toString();
+    }
+
+    // --- Разбор ---
+
+    /**
+     * Разбирает текст запроса.
+     * 
+     * @param text текст запроса
+     * @return разобранный запрос
+     * @throws IllegalArgumentException если запрос записан с ошибкой
+     */
+    public static PrisonerQuery parse(String text) {
+        return new Parser(text).parse();
+    }
+
+    /**
+     * Рекурсивный разборщик запроса по словам.
+     */
+    private static final class Parser {
+        /** Слова запроса; строки в кавычках хранятся вместе с кавычкой */
+        private final List<String> tokens = new ArrayList<>();
+        /** Позиция текущего слова */
+        private int pos;
+
+        /**
+         * Разбивает текст запроса на слова.
+         * 
+         * @param text текст запроса
+         * @throws IllegalArgumentException если строка не закрыта кавычкой
+         */
+        Parser(String text) {
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'') {
+                    int end = text.indexOf('\'', i + 1);
+                    if (end < 0)
+                        throw new IllegalArgumentException("Unterminated string at position " + i);
+                    tokens.add(text.substring(i, end));
+                    i = end + 1;
+                } else if ("=!<>".indexOf(c) >= 0) {
+                    int end = i + 1;
+                    if (end < text.length() && text.charAt(end) == '=')
+                        end++;
+                    else if (c == '<' && end < text.length() && text.charAt(end) == '>')
+                        end++;
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                } else {
+                    int end = i;
+                    while (end < text.length() && !Character.isWhitespace(text.charAt(end))
+                            && "=!<>'".indexOf(text.charAt(end)) < 0)
+                        end++;
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                }
+            }
+        }
+
+        /**
+         * Разбирает весь запрос.
+         * 
+         * @return разобранный запрос
+         */
+        PrisonerQuery parse() {
+            List<Condition> conditions = new ArrayList<>();
+            if (hasMore() && !isKeyword("ORDER") && !isKeyword("LIMIT")) {
+                conditions.add(condition());
+                while (acceptKeyword("AND"))
+                    conditions.add(condition());
+            }
+            Field orderBy = null;
+            boolean descending = false;
+            if (acceptKeyword("ORDER")) {
+                expectKeyword("BY");
+                orderBy = field();
+                if (orderBy == Field.FEATURE)
+                    throw new IllegalArgumentException("Cannot order by " + orderBy);
+                if (acceptKeyword("DESC"))
+                    descending = true;
+                else
+                    acceptKeyword("ASC");
+            }
+            long limit = NO_LIMIT;
+            if (acceptKeyword("LIMIT")) {
+                String number = next("limit");
+                try {
+                    limit = Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid limit: " + number);
+                }
+                if (limit < 0)
+                    throw new IllegalArgumentException("Negative limit: " + limit);
+            }
+            if (hasMore())
+                throw new IllegalArgumentException("Unexpected '" + tokens.get(pos) + "'");
+            return new PrisonerQuery(conditions, orderBy, descending, limit);
+        }
+
+        /**
+         * Разбирает одно условие.
+         * 
+         * @return условие
+         */
+        private Condition condition() {
+            Field field = field();
+            if (acceptKeyword("IS")) {
+                boolean not = acceptKeyword("NOT");
+                expectKeyword("NULL");
+                if (field != Field.BORN && field != Field.DATE_IN && field != Field.DATE_OUT)
+                    throw new IllegalArgumentException(field + " cannot be NULL");
+                return new Condition(field, not ? Op.NOT_NULL : Op.IS_NULL, null);
+            }
+            Op op = op();
+            boolean allowed;
+            switch (op) {
+                case STARTS:
+                    allowed = field == Field.NAME;
+                    break;
+                case CONTAINS:
+                    allowed = field == Field.FEATURE;
+                    break;
+                case EQ:
+                case NE:
+                    allowed = true;
+                    break;
+                default:
+                    allowed = field == Field.HEIGHT || field.isDate();
+            }
+            if (!allowed)
+                throw new IllegalArgumentException("Operator " + op + " is not supported for " + field);
+            return new Condition(field, op, value(field));
+        }
+
+        /**
+         * Разбирает имя поля.
+         * 
+         * @return поле
+         */
+        private Field field() {
+            String name = next("field name");
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "name":
+                case "fullname":
+                    return Field.NAME;
+                case "eyes":
+                case "eyecolor":
+                    return Field.EYES;
+                case "height":
+                    return Field.HEIGHT;
+                case "born":
+                case "birthdate":
+                    return Field.BORN;
+                case "datein":
+                case "imprisoned":
+                    return Field.DATE_IN;
+                case "dateout":
+                case "released":
+                    return Field.DATE_OUT;
+                case "feature":
+                case "features":
+                    return Field.FEATURE;
+                default:
+                    throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+
+        /**
+         * Разбирает оператор сравнения.
+         * 
+         * @return оператор
+         */
+        private Op op() {
+            String symbol = next("operator");
+            switch (symbol.toUpperCase(Locale.ROOT)) {
+                case "=":
+                case "==":
+                    return Op.EQ;
+                case "!=":
+                case "<>":
+                    return Op.NE;
+                case "<":
+                    return Op.LT;
+                case "<=":
+                    return Op.LE;
+                case ">":
+                    return Op.GT;
+                case ">=":
+                    return Op.GE;
+                case "STARTS":
+                    return Op.STARTS;
+                case "CONTAINS":
+                    return Op.CONTAINS;
+                default:
+                    throw new IllegalArgumentException("Unknown operator: " + symbol);
+            }
+        }
+
+        /**
+         * Разбирает значение нужного для поля типа.
+         * 
+         * @param field поле условия
+         * @return значение
+         */
+        private Object value(Field field) {
+            String token = next("value");
+            String raw = token.startsWith("'") ? token.substring(1) : token;
+            if (field == Field.HEIGHT) {
+                try {
+                    return Integer.parseInt(raw);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid height: " + raw);
+                }
+            }
+            if (field.isDate()) {
+                try {
+                    return LocalDate.parse(raw);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid date: " + raw);
+                }
+            }
+            return raw;
+        }
+
+        /**
+         * Проверяет, остались ли слова.
+         * 
+         * @return {@code true} если разбор не закончен
+         */
+        private boolean hasMore() {
+            return pos < tokens.size();
+        }
+
+        /**
+         * Проверяет, является ли текущее слово ключевым словом.
+         * 
+         * @param keyword ключевое слово
+         * @return {@code true} если совпадает без учета регистра
+         */
+        private boolean isKeyword(String keyword) {
+            return hasMore() && tokens.get(pos).equalsIgnoreCase(keyword);
+        }
+
+        /**
+         * Пропускает ключевое слово, если оно текущее.
+         * 
+         * @param keyword ключевое слово
+         * @return {@code true} если слово было пропущено
+         */
+        private boolean acceptKeyword(String keyword) {
+            if (!isKeyword(keyword))
+                return false;
+            pos++;
+            return true;
+        }
+
+        /**
+         * Требует ключевое слово.
+         * 
+         * @param keyword ключевое слово
+         * @throws IllegalArgumentException если текущее слово другое
+         */
+        private void expectKeyword(String keyword) {
+            if (!acceptKeyword(keyword))
+                throw new IllegalArgumentException("Expected " + keyword);
+        }
+
+        /**
+         * Возвращает текущее слово и переходит к следующему.
+         * 
+         * @param expected что ожидалось (для сообщения об ошибке)
+         * @return текущее слово
+         * @throws IllegalArgumentException если слова закончились
+         */
+        private String next(String expected) {
+            if (!hasMore())
+                throw new IllegalArgumentException("Expected " + expected + " at end of query");
+            return tokens.get(pos++);
+        }
+    }
+}
\ No newline at end of file
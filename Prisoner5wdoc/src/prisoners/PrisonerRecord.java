@@ -0,0 +1,294 @@
+package prisoners;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Ленивое представление записи файла {@link PrisonerFile} без создания
+ * объекта {@link Prisoner}.
+ * Поле декодируется при первом вызове его метода и запоминается. Поля
+ * записи идут подряд и имеют переменную длину, поэтому для доступа к полю
+ * предшествующие поля пропускаются без декодирования (строки не создаются),
+ * а найденные начала полей тоже запоминаются. Условие, которое читает
+ * только рост, не декодирует имя, даты и приметы.
+ * Объект не потокобезопасен.
+ * 
+ * @version 1.0
+ */
+public final class PrisonerRecord {
+    /** Номер поля имени */
+    private static final int NAME = 0;
+    /** Номер поля даты рождения */
+    private static final int BIRTH_DAY = 1;
+    /** Номер поля роста */
+    private static final int HEIGHT = 2;
+    /** Номер поля цвета глаз */
+    private static final int EYE_COLOR = 3;
+    /** Номер поля даты заключения */
+    private static final int DAY_IN = 4;
+    /** Номер поля даты освобождения */
+    private static final int DAY_OUT = 5;
+    /** Номер поля примет (последнее поле записи) */
+    private static final int FEATURES = 6;
+
+    /** Данные блока */
+    private final ByteBuffer block;
+    /** Словарь строк файла */
+    private final String[] dictionary;
+    /** Начала полей в блоке; известны первые {@link #known} */
+    private final int[] offsets = new int[FEATURES + 1];
+    /** Количество полей с известным началом */
+    private int known = 1;
+    /** Битовая маска уже декодированных полей */
+    private int decoded;
+
+    /** Полное имя */
+    private String fullName;
+    /** Дата рождения в днях от эпохи */
+    private int birthDay;
+    /** Рост в сантиметрах */
+    private int height;
+    /** Цвет глаз */
+    private String eyeColor;
+    /** Дата заключения в днях от эпохи */
+    private int dayIn;
+    /** Дата освобождения в днях от эпохи */
+    private int dayOut;
+    /** Особые приметы */
+    private String[] features;
+
+    /**
+     * Создает представление записи.
+     * 
+     * @param block      данные блока
+     * @param offset     начало записи в блоке
+     * @param dictionary словарь строк файла
+     */
+    PrisonerRecord(ByteBuffer block, int offset, String[] dictionary) {
+        this.block = block;
+        this.dictionary = dictionary;
+        this.offsets[NAME] = offset;
+    }
+
+    /**
+     * Возвращает декодер, установленный на начало поля. Поля между
+     * последним известным и искомым пропускаются.
+     * 
+     * @param field номер поля
+     * @return декодер блока
+     * @throws IOException если запись повреждена
+     */
+    private PrisonerFile.Decoder seek(int field) throws IOException {
+        PrisonerFile.Decoder in = new PrisonerFile.Decoder(block);
+        in.position(offsets[known - 1]);
+        while (known <= field) {
+            if (known - 1 == NAME)
+                in.skipString();
+            else
+                in.skipVarint();
+            offsets[known++] = in.position();
+        }
+        in.position(offsets[field]);
+        return in;
+    }
+
+    /**
+     * Декодирует поле, если оно еще не декодировано.
+     * 
+     * @param field номер поля
+     * @throws UncheckedIOException если запись повреждена
+     */
+    private void load(int field) {
+        if ((decoded & (1 << field)) != 0)
+            return;
+        try {
+            PrisonerFile.Decoder in = seek(field);
+            switch (field) {
+                case NAME:
+                    fullName = in.readString();
+                    break;
+                case BIRTH_DAY:
+                    birthDay = in.readDay();
+                    break;
+                case HEIGHT:
+                    height = PrisonerFile.unzigzag(in.readVarint());
+                    break;
+                case EYE_COLOR:
+                    eyeColor = PrisonerFile.lookup(dictionary, in.readVarint());
+                    break;
+                case DAY_IN:
+                    dayIn = in.readDay();
+                    break;
+                case DAY_OUT:
+                    dayOut = in.readDay();
+                    break;
+                default:
+                    features = new String[(int) in.readVarint()];
+                    for (int i = 0; i < features.length; i++)
+                        features[i] = PrisonerFile.lookup(dictionary, in.readVarint());
+                    break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoded |= 1 << field;
+    }
+
+    /**
+     * Возвращает полное имя.
+     * 
+     * @return полное имя
+     */
+    public String getFullName() {
+        load(NAME);
+        return fullName;
+    }
+
+    /**
+     * Возвращает дату рождения в днях от эпохи.
+     * 
+     * @return номер дня или {@link Prisoner#NULL_DAY}
+     */
+    public int getBirthDay() {
+        load(BIRTH_DAY);
+        return birthDay;
+    }
+
+    /**
+     * Возвращает дату рождения.
+     * 
+     * @return дата рождения
+     */
+    public LocalDate getBirthDate() {
+        return Prisoner.toDate(getBirthDay());
+    }
+
+    /**
+     * Возвращает рост.
+     * 
+     * @return рост в сантиметрах
+     */
+    public int getHeight() {
+        load(HEIGHT);
+        return height;
+    }
+
+    /**
+     * Возвращает цвет глаз.
+     * 
+     * @return цвет глаз
+     */
+    public String getEyeColor() {
+        load(EYE_COLOR);
+        return eyeColor;
+    }
+
+    /**
+     * Возвращает дату заключения в днях от эпохи.
+     * 
+     * @return номер дня или {@link Prisoner#NULL_DAY}
+     */
+    public int getDayIn() {
+        load(DAY_IN);
+        return dayIn;
+    }
+
+    /**
+     * Возвращает дату заключения.
+     * 
+     * @return дата заключения
+     */
+    public LocalDate getDateIn() {
+        return Prisoner.toDate(getDayIn());
+    }
+
+    /**
+     * Возвращает дату освобождения в днях от эпохи.
+     * 
+     * @return номер дня или {@link Prisoner#NULL_DAY} если заключенный
+     *         еще не освобожден
+     */
+    public int getDayOut() {
+        load(DAY_OUT);
+        return dayOut;
+    }
+
+    /**
+     * Возвращает дату освобождения.
+     * 
+     * @return дата освобождения или null если заключенный еще не освобожден
+     */
+    public LocalDate getDateOut() {
+        return Prisoner.toDate(getDayOut());
+    }
+
+    /**
+     * Проверяет, освобожден ли заключенный.
+     * 
+     * @return {@code true} если дата освобождения задана
+     */
+    public boolean isReleased() {
+        return getDayOut() != Prisoner.NULL_DAY;
+    }
+
+    /**
+     * Возвращает количество особых примет.
+     * 
+     * @return количество примет
+     */
+    public int featureCount() {
+        load(FEATURES);
+        return features.length;
+    }
+
+    /**
+     * Возвращает особую примету по номеру.
+     * 
+     * @param index номер приметы
+     * @return примета
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public String featureAt(int index) {
+        load(FEATURES);
+        Objects.checkIndex(index, features.length);
+        return features[index];
+    }
+
+    /**
+     * Проверяет наличие точно совпадающей особой приметы.
+     * 
+     * @param feature примета
+     * @return {@code true} если примета есть
+     */
+    public boolean hasFeature(String feature) {
+        load(FEATURES);
+        for (String own : features) {
+            if (Objects.equals(own, feature))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает копию списка особых примет.
+     * 
+     * @return список особых примет
+     */
+    public List<String> getFeatures() {
+        load(FEATURES);
+        return new ArrayList<>(Arrays.asList(features));
+    }
+
+    /**
+     * Создает объект заключенного, декодируя оставшиеся поля.
+     * 
+     * @return заключенный
+     */
+    public Prisoner toPrisoner() {
+        return new Prisoner(getFullName(), getBirthDate(), getHeight(), getEyeColor(), getFeatures(),
+                getDateIn(), getDateOut());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,754 @@
+package prisoners;
+
+import container.MergeResult;
+import container.MyBitmap;
+import container.MyInvertedIndex;
+import container.MyLinkedList;
+import container.MyTrigramIndex;
+import container.MyView;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Хранилище заключенных с вторичными индексами.
+ * Заключенные хранятся в списке без дубликатов (по имени и дате рождения),
+ * а хэш-индексы по имени, цвету глаз, году рождения, росту, приметам и
+ * статусу обновляются при каждом добавлении, удалении и очистке.
+ * Поиск по индексу занимает O(1) плюс размер результата.
+ * Упорядоченные индексы (B+-деревья) по росту и датам позволяют искать
+ * диапазоны за O(log n + k) и обходить заключенных в порядке поля; первые
+ * k по полю дает {@code sortedBy...(descending).limit(k)}.
+ * Дерево интервалов по сроку заключения отвечает, кто находился под стражей
+ * в указанный день или в указанный период, также за O(log n + k).
+ * Полнотекстовый индекс по приметам ищет по отдельным словам (все слова,
+ * любое слово или фраза).
+ * Префиксное дерево по имени позволяет искать по началу имени без учета
+ * регистра за время, пропорциональное длине префикса и размеру результата.
+ * Триграммный индекс по имени находит похожие имена с учетом опечаток,
+ * проверяя расстояние Левенштейна только у кандидатов; возможные дубликаты
+ * ищутся среди заключенных с тем же днем рождения.
+ * Для полей с малым количеством значений (цвет глаз, статус, слова примет)
+ * ведутся сжатые битовые индексы по порядковым номерам заключенных, и
+ * сочетания условий вычисляются операциями над битовыми множествами.
+ * Запросы на языке {@link PrisonerQuery} выполняются через
+ * {@link #query(String)}: планировщик выбирает самый избирательный индекс.
+ * 
+ * @version 1.0
+ */
+public class PrisonerRepository implements Iterable<Prisoner> {
+    /** Заключенные в порядке добавления */
+    private final MyLinkedList<Prisoner> prisoners = new MyLinkedList<>(true);
+    /** Все индексы, которые нужно обновлять при изменениях */
+    private final List<PrisonerIndex> indexes = new ArrayList<>();
+
+    /** Индекс по полному имени */
+    private final HashIndex<String> byName = register(HashIndex.single(Prisoner::getFullName));
+    /** Индекс по цвету глаз без учета регистра */
+    private final HashIndex<String> byEyeColor = register(HashIndex.single(p -> normalize(p.getEyeColor())));
+    /** Индекс по году рождения */
+    private final HashIndex<Integer> byBirthYear = register(HashIndex.single(PrisonerRepository::birthYear));
+    /** Индекс по дню рождения (пустая дата - {@link Prisoner#NULL_DAY}) */
+    private final HashIndex<Integer> byBirthDay = register(HashIndex.single(Prisoner::getBirthDay));
+    /** Индекс по росту */
+    private final HashIndex<Integer> byHeight = register(HashIndex.single(Prisoner::getHeight));
+    /** Индекс по особым приметам */
+    private final HashIndex<String> byFeature = register(new HashIndex<String>(Prisoner::getFeatures));
+    /** Индекс по статусу: {@code true} - освобожден */
+    private final HashIndex<Boolean> byReleased = register(HashIndex.single(Prisoner::isReleased));
+
+    /** Упорядоченный индекс по росту */
+    private final OrderedIndex<Integer> heightOrder = register(new OrderedIndex<>(Prisoner::getHeight));
+    /** Упорядоченный индекс по дате рождения */
+    private final OrderedIndex<LocalDate> birthDateOrder = register(new OrderedIndex<>(Prisoner::getBirthDate));
+    /** Упорядоченный индекс по дате заключения */
+    private final OrderedIndex<LocalDate> dateInOrder = register(new OrderedIndex<>(Prisoner::getDateIn));
+    /** Упорядоченный индекс по дате освобождения (только освобожденные) */
+    private final OrderedIndex<LocalDate> dateOutOrder = register(new OrderedIndex<>(Prisoner::getDateOut));
+
+    /** Индекс сроков заключения */
+    private final CustodyIndex custody = register(new CustodyIndex());
+
+    /** Полнотекстовый индекс по словам особых примет */
+    private final TextIndex featureText = register(new TextIndex(Prisoner::getFeatures));
+    /** Префиксный индекс по полному имени */
+    private final PrefixIndex namePrefix = register(new PrefixIndex(Prisoner::getFullName));
+    /** Триграммный индекс по полному имени */
+    private final FuzzyIndex nameFuzzy = register(new FuzzyIndex(Prisoner::getFullName));
+
+    /** Порядковые номера заключенных для битовых индексов */
+    private final OrdinalTable ordinals = new OrdinalTable();
+    /** Битовый индекс по цвету глаз без учета регистра */
+    private final BitmapIndex<String> eyeColorBits = register(new BitmapIndex<String>(
+            p -> Collections.singletonList(normalize(p.getEyeColor())), ordinals));
+    /** Битовый индекс освобожденных заключенных */
+    private final BitmapIndex<Boolean> releasedBits = register(new BitmapIndex<Boolean>(
+            p -> p.isReleased() ? Collections.singletonList(true) : Collections.<Boolean>emptyList(), ordinals));
+    /** Битовый индекс по словам особых примет */
+    private final BitmapIndex<String> featureBits = register(new BitmapIndex<String>(
+            PrisonerRepository::featureWords, ordinals));
+
+    /** Колоночная таблица заключенных или {@code null}, если устарела */
+    private PrisonerTable table;
+
+    /**
+     * Регистрирует индекс для автоматического обновления.
+     * 
+     * @param <I>   тип индекса
+     * @param index индекс
+     * @return тот же индекс
+     */
+    private <I extends PrisonerIndex> I register(I index) {
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Добавляет заключенного во все индексы, предварительно выдав ему
+     * порядковый номер.
+     * 
+     * @param prisoner добавленный заключенный
+     */
+    private void indexAdd(Prisoner prisoner) {
+        table = null;
+        ordinals.assign(prisoner);
+        for (PrisonerIndex index : indexes)
+            index.add(prisoner);
+    }
+
+    /**
+     * Удаляет заключенного из всех индексов и освобождает его номер.
+     * 
+     * @param prisoner удаленный заключенный
+     */
+    private void indexRemove(Prisoner prisoner) {
+        table = null;
+        for (PrisonerIndex index : indexes)
+            index.remove(prisoner);
+        ordinals.release(prisoner);
+    }
+
+    /**
+     * Приводит строку к виду для поиска без учета регистра.
+     * 
+     * @param value исходная строка
+     * @return строка в нижнем регистре или {@code null}
+     */
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает год рождения заключенного.
+     * 
+     * @param prisoner заключенный
+     * @return год рождения или {@code null}, если дата рождения не задана
+     */
+    private static Integer birthYear(Prisoner prisoner) {
+        LocalDate birthDate = prisoner.getBirthDate();
+        return birthDate != null ? birthDate.getYear() : null;
+    }
+
+    /**
+     * Возвращает различные слова всех примет заключенного.
+     * 
+     * @param prisoner заключенный
+     * @return слова примет в нижнем регистре
+     */
+    private static Set<String> featureWords(Prisoner prisoner) {
+        Set<String> words = new LinkedHashSet<>();
+        for (int i = 0; i < prisoner.featureCount(); i++)
+            words.addAll(MyInvertedIndex.tokenize(prisoner.featureAt(i)));
+        return words;
+    }
+
+    // --- Изменение данных ---
+
+    /**
+     * Добавляет заключенного и обновляет индексы.
+     * 
+     * @param prisoner заключенный
+     * @return {@code true} если добавлен; {@code false} если заключенный с
+     *         таким же именем и датой рождения уже есть
+     */
+    public boolean add(Prisoner prisoner) {
+        if (!prisoners.add(prisoner))
+            return false;
+        indexAdd(prisoner);
+        return true;
+    }
+
+    /**
+     * Удаляет заключенного и обновляет индексы.
+     * 
+     * @param prisoner заключенный
+     * @return {@code true} если заключенный был найден и удален
+     */
+    public boolean remove(Prisoner prisoner) {
+        if (!prisoners.remove(prisoner))
+            return false;
+        indexRemove(prisoner);
+        return true;
+    }
+
+    /**
+     * Удаляет заключенного по позиции в порядке добавления.
+     * 
+     * @param position позиция (отсчет с 0)
+     * @return удаленный заключенный или {@code null}, если позиция неверна
+     */
+    public Prisoner removeAt(int position) {
+        if (position < 0 || position >= prisoners.size())
+            return null;
+        ListIterator<Prisoner> it = prisoners.listIterator(position);
+        Prisoner prisoner = it.next();
+        it.remove();
+        indexRemove(prisoner);
+        return prisoner;
+    }
+
+    /**
+     * Удаляет всех заключенных и очищает индексы.
+     */
+    public void clear() {
+        prisoners.clear();
+        for (PrisonerIndex index : indexes)
+            index.clear();
+        ordinals.clear();
+        table = null;
+    }
+
+    /**
+     * Добавляет заключенных, которых еще нет в хранилище, за один проход.
+     * 
+     * @param loaded добавляемые заключенные
+     * @return количество добавленных, повторяющихся и конфликтующих записей
+     * @see MyLinkedList#mergeDistinct(Iterable, Function, java.util.function.BiPredicate)
+     */
+    public MergeResult mergeDistinct(Iterable<Prisoner> loaded) {
+        // Prisoner.equals уже сравнивает имя и дату рождения
+        MergeResult result = prisoners.mergeDistinct(loaded, Function.identity(), Prisoner::hasSameData);
+        ListIterator<Prisoner> it = prisoners.listIterator(prisoners.size() - result.getAdded());
+        while (it.hasNext()) {
+            Prisoner prisoner = it.next();
+            indexAdd(prisoner);
+        }
+        return result;
+    }
+
+    // --- Чтение данных ---
+
+    /**
+     * Возвращает количество заключенных.
+     * 
+     * @return количество заключенных
+     */
+    public int size() {
+        return prisoners.size();
+    }
+
+    /**
+     * Проверяет, пусто ли хранилище.
+     * 
+     * @return {@code true} если заключенных нет
+     */
+    public boolean isEmpty() {
+        return prisoners.isEmpty();
+    }
+
+    /**
+     * Проверяет наличие заключенного с тем же именем и датой рождения за O(1).
+     * 
+     * @param prisoner искомый заключенный
+     * @return {@code true} если такой заключенный есть
+     */
+    public boolean contains(Prisoner prisoner) {
+        return prisoners.contains(prisoner);
+    }
+
+    /**
+     * Возвращает итератор в порядке добавления. Удаление через итератор
+     * обновляет индексы.
+     * 
+     * @return итератор заключенных
+     */
+    @Override
+    public Iterator<Prisoner> iterator() {
+        Iterator<Prisoner> it = prisoners.iterator();
+        return new Iterator<Prisoner>() {
+            private Prisoner last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Prisoner next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                indexRemove(last);
+                last = null;
+            }
+        };
+    }
+
+    // --- Поиск по индексам ---
+
+    /**
+     * Ищет заключенных с точно совпадающим полным именем.
+     * 
+     * @param fullName полное имя
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByName(String fullName) {
+        return byName.get(fullName);
+    }
+
+    /**
+     * Ищет заключенных, имя которых начинается с префикса, без учета
+     * регистра. Однофамильцы и тезки возвращаются все, в пределах лимита.
+     * 
+     * @param prefix начало имени
+     * @param limit  максимальное количество заключенных
+     * @return найденные заключенные в алфавитном порядке имени
+     */
+    public MyView<Prisoner> findByNamePrefix(String prefix, int limit) {
+        return namePrefix.startingWith(prefix, limit);
+    }
+
+    /**
+     * Ищет заключенных с похожим именем без учета регистра.
+     * 
+     * @param fullName    полное имя
+     * @param maxDistance наибольшее количество правок (вставка, удаление
+     *                    или замена символа)
+     * @return найденные заключенные, сначала самые близкие
+     */
+    public MyView<Prisoner> findBySimilarName(String fullName, int maxDistance) {
+        return nameFuzzy.similar(fullName, maxDistance);
+    }
+
+    /**
+     * Ищет уже сохраненных заключенных, которые, возможно, являются той же
+     * персоной: с той же датой рождения и похожим, но не обязательно
+     * совпадающим именем. Сам заключенный в результат не входит.
+     * Кандидаты берутся из хэш-индекса по дню рождения, и расстояние между
+     * именами считается только для них, поэтому проверка при загрузке
+     * большого файла не зависит от размера хранилища.
+     * 
+     * @param prisoner    проверяемый заключенный
+     * @param maxDistance наибольшее количество правок в имени
+     * @return возможные дубликаты, сначала самые близкие
+     */
+    public MyView<Prisoner> findPossibleDuplicates(Prisoner prisoner, int maxDistance) {
+        MyLinkedList<Prisoner> result = new MyLinkedList<>();
+        String name = normalize(prisoner.getFullName());
+        if (name == null)
+            return MyView.of(result);
+        List<Prisoner> matches = new ArrayList<>();
+        Map<Prisoner, Integer> distances = new HashMap<>();
+        for (Prisoner candidate : byBirthDay.get(prisoner.getBirthDay())) {
+            String other = normalize(candidate.getFullName());
+            if (other == null || candidate.equals(prisoner))
+                continue;
+            int distance = MyTrigramIndex.boundedDistance(name, other, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(candidate);
+                distances.put(candidate, distance);
+            }
+        }
+        matches.sort(Comparator.<Prisoner>comparingInt(distances::get)
+                .thenComparing(p -> normalize(p.getFullName())));
+        for (Prisoner match : matches)
+            result.add(match);
+        return MyView.of(result);
+    }
+
+    /**
+     * Ищет заключенных по цвету глаз без учета регистра.
+     * 
+     * @param eyeColor цвет глаз
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByEyeColor(String eyeColor) {
+        return byEyeColor.get(normalize(eyeColor));
+    }
+
+    /**
+     * Ищет заключенных по году рождения.
+     * 
+     * @param year год рождения
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByBirthYear(int year) {
+        return byBirthYear.get(year);
+    }
+
+    /**
+     * Ищет заключенных по точному росту.
+     * 
+     * @param height рост в сантиметрах
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByHeight(int height) {
+        return byHeight.get(height);
+    }
+
+    /**
+     * Ищет заключенных с точно совпадающей особой приметой.
+     * 
+     * @param feature особая примета
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByFeature(String feature) {
+        return byFeature.get(feature);
+    }
+
+    /**
+     * Ищет заключенных по статусу.
+     * 
+     * @param released {@code true} - освобожденные,
+     *                 {@code false} - находящиеся под стражей
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByStatus(boolean released) {
+        return byReleased.get(released);
+    }
+
+    /**
+     * Ищет заключенных, в приметах которых встречаются все слова запроса
+     * (без учета регистра и порядка).
+     * 
+     * @param words слова через пробел
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByFeatureWords(String words) {
+        return featureText.all(words);
+    }
+
+    /**
+     * Ищет заключенных, в приметах которых встречается хотя бы одно слово
+     * запроса.
+     * 
+     * @param words слова через пробел
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByAnyFeatureWord(String words) {
+        return featureText.any(words);
+    }
+
+    /**
+     * Ищет заключенных, в одной из примет которых слова запроса идут подряд.
+     * 
+     * @param phrase фраза
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByFeaturePhrase(String phrase) {
+        return featureText.phrase(phrase);
+    }
+
+    // --- Поиск по битовым индексам ---
+
+    /**
+     * Ищет заключенных по сочетанию признаков: цвет глаз - любой из
+     * указанных (ИЛИ), статус и все слова примет (И). Вычисляется
+     * операциями над битовыми множествами без обхода заключенных.
+     * 
+     * @param eyeColors    допустимые цвета глаз или пустая коллекция для любого
+     * @param released     {@code true} - освобожденные, {@code false} -
+     *                     находящиеся под стражей, {@code null} - любые
+     * @param featureWords слова, которые должны быть в приметах, или пустая
+     *                     коллекция
+     * @return найденные заключенные
+     */
+    public MyView<Prisoner> findByAttributes(Collection<String> eyeColors, Boolean released,
+            Collection<String> featureWords) {
+        return ordinals.select(matchAttributes(eyeColors, released, featureWords));
+    }
+
+    /**
+     * Подсчитывает заключенных по сочетанию признаков без их выборки.
+     * 
+     * @param eyeColors    допустимые цвета глаз или пустая коллекция для любого
+     * @param released     статус или {@code null} для любого
+     * @param featureWords слова, которые должны быть в приметах, или пустая
+     *                     коллекция
+     * @return количество заключенных
+     * @see #findByAttributes(Collection, Boolean, Collection)
+     */
+    public int countByAttributes(Collection<String> eyeColors, Boolean released, Collection<String> featureWords) {
+        return matchAttributes(eyeColors, released, featureWords).cardinality();
+    }
+
+    /**
+     * Вычисляет множество номеров заключенных, подходящих под сочетание
+     * признаков.
+     * 
+     * @param eyeColors    допустимые цвета глаз
+     * @param released     статус или {@code null}
+     * @param featureWords обязательные слова примет
+     * @return номера заключенных
+     */
+    private MyBitmap matchAttributes(Collection<String> eyeColors, Boolean released, Collection<String> featureWords) {
+        MyBitmap result = ordinals.live();
+        if (!eyeColors.isEmpty()) {
+            MyBitmap anyColor = new MyBitmap();
+            for (String eyeColor : eyeColors)
+                anyColor = anyColor.or(eyeColorBits.get(normalize(eyeColor)));
+            result = result.and(anyColor);
+        }
+        if (released != null) {
+            MyBitmap releasedSet = releasedBits.get(true);
+            result = released ? result.and(releasedSet) : result.andNot(releasedSet);
+        }
+        for (String word : featureWords) {
+            for (String token : MyInvertedIndex.tokenize(word))
+                result = result.and(featureBits.get(token));
+        }
+        return result;
+    }
+
+    // --- Поиск по упорядоченным индексам ---
+
+    /**
+     * Ищет заключенных с ростом в диапазоне включительно.
+     * 
+     * @param min минимальный рост
+     * @param max максимальный рост
+     * @return найденные заключенные по возрастанию роста
+     */
+    public MyView<Prisoner> findByHeightRange(int min, int max) {
+        return heightOrder.range(min, max);
+    }
+
+    /**
+     * Ищет заключенных с датой рождения в диапазоне включительно.
+     * 
+     * @param from начальная дата или {@code null} без ограничения
+     * @param to   конечная дата или {@code null} без ограничения
+     * @return найденные заключенные по возрастанию даты
+     */
+    public MyView<Prisoner> findByBirthDateRange(LocalDate from, LocalDate to) {
+        return birthDateOrder.range(from, to);
+    }
+
+    /**
+     * Ищет заключенных с датой заключения в диапазоне включительно.
+     * 
+     * @param from начальная дата или {@code null} без ограничения
+     * @param to   конечная дата или {@code null} без ограничения
+     * @return найденные заключенные по возрастанию даты
+     */
+    public MyView<Prisoner> findByDateInRange(LocalDate from, LocalDate to) {
+        return dateInOrder.range(from, to);
+    }
+
+    /**
+     * Ищет освобожденных заключенных с датой освобождения в диапазоне
+     * включительно.
+     * 
+     * @param from начальная дата или {@code null} без ограничения
+     * @param to   конечная дата или {@code null} без ограничения
+     * @return найденные заключенные по возрастанию даты
+     */
+    public MyView<Prisoner> findByDateOutRange(LocalDate from, LocalDate to) {
+        return dateOutOrder.range(from, to);
+    }
+
+    /**
+     * Возвращает заключенных в порядке роста.
+     * 
+     * @param descending {@code true} для порядка по убыванию
+     * @return ленивое представление в порядке роста
+     */
+    public MyView<Prisoner> sortedByHeight(boolean descending) {
+        return heightOrder.ordered(descending);
+    }
+
+    /**
+     * Возвращает заключенных в порядке даты рождения.
+     * 
+     * @param descending {@code true} для порядка по убыванию
+     * @return ленивое представление в порядке даты рождения
+     */
+    public MyView<Prisoner> sortedByBirthDate(boolean descending) {
+        return birthDateOrder.ordered(descending);
+    }
+
+    /**
+     * Возвращает заключенных в порядке даты заключения.
+     * 
+     * @param descending {@code true} для порядка по убыванию
+     * @return ленивое представление в порядке даты заключения
+     */
+    public MyView<Prisoner> sortedByDateIn(boolean descending) {
+        return dateInOrder.ordered(descending);
+    }
+
+    /**
+     * Возвращает освобожденных заключенных в порядке даты освобождения.
+     * 
+     * @param descending {@code true} для порядка по убыванию
+     * @return ленивое представление в порядке даты освобождения
+     */
+    public MyView<Prisoner> sortedByDateOut(boolean descending) {
+        return dateOutOrder.ordered(descending);
+    }
+
+    // --- Поиск по срокам заключения ---
+
+    /**
+     * Ищет заключенных, находившихся под стражей в указанный день
+     * (дата заключения и дата освобождения включаются). Заключенный с датой
+     * освобождения раньше даты заключения не считается находившимся под
+     * стражей ни в один день.
+     * 
+     * @param date дата
+     * @return найденные заключенные в порядке даты заключения
+     */
+    public MyView<Prisoner> findInCustodyOn(LocalDate date) {
+        return custody.on(date);
+    }
+
+    /**
+     * Ищет заключенных, срок которых хотя бы одним днем пересекается
+     * с периодом включительно. Срок с датой освобождения раньше даты
+     * заключения пуст и ни с чем не пересекается.
+     * 
+     * @param from начало периода
+     * @param to   конец периода
+     * @return найденные заключенные в порядке даты заключения
+     */
+    public MyView<Prisoner> findInCustodyDuring(LocalDate from, LocalDate to) {
+        return custody.overlapping(from, to);
+    }
+
+    // --- Запросы ---
+
+    /**
+     * Разбирает и выполняет запрос, выбирая самый избирательный индекс.
+     * 
+     * @param query текст запроса, например
+     *              {@code height >= 170 AND eyes = 'green' ORDER BY dateIn LIMIT 50}
+     * @return найденные заключенные и описание плана
+     * @throws IllegalArgumentException если запрос записан с ошибкой
+     * @see PrisonerQuery
+     */
+    public QueryResult query(String query) {
+        return query(PrisonerQuery.parse(query));
+    }
+
+    /**
+     * Выполняет разобранный запрос, выбирая самый избирательный индекс.
+     * 
+     * @param query разобранный запрос
+     * @return найденные заключенные и описание плана
+     */
+    public QueryResult query(PrisonerQuery query) {
+        return new QueryPlanner(this).execute(query);
+    }
+
+    // --- Оценки для планировщика ---
+
+    /**
+     * Возвращает количество заключенных с точно совпадающим именем.
+     * 
+     * @param fullName полное имя
+     * @return количество заключенных
+     */
+    int countByName(String fullName) {
+        return byName.count(fullName);
+    }
+
+    /**
+     * Возвращает количество заключенных, имя которых начинается с префикса.
+     * 
+     * @param prefix начало имени
+     * @return количество заключенных
+     */
+    int countByNamePrefix(String prefix) {
+        return namePrefix.count(prefix);
+    }
+
+    /**
+     * Возвращает количество заключенных с цветом глаз без учета регистра.
+     * 
+     * @param eyeColor цвет глаз
+     * @return количество заключенных
+     */
+    int countByEyeColor(String eyeColor) {
+        return byEyeColor.count(normalize(eyeColor));
+    }
+
+    /**
+     * Возвращает количество заключенных с точным ростом.
+     * 
+     * @param height рост в сантиметрах
+     * @return количество заключенных
+     */
+    int countByHeight(int height) {
+        return byHeight.count(height);
+    }
+
+    /**
+     * Возвращает количество заключенных с точно совпадающей приметой.
+     * 
+     * @param feature особая примета
+     * @return количество заключенных
+     */
+    int countByFeature(String feature) {
+        return byFeature.count(feature);
+    }
+
+    /**
+     * Возвращает колоночный снимок заключенных для быстрых фильтров и
+     * агрегатов по массивам примитивов. Снимок строится при первом вызове
+     * после изменения хранилища и переиспользуется до следующего изменения,
+     * поэтому его нельзя дополнять.
+     * 
+     * @return колоночная таблица в порядке добавления
+     */
+    public PrisonerTable toTable() {
+        if (table == null)
+            table = PrisonerTable.of(prisoners);
+        return table;
+    }
+
+    // --- Работа с файлами ---
+
+    /**
+     * Сохраняет заключенных в бинарный файл через сериализацию.
+     * 
+     * @param filename имя файла для сохранения
+     */
+    public void saveToFileSerialized(String filename) {
+        prisoners.saveToFileSerialized(filename);
+    }
+
+    /**
+     * Сохраняет заключенных в двоичный файл формата {@link PrisonerFile}.
+     * Прежний файл заменяется только после успешной записи нового.
+     * 
+     * @param filename имя файла для сохранения
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public void saveToFileBinary(String filename) throws IOException {
+        PrisonerFile.write(filename, prisoners);
+    }
+
+    /**
+     * Сохраняет заключенных в текстовый файл.
+     * 
+     * @param filename имя текстового файла
+     */
+    public void saveToFileText(String filename) {
+        prisoners.saveToFileText(filename);
+    }
+}
\ No newline at end of file
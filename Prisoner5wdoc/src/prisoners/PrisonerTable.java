@@ -0,0 +1,466 @@
+package prisoners;
+
+import container.MyLinkedList;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Колоночная таблица заключенных (структура массивов).
+ * Каждое поле хранится в отдельном массиве примитивов: рост - {@code int[]},
+ * даты - номера дней от эпохи в {@code int[]} (пустая дата -
+ * {@link #NULL_DAY}), цвет глаз - код словаря в {@code byte[]} (когда
+ * цветов становится больше 256, столбец расширяется до {@code int[]}),
+ * приметы - коды словаря в формате CSR (общий массив кодов и массив
+ * смещений строк).
+ * Фильтры и агрегаты проходят по этим массивам подряд, без обращения к
+ * объектам {@link Prisoner} и {@link LocalDate}; объекты заключенных
+ * создаются только по запросу.
+ * Таблица - снимок данных: она заполняется методом {@link #add} и не
+ * поддерживает удаление.
+ * 
+ * @version 1.0
+ */
+public class PrisonerTable implements Iterable<Prisoner> {
+    /** Обозначение пустой даты */
+    public static final int NULL_DAY = Prisoner.NULL_DAY;
+    /** Количество кодов, помещающихся в byte */
+    private static final int BYTE_CODES = 256;
+    /** Начальная емкость столбцов */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Количество строк */
+    private int size;
+    /** Полные имена */
+    private String[] names = new String[INITIAL_CAPACITY];
+    /** Даты рождения в днях от эпохи */
+    private int[] birthDays = new int[INITIAL_CAPACITY];
+    /** Рост в сантиметрах */
+    private int[] heights = new int[INITIAL_CAPACITY];
+    /** Коды цвета глаз, пока различных цветов не больше {@link #BYTE_CODES} */
+    private byte[] eyeCodes = new byte[INITIAL_CAPACITY];
+    /** Коды цвета глаз после расширения столбца или {@code null} */
+    private int[] wideEyeCodes;
+    /** Даты заключения в днях от эпохи */
+    private int[] dateIns = new int[INITIAL_CAPACITY];
+    /** Даты освобождения в днях от эпохи */
+    private int[] dateOuts = new int[INITIAL_CAPACITY];
+    /** Начало кодов примет строки {@code i}; конец - {@code featureOffsets[i + 1]} */
+    private int[] featureOffsets = new int[INITIAL_CAPACITY + 1];
+    /** Коды примет всех строк подряд */
+    private int[] featureCodes = new int[INITIAL_CAPACITY];
+
+    /** Словарь цветов глаз: код - цвет */
+    private final List<String> eyeDictionary = new ArrayList<>();
+    /** Словарь цветов глаз: цвет - код */
+    private final Map<String, Integer> eyeLookup = new HashMap<>();
+    /** Словарь примет: код - примета */
+    private final List<String> featureDictionary = new ArrayList<>();
+    /** Словарь примет: примета - код */
+    private final Map<String, Integer> featureLookup = new HashMap<>();
+
+    /**
+     * Создает таблицу из заключенных.
+     * 
+     * @param prisoners заключенные
+     * @return заполненная таблица
+     */
+    public static PrisonerTable of(Iterable<Prisoner> prisoners) {
+        PrisonerTable table = new PrisonerTable();
+        for (Prisoner prisoner : prisoners)
+            table.add(prisoner);
+        return table;
+    }
+
+    /**
+     * Добавляет строку в конец таблицы.
+     * 
+     * @param prisoner заключенный
+     */
+    public void add(Prisoner prisoner) {
+        if (size == heights.length)
+            grow();
+        Integer eyeCode = eyeLookup.get(prisoner.getEyeColor());
+        if (eyeCode == null) {
+            eyeCode = eyeDictionary.size();
+            eyeDictionary.add(prisoner.getEyeColor());
+            eyeLookup.put(prisoner.getEyeColor(), eyeCode);
+            if (eyeCode == BYTE_CODES)
+                widenEyeCodes();
+        }
+
+        names[size] = prisoner.getFullName();
+        birthDays[size] = prisoner.getBirthDay();
+        heights[size] = prisoner.getHeight();
+        if (wideEyeCodes != null)
+            wideEyeCodes[size] = eyeCode;
+        else
+            eyeCodes[size] = (byte) eyeCode.intValue();
+        dateIns[size] = prisoner.getDayIn();
+        dateOuts[size] = prisoner.getDayOut();
+
+        int offset = featureOffsets[size];
+        int featureCount = prisoner.featureCount();
+        if (offset + featureCount > featureCodes.length)
+            featureCodes = Arrays.copyOf(featureCodes, Math.max(featureCodes.length * 2, offset + featureCount));
+        for (int i = 0; i < featureCount; i++) {
+            String feature = prisoner.featureAt(i);
+            Integer code = featureLookup.get(feature);
+            if (code == null) {
+                code = featureDictionary.size();
+                featureDictionary.add(feature);
+                featureLookup.put(feature, code);
+            }
+            featureCodes[offset++] = code;
+        }
+        featureOffsets[++size] = offset;
+    }
+
+    /**
+     * Увеличивает емкость всех столбцов вдвое.
+     */
+    private void grow() {
+        int capacity = heights.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        if (wideEyeCodes != null)
+            wideEyeCodes = Arrays.copyOf(wideEyeCodes, capacity);
+        else
+            eyeCodes = Arrays.copyOf(eyeCodes, capacity);
+        dateIns = Arrays.copyOf(dateIns, capacity);
+        dateOuts = Arrays.copyOf(dateOuts, capacity);
+        featureOffsets = Arrays.copyOf(featureOffsets, capacity + 1);
+    }
+
+    /**
+     * Переводит столбец цвета глаз на коды {@code int}, когда словарь
+     * перестает помещаться в {@code byte}.
+     */
+    private void widenEyeCodes() {
+        wideEyeCodes = new int[heights.length];
+        for (int row = 0; row < size; row++)
+            wideEyeCodes[row] = eyeCodes[row] & 0xFF;
+        eyeCodes = null;
+    }
+
+    /**
+     * Возвращает код цвета глаз строки.
+     * 
+     * @param row номер строки
+     * @return код словаря цветов глаз
+     */
+    private int eyeCode(int row) {
+        return wideEyeCodes != null ? wideEyeCodes[row] : eyeCodes[row] & 0xFF;
+    }
+
+    /**
+     * Возвращает количество строк.
+     * 
+     * @return количество строк
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Создает объект заключенного по строке таблицы.
+     * 
+     * @param row номер строки (отсчет с 0)
+     * @return новый объект заключенного
+     * @throws IndexOutOfBoundsException если строки нет
+     */
+    public Prisoner get(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        List<String> features = new ArrayList<>(featureOffsets[row + 1] - featureOffsets[row]);
+        for (int i = featureOffsets[row]; i < featureOffsets[row + 1]; i++)
+            features.add(featureDictionary.get(featureCodes[i]));
+        return new Prisoner(names[row], Prisoner.toDate(birthDays[row]), heights[row], eyeDictionary.get(eyeCode(row)),
+                features, Prisoner.toDate(dateIns[row]), Prisoner.toDate(dateOuts[row]));
+    }
+
+    /**
+     * Возвращает итератор, создающий объекты заключенных по мере обхода.
+     * 
+     * @return итератор строк
+     */
+    @Override
+    public Iterator<Prisoner> iterator() {
+        return new Iterator<Prisoner>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < size;
+            }
+
+            @Override
+            public Prisoner next() {
+                if (row >= size)
+                    throw new NoSuchElementException();
+                return get(row++);
+            }
+        };
+    }
+
+    /**
+     * Начинает выборку по всем строкам таблицы.
+     * 
+     * @return выборка всех строк
+     */
+    public Scan scan() {
+        return new Scan();
+    }
+
+    /**
+     * Выборка строк таблицы: битовая маска, в которой строке соответствует
+     * один бит. Числовые фильтры и фильтр цвета глаз вычисляются ядрами
+     * {@link ScanKernels} блоками по 64 строки без ветвлений и накладываются
+     * на маску операцией И; блоки, в которых не осталось строк, пропускаются.
+     */
+    public final class Scan {
+        /** Маска выбранных строк */
+        private final long[] mask;
+
+        /**
+         * Создает выборку всех строк.
+         */
+        private Scan() {
+            mask = ScanKernels.all(size);
+        }
+
+        /**
+         * Оставляет строки с ростом в диапазоне включительно.
+         * 
+         * @param min минимальный рост
+         * @param max максимальный рост
+         * @return эта выборка
+         */
+        public Scan heightBetween(int min, int max) {
+            ScanKernels.andBetween(heights, size, min, max, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки с указанным ростом.
+         * 
+         * @param height рост
+         * @return эта выборка
+         */
+        public Scan heightEquals(int height) {
+            ScanKernels.andEquals(heights, size, height, true, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки с цветом глаз без учета регистра.
+         * Цвет сравнивается один раз на код словаря, а не на строку.
+         * 
+         * @param eyeColor цвет глаз
+         * @return эта выборка
+         */
+        public Scan eyeColor(String eyeColor) {
+            long[] accepted = new long[eyeDictionary.size()];
+            for (int code = 0; code < eyeDictionary.size(); code++) {
+                String color = eyeDictionary.get(code);
+                boolean match = color == null ? eyeColor == null : color.equalsIgnoreCase(eyeColor);
+                accepted[code] = match ? 1 : 0;
+            }
+            if (wideEyeCodes != null)
+                ScanKernels.andLookup(wideEyeCodes, size, accepted, mask);
+            else
+                ScanKernels.andLookup(eyeCodes, size, accepted, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки с датой рождения в диапазоне включительно.
+         * 
+         * @param from начальная дата или {@code null} без ограничения
+         * @param to   конечная дата или {@code null} без ограничения
+         * @return эта выборка
+         */
+        public Scan bornBetween(LocalDate from, LocalDate to) {
+            return dayBetween(birthDays, from, to);
+        }
+
+        /**
+         * Оставляет строки с датой заключения в диапазоне включительно.
+         * 
+         * @param from начальная дата или {@code null} без ограничения
+         * @param to   конечная дата или {@code null} без ограничения
+         * @return эта выборка
+         */
+        public Scan imprisonedBetween(LocalDate from, LocalDate to) {
+            return dayBetween(dateIns, from, to);
+        }
+
+        /**
+         * Оставляет строки с датой освобождения в диапазоне включительно.
+         * 
+         * @param from начальная дата или {@code null} без ограничения
+         * @param to   конечная дата или {@code null} без ограничения
+         * @return эта выборка
+         */
+        public Scan releasedBetween(LocalDate from, LocalDate to) {
+            return dayBetween(dateOuts, from, to);
+        }
+
+        /**
+         * Оставляет строки с непустой датой столбца в диапазоне включительно.
+         * 
+         * @param column столбец дат
+         * @param from   начальная дата или {@code null} без ограничения
+         * @param to     конечная дата или {@code null} без ограничения
+         * @return эта выборка
+         */
+        private Scan dayBetween(int[] column, LocalDate from, LocalDate to) {
+            int min = from == null ? NULL_DAY + 1 : Prisoner.toDay(from);
+            int max = to == null ? Integer.MAX_VALUE : Prisoner.toDay(to);
+            ScanKernels.andBetween(column, size, min, max, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки заключенных, находившихся под стражей в указанный
+         * день (дата заключения и дата освобождения включаются). Строка с
+         * датой освобождения раньше даты заключения не выбирается ни для
+         * какого дня, как и в {@link PrisonerRepository#findInCustodyOn}.
+         * 
+         * @param date дата
+         * @return эта выборка
+         */
+        public Scan inCustodyOn(LocalDate date) {
+            int day = Prisoner.toDay(date);
+            ScanKernels.andBetween(dateIns, size, NULL_DAY + 1, day, mask);
+            ScanKernels.andAtLeastOr(dateOuts, size, day, NULL_DAY, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки по статусу.
+         * 
+         * @param released {@code true} - освобожденные, {@code false} -
+         *                 находящиеся под стражей
+         * @return эта выборка
+         */
+        public Scan released(boolean released) {
+            ScanKernels.andEquals(dateOuts, size, NULL_DAY, !released, mask);
+            return this;
+        }
+
+        /**
+         * Оставляет строки с точно совпадающей приметой.
+         * Примета ищется в словаре один раз, затем сравниваются коды
+         * только у еще выбранных строк.
+         * 
+         * @param feature особая примета
+         * @return эта выборка
+         */
+        public Scan hasFeature(String feature) {
+            Integer code = featureLookup.get(feature);
+            if (code == null) {
+                Arrays.fill(mask, 0);
+                return this;
+            }
+            int wanted = code;
+            for (int w = 0; w < mask.length; w++) {
+                for (long word = mask[w]; word != 0; word &= word - 1) {
+                    int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                    boolean found = false;
+                    for (int k = featureOffsets[row]; k < featureOffsets[row + 1] && !found; k++)
+                        found = featureCodes[k] == wanted;
+                    if (!found)
+                        mask[w] &= ~(1L << row);
+                }
+            }
+            return this;
+        }
+
+        // --- Терминальные операции ---
+
+        /**
+         * Возвращает количество выбранных строк.
+         * 
+         * @return количество строк
+         */
+        public int count() {
+            return ScanKernels.count(mask);
+        }
+
+        /**
+         * Возвращает номера выбранных строк.
+         * 
+         * @return номера строк по возрастанию
+         */
+        public int[] rows() {
+            return ScanKernels.rows(mask);
+        }
+
+        /**
+         * Возвращает средний рост выбранных строк.
+         * 
+         * @return средний рост или {@link Double#NaN} для пустой выборки
+         */
+        public double averageHeight() {
+            int count = 0;
+            long sum = 0;
+            for (int w = 0; w < mask.length; w++) {
+                for (long word = mask[w]; word != 0; word &= word - 1) {
+                    sum += heights[(w << 6) + Long.numberOfTrailingZeros(word)];
+                    count++;
+                }
+            }
+            return count == 0 ? Double.NaN : (double) sum / count;
+        }
+
+        /**
+         * Подсчитывает выбранные строки по цветам глаз.
+         * Счетчики ведутся по кодам словаря в массиве.
+         * 
+         * @return цвет глаз - количество, в порядке появления цветов
+         */
+        public Map<String, Integer> countByEyeColor() {
+            int[] counts = new int[eyeDictionary.size()];
+            for (int row : rows())
+                counts[eyeCode(row)]++;
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0)
+                    result.put(eyeDictionary.get(code), counts[code]);
+            }
+            return result;
+        }
+
+        /**
+         * Подсчитывает выбранные строки по приметам.
+         * 
+         * @return примета - количество, в порядке появления примет
+         */
+        public Map<String, Integer> countByFeature() {
+            int[] counts = new int[featureDictionary.size()];
+            for (int row : rows()) {
+                for (int k = featureOffsets[row]; k < featureOffsets[row + 1]; k++)
+                    counts[featureCodes[k]]++;
+            }
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0)
+                    result.put(featureDictionary.get(code), counts[code]);
+            }
+            return result;
+        }
+
+        /**
+         * Создает объекты заключенных для выбранных строк.
+         * 
+         * @return список заключенных в порядке строк
+         */
+        public MyLinkedList<Prisoner> toList() {
+            MyLinkedList<Prisoner> result = new MyLinkedList<>();
+            for (int row : rows())
+                result.add(get(row));
+            return result;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package prisoners;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Потоковое чтение заключенных из текстового файла формата
+ * {@link Prisoner#toString()}: поля с префиксами, записи разделены пустыми
+ * строками. Записи читаются по одной по мере обхода, поэтому файл любого
+ * размера обрабатывается в постоянной памяти, а обработка начинается до
+ * окончания чтения файла.
+ * Ошибки ввода-вывода при обходе передаются как {@link UncheckedIOException}.
+ * 
+ * @version 1.0
+ */
+public class PrisonerTextReader implements Iterator<Prisoner>, Closeable {
+    /** Источник строк */
+    private final BufferedReader reader;
+    /** Прочитанная, но еще не выданная запись */
+    private Prisoner next;
+    /** Признак того, что файл прочитан до конца */
+    private boolean finished;
+
+    /**
+     * Создает чтение из символьного потока.
+     * 
+     * @param reader символьный поток
+     */
+    public PrisonerTextReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Открывает текстовый файл для чтения.
+     * 
+     * @param filename имя текстового файла
+     * @return чтение из файла
+     * @throws IOException если файл не удалось открыть
+     */
+    public static PrisonerTextReader open(String filename) throws IOException {
+        return new PrisonerTextReader(new FileReader(filename));
+    }
+
+    /**
+     * Передает каждого заключенного из файла обработчику по мере чтения.
+     * 
+     * @param filename имя текстового файла
+     * @param action   обработчик
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public static void forEach(String filename, Consumer<? super Prisoner> action) throws IOException {
+        try (PrisonerTextReader reader = open(filename)) {
+            while (reader.hasNext())
+                action.accept(reader.next());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Проверяет, есть ли еще записи, читая следующую при необходимости.
+     * 
+     * @return {@code true} если есть следующая запись
+     * @throws UncheckedIOException при ошибке ввода-вывода
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    /**
+     * Возвращает следующую запись.
+     * 
+     * @return заключенный
+     * @throws NoSuchElementException если записей больше нет
+     */
+    @Override
+    public Prisoner next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Prisoner prisoner = next;
+        next = null;
+        return prisoner;
+    }
+
+    /**
+     * Возвращает последовательный поток оставшихся записей. Закрытие потока
+     * закрывает файл.
+     * 
+     * @return поток заключенных
+     */
+    public Stream<Prisoner> stream() {
+        Spliterator<Prisoner> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Закрывает файл.
+     * 
+     * @throws IOException при ошибке закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        next = null;
+        reader.close();
+    }
+
+    /**
+     * Читает строки до конца очередной записи: пустой строки после поля
+     * имени или конца файла.
+     * 
+     * @return заключенный или {@code null}, если записей больше нет
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private Prisoner readRecord() throws IOException {
+        String line;
+        String name = null;
+        LocalDate birth = null;
+        int height = 0;
+        String eyes = null;
+        List<String> features = new ArrayList<>();
+        LocalDate dateIn = null;
+        LocalDate dateOut = null;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                if (name != null)
+                    return new Prisoner(name, birth, height, eyes, features, dateIn, dateOut);
+                birth = null;
+                height = 0;
+                eyes = null;
+                features = new ArrayList<>();
+                dateIn = null;
+                dateOut = null;
+                continue;
+            }
+
+            if (line.startsWith("Name:")) {
+                name = line.substring(5).trim();
+            } else if (line.startsWith("Birth:")) {
+                birth = LocalDate.parse(line.substring(6).trim());
+            } else if (line.startsWith("Height:")) {
+                height = Integer.parseInt(line.substring(7).replace("cm", "").trim());
+            } else if (line.startsWith("Eyes:")) {
+                eyes = line.substring(5).trim();
+            } else if (line.startsWith("Features:")) {
+                String feat = line.substring(9).trim();
+                if (feat.startsWith("[") && feat.endsWith("]"))
+                    feat = feat.substring(1, feat.length() - 1);
+                features = feat.isEmpty() ? new ArrayList<>() : Arrays.asList(feat.split(",\\s*"));
+            } else if (line.startsWith("Imprisoned:")) {
+                dateIn = LocalDate.parse(line.substring(11).trim());
+            } else if (line.startsWith("Released:")) {
+                String val = line.substring(9).trim();
+                dateOut = val.equals("N/A") ? null : LocalDate.parse(val);
+            }
+        }
+
+        // Последний объект, если файл не оканчивается пустой строкой
+        return name != null ? new Prisoner(name, birth, height, eyes, features, dateIn, dateOut) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,391 @@
+package prisoners;
+
+import container.MyLinkedList;
+import container.MyView;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import prisoners.PrisonerQuery.Condition;
+import prisoners.PrisonerQuery.Field;
+import prisoners.PrisonerQuery.Op;
+
+/**
+ * Планировщик запросов по стоимости.
+ * Для каждого условия рассматривается подходящий индекс: хэш-индекс
+ * (точное количество строк), префиксное дерево (точное количество),
+ * пересечение битовых индексов (точная мощность) или диапазон B+-дерева
+ * (количество считается, но не дальше текущего лучшего варианта).
+ * Выбирается путь доступа с наименьшим количеством строк; если ни один
+ * индекс не лучше, выполняется полный обход. Все условия проверяются одним
+ * объединенным фильтром по строкам выбранного пути. Если задан порядок с
+ * лимитом и по полю сортировки есть упорядоченный индекс, рассматривается
+ * также обход в порядке индекса с ранней остановкой.
+ * 
+ * @version 1.0
+ */
+class QueryPlanner {
+    /** Хранилище, по которому выполняются запросы */
+    private final PrisonerRepository repository;
+
+    /**
+     * Путь доступа к строкам и его оценка.
+     */
+    private static final class AccessPath {
+        /** Описание пути для плана */
+        final String description;
+        /** Оценка количества строк, которые нужно проверить */
+        final long estimate;
+        /** Признак того, что строки выдаются в порядке сортировки */
+        final boolean ordered;
+        /** Источник строк */
+        final Supplier<MyView<Prisoner>> rows;
+
+        /**
+         * Создает путь доступа.
+         * 
+         * @param description описание пути
+         * @param estimate    оценка количества строк
+         * @param ordered     признак выдачи строк в порядке сортировки
+         * @param rows        источник строк
+         */
+        AccessPath(String description, long estimate, boolean ordered, Supplier<MyView<Prisoner>> rows) {
+            this.description = description;
+            this.estimate = estimate;
+            this.ordered = ordered;
+            this.rows = rows;
+        }
+
+        @Override
+        public String toString() {
+            return description + " (" + estimate + " rows)";
+        }
+    }
+
+    /**
+     * Создает планировщик для хранилища.
+     * 
+     * @param repository хранилище заключенных
+     */
+    QueryPlanner(PrisonerRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Выбирает план и выполняет запрос.
+     * 
+     * @param query разобранный запрос
+     * @return найденные заключенные и описание плана
+     */
+    QueryResult execute(PrisonerQuery query) {
+        List<Condition> conditions = query.getConditions();
+        List<AccessPath> considered = new ArrayList<>();
+        AccessPath best = new AccessPath("full scan", repository.size(), false, () -> MyView.of(repository));
+        considered.add(best);
+
+        for (AccessPath path : exactPaths(conditions)) {
+            considered.add(path);
+            if (path.estimate < best.estimate)
+                best = path;
+        }
+        for (Field field : new Field[] { Field.HEIGHT, Field.BORN, Field.DATE_IN, Field.DATE_OUT }) {
+            AccessPath path = rangePath(conditions, field, best.estimate);
+            if (path != null) {
+                considered.add(path);
+                if (path.estimate < best.estimate)
+                    best = path;
+            }
+        }
+        AccessPath orderedPath = orderedPath(query, best.estimate);
+        if (orderedPath != null) {
+            considered.add(orderedPath);
+            if (orderedPath.estimate < best.estimate)
+                best = orderedPath;
+        }
+
+        int[] examined = { 0 };
+        MyView<Prisoner> rows = best.rows.get().filter(p -> {
+            examined[0]++;
+            for (Condition condition : conditions) {
+                if (!condition.test(p))
+                    return false;
+            }
+            return true;
+        });
+
+        MyLinkedList<Prisoner> result;
+        long limit = query.getLimit();
+        Field orderBy = query.getOrderBy();
+        if (orderBy == null || best.ordered) {
+            result = (limit == PrisonerQuery.NO_LIMIT ? rows : rows.limit(limit)).toList();
+        } else {
+            List<Prisoner> sorted = new ArrayList<>();
+            for (Prisoner p : rows)
+                sorted.add(p);
+            sorted.sort(comparator(orderBy, query.isDescending()));
+            result = new MyLinkedList<>();
+            for (Prisoner p : sorted) {
+                if (limit != PrisonerQuery.NO_LIMIT && result.size() >= limit)
+                    break;
+                result.add(p);
+            }
+        }
+
+        StringBuilder plan = new StringBuilder();
+        plan.append("Query: ").append(query).append('\n');
+        plan.append("Access: ").append(best).append('\n');
+        plan.append("Filter: ").append(conditions.isEmpty() ? "none" : joinConditions(conditions)).append('\n');
+        if (orderBy != null) {
+            plan.append("Order: ").append(orderBy).append(query.isDescending() ? " DESC" : " ASC")
+                    .append(best.ordered ? " (index order)" : " (sort)").append('\n');
+        }
+        if (limit != PrisonerQuery.NO_LIMIT)
+            plan.append("Limit: ").append(limit).append('\n');
+        plan.append("Rows examined: ").append(examined[0]).append(", returned: ").append(result.size()).append('\n');
+        plan.append("Considered:");
+        for (AccessPath path : considered)
+            plan.append("\n  ").append(path);
+        return new QueryResult(result, examined[0], plan.toString());
+    }
+
+    /**
+     * Собирает пути доступа с точной оценкой: хэш-индексы, префиксное
+     * дерево и пересечение битовых индексов.
+     * 
+     * @param conditions условия запроса
+     * @return пути доступа
+     */
+    private List<AccessPath> exactPaths(List<Condition> conditions) {
+        List<AccessPath> paths = new ArrayList<>();
+        List<String> eyeColors = new ArrayList<>();
+        Boolean released = null;
+        List<String> featureWords = new ArrayList<>();
+        List<String> bitmapParts = new ArrayList<>();
+
+        for (Condition condition : conditions) {
+            String index = "hash index " + condition;
+            if (condition.op == Op.EQ && condition.field == Field.NAME) {
+                String name = (String) condition.value;
+                paths.add(new AccessPath(index, repository.countByName(name), false,
+                        () -> repository.findByName(name)));
+            } else if (condition.op == Op.EQ && condition.field == Field.EYES) {
+                String eyeColor = (String) condition.value;
+                paths.add(new AccessPath(index, repository.countByEyeColor(eyeColor), false,
+                        () -> repository.findByEyeColor(eyeColor)));
+                if (eyeColors.isEmpty()) {
+                    eyeColors.add(eyeColor);
+                    bitmapParts.add(condition.toString());
+                }
+            } else if (condition.op == Op.EQ && condition.field == Field.HEIGHT) {
+                int height = (Integer) condition.value;
+                paths.add(new AccessPath(index, repository.countByHeight(height), false,
+                        () -> repository.findByHeight(height)));
+            } else if (condition.op == Op.EQ && condition.field == Field.FEATURE) {
+                String feature = (String) condition.value;
+                paths.add(new AccessPath(index, repository.countByFeature(feature), false,
+                        () -> repository.findByFeature(feature)));
+            } else if (condition.op == Op.STARTS) {
+                String prefix = (String) condition.value;
+                paths.add(new AccessPath("prefix index " + condition, repository.countByNamePrefix(prefix), false,
+                        () -> repository.findByNamePrefix(prefix, Integer.MAX_VALUE)));
+            } else if (condition.op == Op.CONTAINS) {
+                featureWords.add((String) condition.value);
+                bitmapParts.add(condition.toString());
+            } else if (condition.field == Field.DATE_OUT && released == null
+                    && (condition.op == Op.IS_NULL || condition.op == Op.NOT_NULL)) {
+                released = condition.op == Op.NOT_NULL;
+                bitmapParts.add(condition.toString());
+            }
+        }
+
+        if (!bitmapParts.isEmpty()) {
+            Boolean status = released;
+            paths.add(new AccessPath("bitmap index " + String.join(" AND ", bitmapParts),
+                    repository.countByAttributes(eyeColors, status, featureWords), false,
+                    () -> repository.findByAttributes(eyeColors, status, featureWords)));
+        }
+        return paths;
+    }
+
+    /**
+     * Строит путь доступа по диапазону упорядоченного индекса, объединяя
+     * все условия сравнения по полю. Строки диапазона считаются, но не
+     * дальше {@code bound + 1}: более дорогой путь все равно не будет выбран.
+     * 
+     * @param conditions условия запроса
+     * @param field      поле с упорядоченным индексом
+     * @param bound      оценка текущего лучшего пути
+     * @return путь доступа или {@code null}, если условий по полю нет
+     */
+    private AccessPath rangePath(List<Condition> conditions, Field field, long bound) {
+        Comparable<?>[] range = new Comparable<?>[2];
+        boolean[] exclusive = new boolean[2];
+        boolean found = false;
+        for (Condition condition : conditions) {
+            if (condition.field != field)
+                continue;
+            Comparable<?> value = (Comparable<?>) condition.value;
+            switch (condition.op) {
+                case EQ:
+                    narrow(range, exclusive, 0, value, false);
+                    narrow(range, exclusive, 1, value, false);
+                    break;
+                case GT:
+                case GE:
+                    narrow(range, exclusive, 0, value, condition.op == Op.GT);
+                    break;
+                case LT:
+                case LE:
+                    narrow(range, exclusive, 1, value, condition.op == Op.LT);
+                    break;
+                default:
+                    continue;
+            }
+            found = true;
+        }
+        if (!found)
+            return null;
+
+        Supplier<MyView<Prisoner>> rows;
+        if (field == Field.HEIGHT) {
+            long min = range[0] == null ? Integer.MIN_VALUE : (Integer) range[0] + (exclusive[0] ? 1L : 0L);
+            long max = range[1] == null ? Integer.MAX_VALUE : (Integer) range[1] - (exclusive[1] ? 1L : 0L);
+            rows = min > max ? () -> MyView.of(new MyLinkedList<Prisoner>())
+                    : () -> repository.findByHeightRange((int) min, (int) max);
+        } else {
+            LocalDate from = range[0] == null ? null : ((LocalDate) range[0]).plusDays(exclusive[0] ? 1 : 0);
+            LocalDate to = range[1] == null ? null : ((LocalDate) range[1]).minusDays(exclusive[1] ? 1 : 0);
+            if (from != null && to != null && from.isAfter(to)) {
+                rows = () -> MyView.of(new MyLinkedList<Prisoner>());
+            } else if (field == Field.BORN) {
+                rows = () -> repository.findByBirthDateRange(from, to);
+            } else if (field == Field.DATE_IN) {
+                rows = () -> repository.findByDateInRange(from, to);
+            } else {
+                rows = () -> repository.findByDateOutRange(from, to);
+            }
+        }
+        long estimate = rows.get().limit(bound + 1).count();
+        String description = "range index " + field + " " + (range[0] == null ? "(" : exclusive[0] ? "(" : "[")
+                + (range[0] == null ? "-inf" : range[0]) + ", " + (range[1] == null ? "+inf" : range[1])
+                + (range[1] == null ? ")" : exclusive[1] ? ")" : "]");
+        if (estimate > bound)
+            description += ", counting stopped";
+        return new AccessPath(description, estimate, false, rows);
+    }
+
+    /**
+     * Сужает границу диапазона новым значением.
+     * 
+     * @param range     границы диапазона: нижняя и верхняя
+     * @param exclusive признаки строгих границ
+     * @param side      0 - нижняя граница, 1 - верхняя
+     * @param value     новое значение границы
+     * @param strict    признак строгой границы
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void narrow(Comparable<?>[] range, boolean[] exclusive, int side, Comparable<?> value,
+            boolean strict) {
+        if (range[side] == null) {
+            range[side] = value;
+            exclusive[side] = strict;
+            return;
+        }
+        int cmp = ((Comparable) value).compareTo(range[side]);
+        boolean tighter = side == 0 ? cmp > 0 : cmp < 0;
+        if (tighter || (cmp == 0 && strict)) {
+            range[side] = value;
+            exclusive[side] = strict;
+        }
+    }
+
+    /**
+     * Строит путь обхода в порядке упорядоченного индекса по полю
+     * сортировки. Он имеет смысл только при заданном лимите: обход
+     * прекращается после {@code limit} найденных строк. Оценка - сколько
+     * строк придется просмотреть, если подходящие строки распределены
+     * равномерно, а их не больше {@code matches}.
+     * 
+     * @param query   запрос
+     * @param matches оценка количества подходящих строк
+     * @return путь доступа или {@code null}, если он неприменим
+     */
+    private AccessPath orderedPath(PrisonerQuery query, long matches) {
+        Field field = query.getOrderBy();
+        long limit = query.getLimit();
+        if (field == null || limit == PrisonerQuery.NO_LIMIT || !isFullyIndexed(query, field))
+            return null;
+        boolean descending = query.isDescending();
+        Supplier<MyView<Prisoner>> rows;
+        switch (field) {
+            case HEIGHT:
+                rows = () -> repository.sortedByHeight(descending);
+                break;
+            case BORN:
+                rows = () -> repository.sortedByBirthDate(descending);
+                break;
+            case DATE_IN:
+                rows = () -> repository.sortedByDateIn(descending);
+                break;
+            case DATE_OUT:
+                rows = () -> repository.sortedByDateOut(descending);
+                break;
+            default:
+                return null;
+        }
+        long size = repository.size();
+        long estimate = matches <= limit ? size : Math.min(size, (size * limit + matches - 1) / matches);
+        return new AccessPath("ordered index " + field + (descending ? " DESC" : " ASC") + ", stop after " + limit,
+                estimate, true, rows);
+    }
+
+    /**
+     * Проверяет, что в упорядоченном индексе по полю есть все строки,
+     * которые могут попасть в результат. Индексы не хранят пустые значения,
+     * поэтому для дат, включая дату рождения, требуется условие, исключающее
+     * пустое поле; иначе строки без даты потерялись бы при обходе индекса.
+     * 
+     * @param query запрос
+     * @param field поле сортировки
+     * @return {@code true} если обход индекса не потеряет строк
+     */
+    private static boolean isFullyIndexed(PrisonerQuery query, Field field) {
+        if (field == Field.HEIGHT)
+            return true;
+        if (field != Field.BORN && field != Field.DATE_IN && field != Field.DATE_OUT)
+            return false;
+        for (Condition condition : query.getConditions()) {
+            if (condition.field == field && condition.excludesNull())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает порядок сортировки по полю; пустые значения всегда в конце.
+     * 
+     * @param field      поле
+     * @param descending признак сортировки по убыванию
+     * @return компаратор заключенных
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Prisoner> comparator(Field field, boolean descending) {
+        Comparator<Comparable> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(p -> (Comparable) field.valueOf(p), Comparator.nullsLast(order));
+    }
+
+    /**
+     * Соединяет условия через AND.
+     * 
+     * @param conditions условия
+     * @return текст условий
+     */
+    private static String joinConditions(List<Condition> conditions) {
+        StringBuilder sb = new StringBuilder();
+        for (Condition condition : conditions) {
+            if (sb.length() > 0)
+                sb.append(" AND ");
+            sb.append(condition);
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
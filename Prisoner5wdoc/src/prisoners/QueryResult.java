@@ -0,0 +1,58 @@
+package prisoners;
+
+import container.MyLinkedList;
+
+/**
+ * Результат выполнения запроса: найденные заключенные и описание плана.
+ * 
+ * @version 1.0
+ */
+public final class QueryResult {
+    /** Найденные заключенные */
+    private final MyLinkedList<Prisoner> rows;
+    /** Количество проверенных строк */
+    private final int rowsExamined;
+    /** Описание выбранного плана */
+    private final String plan;
+
+    /**
+     * Создает результат запроса.
+     * 
+     * @param rows         найденные заключенные
+     * @param rowsExamined количество проверенных строк
+     * @param plan         описание выбранного плана
+     */
+    QueryResult(MyLinkedList<Prisoner> rows, int rowsExamined, String plan) {
+        this.rows = rows;
+        this.rowsExamined = rowsExamined;
+        this.plan = plan;
+    }
+
+    /**
+     * Возвращает найденных заключенных в порядке запроса.
+     * 
+     * @return найденные заключенные
+     */
+    public MyLinkedList<Prisoner> getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество строк, проверенных условиями запроса.
+     * 
+     * @return количество проверенных строк
+     */
+    public int getRowsExamined() {
+        return rowsExamined;
+    }
+
+    /**
+     * Возвращает описание выбранного плана, рассмотренных вариантов и
+     * количества проверенных строк.
+     * 
+     * @return многострочное описание плана
+     */
+    public String explain() {
+        return plan;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package prisoners;
+
+import java.util.*;
+
+/**
+ * Ядра сканирования столбцов в битовые маски выборки.
+ * Строка {@code row} соответствует биту {@code row & 63} слова
+ * {@code row >>> 6}. Каждое ядро обрабатывает столбец блоками по 64 строки
+ * и накладывает результат на маску операцией И, пропуская блоки, в которых
+ * уже не выбрано ни одной строки. Сравнения внутри блока записаны без
+ * ветвлений (через знак разности в {@code long}), поэтому цикл не зависит
+ * от предсказания переходов и может быть векторизован JIT-компилятором.
+ * 
+ * @version 1.0
+ */
+final class ScanKernels {
+    /**
+     * Закрытый конструктор: класс содержит только статические методы.
+     */
+    private ScanKernels() {
+    }
+
+    /**
+     * Возвращает количество слов маски для указанного количества строк.
+     * 
+     * @param size количество строк
+     * @return количество слов
+     */
+    static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * Создает маску, в которой выбраны все строки.
+     * 
+     * @param size количество строк
+     * @return маска
+     */
+    static long[] all(int size) {
+        long[] mask = new long[words(size)];
+        Arrays.fill(mask, -1L);
+        if ((size & 63) != 0)
+            mask[mask.length - 1] = (1L << size) - 1;
+        return mask;
+    }
+
+    /**
+     * Оставляет в маске строки со значением в диапазоне включительно.
+     * 
+     * @param column столбец
+     * @param size   количество строк
+     * @param min    нижняя граница
+     * @param max    верхняя граница
+     * @param mask   маска выборки
+     */
+    static void andBetween(int[] column, int size, int min, int max, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long outside = (v - min) | (max - v);
+                bits |= (~outside >>> 63) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    /**
+     * Оставляет в маске строки со значением не меньше {@code min} или
+     * равным {@code orValue} (например, пустой дате).
+     * 
+     * @param column  столбец
+     * @param size    количество строк
+     * @param min     нижняя граница
+     * @param orValue значение, которое тоже подходит
+     * @param mask    маска выборки
+     */
+    static void andAtLeastOr(int[] column, int size, int min, int orValue, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long below = (v - min) >>> 63;
+                long differs = ((v - orValue) | (orValue - v)) >>> 63;
+                bits |= (1 - (below & differs)) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    /**
+     * Оставляет в маске строки, значение которых равно или не равно
+     * указанному.
+     * 
+     * @param column столбец
+     * @param size   количество строк
+     * @param value  значение
+     * @param equal  {@code true} - оставить равные, {@code false} - неравные
+     * @param mask   маска выборки
+     */
+    static void andEquals(int[] column, int size, int value, boolean equal, long[] mask) {
+        long flip = equal ? 0 : 1;
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                long v = column[base + i];
+                long differs = ((v - value) | (value - v)) >>> 63;
+                bits |= ((differs ^ 1) ^ flip) << i;
+            }
+            mask[w] &= bits;
+        }
+    }
+
+    /**
+     * Оставляет в маске строки, код которых отмечен в таблице допустимых
+     * кодов. Позволяет проверить несколько значений словаря за один проход.
+     * 
+     * @param codes    столбец кодов словаря
+     * @param size     количество строк
+     * @param accepted таблица по кодам словаря: 1 - код подходит, 0 - нет
+     * @param mask     маска выборки
+     */
+    static void andLookup(byte[] codes, int size, long[] accepted, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++)
+                bits |= accepted[codes[base + i] & 0xFF] << i;
+            mask[w] &= bits;
+        }
+    }
+
+    /**
+     * Оставляет в маске строки, код которых отмечен в таблице допустимых
+     * кодов, для столбца с кодами {@code int}.
+     * 
+     * @param codes    столбец кодов словаря
+     * @param size     количество строк
+     * @param accepted таблица по кодам словаря: 1 - код подходит, 0 - нет
+     * @param mask     маска выборки
+     */
+    static void andLookup(int[] codes, int size, long[] accepted, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if (mask[w] == 0)
+                continue;
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++)
+                bits |= accepted[codes[base + i]] << i;
+            mask[w] &= bits;
+        }
+    }
+
+    /**
+     * Подсчитывает выбранные строки.
+     * 
+     * @param mask маска выборки
+     * @return количество строк
+     */
+    static int count(long[] mask) {
+        int count = 0;
+        for (long word : mask)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Возвращает номера выбранных строк.
+     * 
+     * @param mask маска выборки
+     * @return номера строк по возрастанию
+     */
+    static int[] rows(long[] mask) {
+        int[] rows = new int[count(mask)];
+        int n = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long word = mask[w]; word != 0; word &= word - 1)
+                rows[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package prisoners;
+
+import container.MyInvertedIndex;
+import container.MyView;
+import java.util.function.Function;
+
+/**
+ * Полнотекстовый индекс по текстовым полям заключенного.
+ * Поиск идет по отдельным словам без учета регистра, поэтому запрос
+ * "scar" находит примету "Scar on left cheek".
+ * 
+ * @version 1.0
+ */
+class TextIndex implements PrisonerIndex {
+    /** Инвертированный индекс слово - заключенные */
+    private final MyInvertedIndex<Prisoner> index;
+
+    /**
+     * Создает индекс по указанным полям.
+     * 
+     * @param fields функция получения текстовых полей заключенного
+     */
+    TextIndex(Function<Prisoner, ? extends Iterable<String>> fields) {
+        this.index = new MyInvertedIndex<>(fields);
+    }
+
+    @Override
+    public void add(Prisoner prisoner) {
+        index.add(prisoner);
+    }
+
+    @Override
+    public void remove(Prisoner prisoner) {
+        index.remove(prisoner);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * Возвращает заключенных, в полях которых есть все слова запроса.
+     * 
+     * @param query слова запроса
+     * @return найденные заключенные
+     */
+    MyView<Prisoner> all(String query) {
+        return MyView.of(index.all(query));
+    }
+
+    /**
+     * Возвращает заключенных, в полях которых есть хотя бы одно слово запроса.
+     * 
+     * @param query слова запроса
+     * @return найденные заключенные
+     */
+    MyView<Prisoner> any(String query) {
+        return MyView.of(index.any(query));
+    }
+
+    /**
+     * Возвращает заключенных, в одном из полей которых есть фраза.
+     * 
+     * @param query фраза
+     * @return найденные заключенные
+     */
+    MyView<Prisoner> phrase(String query) {
+        return MyView.of(index.phrase(query));
+    }
+}
\ No newline at end of file